@@ -3,13 +3,14 @@ package org.freeplane.core.enumeration;
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IExtensionAttributeWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
 import org.freeplane.features.map.NodeBuilder;
 import org.freeplane.features.map.NodeModel;
 
-public class NodeEnumerationAttributeHandler <T extends Enum<T> & DefaultValueSupplier<T> & IExtension> implements IAttributeHandler, IExtensionAttributeWriter{
+public class NodeEnumerationAttributeHandler <T extends Enum<T> & DefaultValueSupplier<T> & IExtension> implements IAttributeHandler, IExtensionAttributeWriter, IThreadSafeWriter{
 
 	private final Class<T> enumClass;
 	private final boolean onceForMap;
@@ -0,0 +1,24 @@
+package org.freeplane.core.extension;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns each extension key class a small integer slot at its first registration.
+ */
+public class ExtensionSlots {
+	private static final AtomicInteger slotCount = new AtomicInteger();
+	private static final ClassValue<Integer> slots = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return slotCount.getAndIncrement();
+		}
+	};
+
+	public static int slotOf(Class<?> clazz) {
+		return slots.get(clazz).intValue();
+	}
+
+	public static int slotCount() {
+		return slotCount.get();
+	}
+}
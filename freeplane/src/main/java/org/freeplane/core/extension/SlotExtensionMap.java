@@ -0,0 +1,145 @@
+package org.freeplane.core.extension;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Map of extensions indexed by the slot of their key class, see {@link ExtensionSlots}.
+ * Lookups are array accesses, iteration follows the slot order.
+ */
+public class SlotExtensionMap extends AbstractMap<Class<? extends IExtension>, IExtension> {
+	private static final Class<?>[] NO_KEYS = new Class<?>[0];
+	private static final IExtension[] NO_EXTENSIONS = new IExtension[0];
+	private Class<?>[] keys = NO_KEYS;
+	private IExtension[] extensions = NO_EXTENSIONS;
+	private int size;
+	private int modificationCount;
+
+	@Override
+	public IExtension get(Object key) {
+		if (!(key instanceof Class<?>))
+			return null;
+		final int slot = ExtensionSlots.slotOf((Class<?>) key);
+		return slot < extensions.length ? extensions[slot] : null;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public IExtension put(Class<? extends IExtension> key, IExtension value) {
+		if (value == null)
+			throw new NullPointerException();
+		final int slot = ExtensionSlots.slotOf(key);
+		if (slot >= extensions.length) {
+			final int capacity = Math.max(slot + 1, ExtensionSlots.slotCount());
+			extensions = Arrays.copyOf(extensions, capacity);
+			keys = Arrays.copyOf(keys, capacity);
+		}
+		final IExtension oldValue = extensions[slot];
+		extensions[slot] = value;
+		keys[slot] = key;
+		if (oldValue == null) {
+			size++;
+			modificationCount++;
+		}
+		return oldValue;
+	}
+
+	@Override
+	public IExtension remove(Object key) {
+		if (!(key instanceof Class<?>))
+			return null;
+		final int slot = ExtensionSlots.slotOf((Class<?>) key);
+		if (slot >= extensions.length)
+			return null;
+		return removeSlot(slot);
+	}
+
+	private IExtension removeSlot(final int slot) {
+		final IExtension oldValue = extensions[slot];
+		if (oldValue != null) {
+			extensions[slot] = null;
+			keys[slot] = null;
+			size--;
+			modificationCount++;
+		}
+		return oldValue;
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(extensions, null);
+		Arrays.fill(keys, null);
+		size = 0;
+		modificationCount++;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public Set<Entry<Class<? extends IExtension>, IExtension>> entrySet() {
+		return new AbstractSet<Entry<Class<? extends IExtension>, IExtension>>() {
+			@Override
+			public Iterator<Entry<Class<? extends IExtension>, IExtension>> iterator() {
+				return new EntryIterator();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	private class EntryIterator implements Iterator<Entry<Class<? extends IExtension>, IExtension>> {
+		private int expectedModificationCount = modificationCount;
+		private int nextSlot = findSlot(0);
+		private int currentSlot = -1;
+
+		private int findSlot(int slot) {
+			while (slot < extensions.length && extensions[slot] == null)
+				slot++;
+			return slot;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextSlot < extensions.length;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Entry<Class<? extends IExtension>, IExtension> next() {
+			if (expectedModificationCount != modificationCount)
+				throw new ConcurrentModificationException();
+			if (! hasNext())
+				throw new NoSuchElementException();
+			currentSlot = nextSlot;
+			nextSlot = findSlot(nextSlot + 1);
+			return new SimpleImmutableEntry<Class<? extends IExtension>, IExtension>(
+				(Class<? extends IExtension>) keys[currentSlot], extensions[currentSlot]);
+		}
+
+		@Override
+		public void remove() {
+			if (currentSlot == -1)
+				throw new IllegalStateException();
+			if (expectedModificationCount != modificationCount)
+				throw new ConcurrentModificationException();
+			removeSlot(currentSlot);
+			currentSlot = -1;
+			expectedModificationCount = modificationCount;
+		}
+	}
+}
@@ -19,89 +19,78 @@
  */
 package org.freeplane.core.extension;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Map of node extensions keyed by their exact class.
+ * Extensions are kept in an exactly sized array which is compared by class identity,
+ * because nodes usually carry only a few extensions and there are very many nodes.
+ * A table indexed by {@link ExtensionSlots} like in {@link SlotExtensionMap} needs more memory per node
+ * and is not faster for so few extensions, because the slot of the class has to be looked up first.
+ * The array is replaced on every change, so values can be iterated while extensions are removed.
+ */
 public class SmallExtensionMap implements Map<Class<? extends IExtension>, IExtension> {
-	private static final int INITIAL_CAPACITY = 5;
-	private List<IExtension> collection;
+	private IExtension[] extensions;
 
 	public void clear() {
-		collection = null;
+		extensions = null;
 	}
 
 	public boolean containsKey(final Object key) {
-		if (collection == null) {
-			return false;
-		}
 		if (!(key instanceof Class<?>)) {
 			return false;
 		}
-		for (int i = 0; i < collection.size(); i++) {
-			final Object extension = collection.get(i);
-			if (key.equals(extension.getClass())) {
-				return true;
-			}
-		}
-		return false;
+		return find((Class<?>) key) >= 0;
 	}
 
 	public boolean containsValue(final Object value) {
-		if (collection == null) {
+		if (extensions == null) {
 			return false;
 		}
 		if (!(value instanceof IExtension)) {
 			return false;
 		}
-		for (int i = 0; i < collection.size(); i++) {
-			if ( value.equals(collection.get(i))) {
+		for (int i = 0; i < extensions.length; i++) {
+			if ( value.equals(extensions[i])) {
 				return true;
 			}
 		}
 		return false;
 	}
 
-	private List<IExtension> createCollection() {
-		if (collection == null) {
-			collection = new ArrayList<IExtension>(INITIAL_CAPACITY);
-		}
-		return collection;
-	}
-
 	public Set<java.util.Map.Entry<Class<? extends IExtension>, IExtension>> entrySet() {
 		throw new NoSuchMethodError();
 	}
 
-	private int find(final Class<? extends IExtension> clazz) {
-		if (collection == null) {
+	private int find(final Class<?> clazz) {
+		if (extensions == null) {
 			return -1;
 		}
-		for (int i = 0; i < collection.size(); i++) {
-			if (clazz.equals(collection.get(i).getClass())) {
+		for (int i = 0; i < extensions.length; i++) {
+			if (clazz == extensions[i].getClass()) {
 				return i;
 			}
 		}
 		return -1;
 	}
 
-	@SuppressWarnings("unchecked")
     public IExtension get(final Object key) {
 		if (!(key instanceof Class<?>)) {
 			return null;
 		}
-		final int index = find((Class<? extends IExtension>) key);
+		final int index = find((Class<?>) key);
 		if (index >= 0) {
-			return collection.get(index);
+			return extensions[index];
 		}
 		return null;
 	}
 
 	public boolean isEmpty() {
-		return collection == null;
+		return extensions == null;
 	}
 
 	public Set<Class<? extends IExtension>> keySet() {
@@ -111,15 +100,21 @@ public class SmallExtensionMap implements Map<Class<? extends IExtension>, IExte
 	public IExtension put(final Class<? extends IExtension> key, final IExtension value) {
 		final int index = find(key);
 		if (index >= 0) {
-			final IExtension oldValue = collection.get(index);
-			collection.set(index, value);
+			final IExtension oldValue = extensions[index];
+			extensions[index] = value;
 			return oldValue;
 		}
 		else {
 			if (!key.equals(value.getClass())) {
 				throw new ClassCastException();
 			}
-			createCollection().add(value);
+			if (extensions == null) {
+				extensions = new IExtension[] { value };
+			}
+			else {
+				extensions = Arrays.copyOf(extensions, extensions.length + 1);
+				extensions[extensions.length - 1] = value;
+			}
 			return null;
 		}
 	}
@@ -132,32 +127,33 @@ public class SmallExtensionMap implements Map<Class<? extends IExtension>, IExte
 		}
 	}
 
-	@SuppressWarnings("unchecked")
     public IExtension remove(final Object key) {
-		if (collection == null || !(key instanceof Class<?>)) {
+		if (extensions == null || !(key instanceof Class<?>)) {
 			return null;
 		}
-		final int index = find((Class<? extends IExtension>) key);
+		final int index = find((Class<?>) key);
 		if (index == -1) {
 			return null;
 		}
-		final IExtension remove = collection.remove(index);
-		removeEmptyCollection();
-		return remove;
-	}
-
-	private void removeEmptyCollection() {
-		if (collection.size() == 0) {
-			collection = null;
+		final IExtension remove = extensions[index];
+		if (extensions.length == 1) {
+			extensions = null;
+		}
+		else {
+			final IExtension[] remainingExtensions = new IExtension[extensions.length - 1];
+			System.arraycopy(extensions, 0, remainingExtensions, 0, index);
+			System.arraycopy(extensions, index + 1, remainingExtensions, index, remainingExtensions.length - index);
+			extensions = remainingExtensions;
 		}
+		return remove;
 	}
 
 	public int size() {
-		return collection == null ? 0 : collection.size();
+		return extensions == null ? 0 : extensions.length;
 	}
 
 	public Collection<IExtension> values() {
 		final Collection<IExtension> emptyList = Collections.emptyList();
-		return collection == null ? emptyList : collection;
+		return extensions == null ? emptyList : Arrays.asList(extensions);
 	}
 }
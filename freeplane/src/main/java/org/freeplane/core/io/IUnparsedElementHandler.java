@@ -0,0 +1,30 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2008 Dimitry Polivaev
+ *
+ *  This file author is Dimitry Polivaev
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.io;
+
+/**
+ * Handler for elements which are kept as xml text instead of being parsed.
+ * Its {@link #createElement} is called before the attributes are read, the attributes argument is always null.
+ * Neither attribute handlers nor handlers of nested elements are called for elements it creates,
+ * the complete element is passed to {@link #endElement(Object, String, Object, String)}.
+ */
+public interface IUnparsedElementHandler extends IElementHandler {
+	void endElement(Object parent, String tag, Object element, String xml);
+}
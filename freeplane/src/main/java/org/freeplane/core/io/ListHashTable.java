@@ -25,6 +25,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
 
 public class ListHashTable<K, V> {
 	/**
@@ -46,6 +47,15 @@ public class ListHashTable<K, V> {
 
 	final private Map<K, List<V>> table = new Hashtable<K, List<V>>();
 
+	public ListHashTable() {
+	}
+
+	public ListHashTable(final ListHashTable<K, V> original) {
+		for (final Map.Entry<K, List<V>> entry : original.table.entrySet()) {
+			table.put(entry.getKey(), new LinkedList<V>(entry.getValue()));
+		}
+	}
+
 	public void add(final K tag, final V element) {
 		List<V> elementsForTag = table.get(tag);
 		if (elementsForTag == null) {
@@ -71,6 +81,10 @@ public class ListHashTable<K, V> {
 		return elementsForTag.listIterator();
 	}
 
+	public Set<K> keys() {
+		return table.keySet();
+	}
+
 	public List<V> list(final K tag) {
 		return table.get(tag);
 	}
@@ -82,4 +96,18 @@ public class ListHashTable<K, V> {
 		}
 		return elementsForTag.remove(element);
 	}
+
+	/** replaces the element keeping its position, returns false if the element is not found */
+	public boolean replace(final K tag, final V element, final V newElement) {
+		final List<V> elementsForTag = list(tag);
+		if (elementsForTag == null) {
+			return false;
+		}
+		final int index = elementsForTag.indexOf(element);
+		if (index == -1) {
+			return false;
+		}
+		elementsForTag.set(index, newElement);
+		return true;
+	}
 }
@@ -31,12 +31,14 @@ public class ReadManager {
 	final private Hashtable<String, Hashtable<String, IAttributeHandler>> attributeHandlers;
 	final private ListHashTable<String, IElementHandler> elementHandlers;
 	final private Collection<IReadCompletionListener> readCompletionListeners;
+	final private ListHashTable<String, IUnparsedElementHandler> unparsedElementHandlers;
 
 	public ReadManager() {
 		super();
 		elementHandlers = new ListHashTable<String, IElementHandler>();
 		attributeHandlers = new Hashtable<String, Hashtable<String, IAttributeHandler>>();
 		readCompletionListeners = new LinkedList<IReadCompletionListener>();
+		unparsedElementHandlers = new ListHashTable<String, IUnparsedElementHandler>();
 	}
 
 	/*
@@ -64,6 +66,11 @@ public class ReadManager {
 		elementHandlers.add(parentTag, handler);
 	}
 
+	/** unparsed element handlers are asked before the element handlers whether they take the element */
+	public void addUnparsedElementHandler(final String tag, final IUnparsedElementHandler handler) {
+		unparsedElementHandlers.add(tag, handler);
+	}
+
 	public void addReadCompletionListener(final IReadCompletionListener listener) {
 		readCompletionListeners.add(listener);
 	}
@@ -76,6 +83,10 @@ public class ReadManager {
 		return elementHandlers;
 	}
 
+	public ListHashTable<String, IUnparsedElementHandler> getUnparsedElementHandlers() {
+		return unparsedElementHandlers;
+	}
+
 	public void readingCompleted(final NodeModel topNode, final Map<String, String> newIds) {
 		final Iterator<IReadCompletionListener> iterator = readCompletionListeners.iterator();
 		while (iterator.hasNext()) {
@@ -29,7 +29,7 @@ import org.freeplane.n3.nanoxml.XMLElement;
  * @author Dimitry Polivaev
  * 17.01.2009
  */
-public class UnknownElementWriter implements IExtensionAttributeWriter, IExtensionElementWriter {
+public class UnknownElementWriter implements IExtensionAttributeWriter, IExtensionElementWriter, IThreadSafeWriter {
 	public void writeAttributes(final ITreeWriter writer, final Object userObject, final IExtension extension) {
 		final UnknownElements elements = (UnknownElements) extension;
 		final XMLElement unknownElements = elements.getUnknownElements();
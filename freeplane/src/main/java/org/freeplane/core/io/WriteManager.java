@@ -22,10 +22,27 @@ package org.freeplane.core.io;
 import org.freeplane.core.extension.IExtension;
 
 public class WriteManager {
-	final private ListHashTable<String, IAttributeWriter> attributeWriters = new ListHashTable<String, IAttributeWriter>();
-	final private ListHashTable<String, IElementWriter> elementWriters = new ListHashTable<String, IElementWriter>();
-	final private ListHashTable<Class<? extends IExtension>, IExtensionAttributeWriter> extensionAttributeWriters = new ListHashTable<Class<? extends IExtension>, IExtensionAttributeWriter>();;
-	final private ListHashTable<Class<? extends IExtension>, IExtensionElementWriter> extensionElementWriters = new ListHashTable<Class<? extends IExtension>, IExtensionElementWriter>();
+	final private ListHashTable<String, IAttributeWriter> attributeWriters;
+	final private ListHashTable<String, IElementWriter> elementWriters;
+	final private ListHashTable<Class<? extends IExtension>, IExtensionAttributeWriter> extensionAttributeWriters;
+	final private ListHashTable<Class<? extends IExtension>, IExtensionElementWriter> extensionElementWriters;
+
+	public WriteManager() {
+		attributeWriters = new ListHashTable<String, IAttributeWriter>();
+		elementWriters = new ListHashTable<String, IElementWriter>();
+		extensionAttributeWriters = new ListHashTable<Class<? extends IExtension>, IExtensionAttributeWriter>();
+		extensionElementWriters = new ListHashTable<Class<? extends IExtension>, IExtensionElementWriter>();
+	}
+
+	/** creates a write manager with the same writers, later registrations do not affect the original */
+	public WriteManager(final WriteManager original) {
+		attributeWriters = new ListHashTable<String, IAttributeWriter>(original.attributeWriters);
+		elementWriters = new ListHashTable<String, IElementWriter>(original.elementWriters);
+		extensionAttributeWriters = new ListHashTable<Class<? extends IExtension>, IExtensionAttributeWriter>(
+		    original.extensionAttributeWriters);
+		extensionElementWriters = new ListHashTable<Class<? extends IExtension>, IExtensionElementWriter>(
+		    original.extensionElementWriters);
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -20,7 +20,9 @@
 package org.freeplane.core.io.xml;
 
 import java.awt.Point;
+import java.io.IOException;
 import java.io.Reader;
+import java.io.StringWriter;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Hashtable;
@@ -35,6 +37,7 @@ import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IElementContentHandler;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementHandler;
+import org.freeplane.core.io.IUnparsedElementHandler;
 import org.freeplane.core.io.ListHashTable;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.util.LogUtils;
@@ -208,7 +211,11 @@ public class TreeXmlReader implements IXMLBuilder {
 		final Object element = currentElement;
 		currentElement = elementStack.removeLast();
 		try {
-			if (nodeCreator instanceof IElementContentHandler) {
+			if (nodeCreator instanceof IUnparsedElementHandler) {
+				((IUnparsedElementHandler) nodeCreator).endElement(currentElement, name, element,
+						toXml(lastBuiltElement, elementContentAsString));
+			}
+			else if (nodeCreator instanceof IElementContentHandler) {
 				((IElementContentHandler) nodeCreator).endElement(currentElement, name, element, lastBuiltElement,
 						elementContentAsString);
 			}
@@ -227,6 +234,23 @@ public class TreeXmlReader implements IXMLBuilder {
 		elementContentAsString = null;
 	}
 
+	/** restores the xml text of an element whose content was not parsed */
+	private static String toXml(final XMLElement element, final String content) throws IOException {
+		final StringWriter xml = new StringWriter();
+		final XMLWriter writer = new XMLWriter(xml, false);
+		if (content == null) {
+			writer.write(element);
+		}
+		else {
+			writer.startElement(element);
+			writer.flush();
+			xml.write(content);
+			writer.endElement(element.getFullName(), false);
+		}
+		writer.flush();
+		return xml.toString();
+	}
+
 	private Hashtable<String, Hashtable<String, IAttributeHandler>> getAttributeLoaders() {
 		return parseManager.getAttributeHandlers();
 	}
@@ -306,6 +330,9 @@ public class TreeXmlReader implements IXMLBuilder {
 		pushParentObjects();
 		parentElement = currentElement;
 		currentElement = null;
+		if (startUnparsedElement()) {
+			return;
+		}
 		final List<IElementHandler> handlers = getElementHandlers().list(tag);
 		if (handlers != null && handlers.size() == 1) {
 			nodeCreator = handlers.get(0);
@@ -328,6 +355,27 @@ public class TreeXmlReader implements IXMLBuilder {
 		}
 	}
 
+	private boolean startUnparsedElement() {
+		final List<IUnparsedElementHandler> handlers = parseManager.getUnparsedElementHandlers().list(tag);
+		if (handlers == null) {
+			return false;
+		}
+		for (final IUnparsedElementHandler handler : handlers) {
+			try {
+				currentElement = handler.createElement(parentElement, tag, null);
+			} catch (Exception e) {
+				LogUtils.severe("Can not process element" + tag, e);
+			}
+			if (currentElement != null) {
+				nodeCreator = handler;
+				attributeHandlersForTag = null;
+				parser.notParseNextElementContent();
+				return true;
+			}
+		}
+		return false;
+	}
+
 	public void load(Object currentElement, Reader pReader) throws XMLException {
 	    this.currentElement = currentElement;
 	    load(pReader);
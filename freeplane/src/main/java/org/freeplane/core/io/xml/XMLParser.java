@@ -90,6 +90,11 @@ class XMLParser extends StdXMLParser implements IXMLParser {
 					else if (ch == '!') {
 						final char read1 = reader.read();
 						final char read2 = reader.read();
+						if (read1 == '[' && read2 == 'C') {
+							waitingBuf.append("<![C");
+							appendCData(reader, waitingBuf);
+							continue;
+						}
 						if (read1 != '-' || read2 != '-') {
 							throw new XMLParseException(reader.getSystemID(), reader.getLineNr(), "Invalid input: <!"
 							        + read1 + read2);
@@ -125,4 +130,25 @@ class XMLParser extends StdXMLParser implements IXMLParser {
 		}
 		super.processElementContent(defaultNamespace, namespaces, fullName, name, prefix);
 	}
+
+	/** copies a CDATA section without interpreting markup characters inside of it */
+	private void appendCData(final IXMLReader reader, final StringBuilder waitingBuf) throws IOException,
+	        XMLParseException {
+		for (final char expected : "DATA[".toCharArray()) {
+			final char ch = reader.read();
+			if (ch != expected) {
+				throw new XMLParseException(reader.getSystemID(), reader.getLineNr(), "Invalid input: <![C" + ch);
+			}
+			waitingBuf.append(ch);
+		}
+		int closingBrackets = 0;
+		for (;;) {
+			final char ch = reader.read();
+			waitingBuf.append(ch);
+			if (ch == '>' && closingBrackets >= 2) {
+				return;
+			}
+			closingBrackets = ch == ']' ? closingBrackets + 1 : 0;
+		}
+	}
 }
@@ -35,16 +35,51 @@ import org.freeplane.n3.nanoxml.XMLElement;
  *         write closing element tag
  */
 class XMLWriter {
+	private static final int BUFFER_SIZE = 8192;
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+	private static final String[] CONTENT_ESCAPES = createEscapes(false);
+	private static final String[] ATTRIBUTE_ESCAPES = createEscapes(true);
+
+	private static String[] createEscapes(final boolean atributeValue) {
+		final String[] escapes = new String[0x7F];
+		for (char c = 0; c < ' '; c++) {
+			escapes[c] = characterReference(c);
+		}
+		if (!atributeValue) {
+			escapes[0x0A] = null;
+		}
+		escapes['<'] = "&lt;";
+		escapes['>'] = "&gt;";
+		escapes['&'] = "&amp;";
+		escapes['\''] = "&apos;";
+		escapes['"'] = "&quot;";
+		return escapes;
+	}
+
+	private static String characterReference(final char c) {
+		return "&#x" + Integer.toString(c, 16) + ';';
+	}
+
 	/**
 	 * Where to write the output to.
 	 */
 	private PrintWriter writer;
 	private final boolean restrictedCharset;
+	private final char[] buffer;
+	private int bufferLength;
 
 	public void flush() {
+		flushBuffer();
 	    writer.flush();
     }
 
+	private void flushBuffer() {
+		if (bufferLength > 0) {
+			writer.write(buffer, 0, bufferLength);
+			bufferLength = 0;
+		}
+	}
+
 	/**
 	 * Creates a new XML writer.
 	 * 
@@ -59,12 +94,43 @@ class XMLWriter {
 		else {
 			this.writer = new PrintWriter(writer);
 		}
+		buffer = new char[BUFFER_SIZE];
+	}
+
+	private void print(final char c) {
+		if (bufferLength == buffer.length) {
+			flushBuffer();
+		}
+		buffer[bufferLength++] = c;
+	}
+
+	private void print(final String str) {
+		print(str, 0, str.length());
+	}
+
+	private void print(final String str, final int start, final int end) {
+		final int length = end - start;
+		if (length > buffer.length - bufferLength) {
+			flushBuffer();
+			if (length > buffer.length) {
+				writer.write(str, start, length);
+				return;
+			}
+		}
+		str.getChars(start, end, buffer, bufferLength);
+		bufferLength += length;
+	}
+
+	private void println() {
+		print(LINE_SEPARATOR);
 	}
 
 	public void endElement(final String fullName, final boolean prettyPrint) {
-		writer.print("</" + fullName + '>');
+		print("</");
+		print(fullName);
+		print('>');
 		if (prettyPrint) {
-			writer.println();
+			println();
 		}
 	}
 
@@ -119,14 +185,14 @@ class XMLWriter {
 	                     final boolean collapseEmptyElements, final boolean endElement) throws IOException {
 		if (prettyPrint) {
 			for (int i = 0; i < indent; i++) {
-				writer.print(' ');
+				print(' ');
 			}
 		}
 		if (xml.getName() == null) {
 			if (xml.getContent() != null) {
 				if (prettyPrint) {
 					this.writeEncoded(xml.getContent().trim(), false, false);
-					writer.println();
+					println();
 				}
 				else {
 					this.writeEncoded(xml.getContent(), false, false);
@@ -134,57 +200,68 @@ class XMLWriter {
 			}
 		}
 		else {
-			writer.print('<');
+			print('<');
 			final String fullName = xml.getFullName();
-			writer.print(fullName);
-			final Vector<String> nsprefixes = new Vector<String>();
+			print(fullName);
+			final int attributeCount = xml.getAttributeCount();
+			Vector<String> nsprefixes = null;
 			if (xml.getNamespace() != null) {
 				if (xml.getName().equals(fullName)) {
-					writer.print(" xmlns=\"" + xml.getNamespace() + '"');
+					print(" xmlns=\"");
+					print(xml.getNamespace());
+					print('"');
 				}
 				else {
 					String prefix = fullName;
 					prefix = prefix.substring(0, prefix.indexOf(':'));
+					nsprefixes = new Vector<String>();
 					nsprefixes.addElement(prefix);
-					writer.print(" xmlns:" + prefix);
-					writer.print("=\"" + xml.getNamespace() + "\"");
+					print(" xmlns:");
+					print(prefix);
+					print("=\"");
+					print(xml.getNamespace());
+					print('"');
 				}
 			}
-			Enumeration<String> enumAttributeNames = xml.enumerateAttributeNames();
-			while (enumAttributeNames.hasMoreElements()) {
-				final String key = (String) enumAttributeNames.nextElement();
+			for (int attributeIndex = 0; attributeIndex < attributeCount; attributeIndex++) {
+				final String key = xml.getAttributeFullName(attributeIndex);
 				final int index = key.indexOf(':');
 				if (index >= 0) {
-					final String namespace = xml.getAttributeNamespace(key);
+					final String namespace = xml.getAttributeNamespace(attributeIndex);
 					if (namespace != null) {
 						final String prefix = key.substring(0, index);
+						if (nsprefixes == null) {
+							nsprefixes = new Vector<String>();
+						}
 						if (!nsprefixes.contains(prefix)) {
-							writer.print(" xmlns:" + prefix);
-							writer.print("=\"" + namespace + '"');
+							print(" xmlns:");
+							print(prefix);
+							print("=\"");
+							print(namespace);
+							print('"');
 							nsprefixes.addElement(prefix);
 						}
 					}
 				}
 			}
-			enumAttributeNames = xml.enumerateAttributeNames();
-			while (enumAttributeNames.hasMoreElements()) {
-				final String key = (String) enumAttributeNames.nextElement();
-				final String value = xml.getAttribute(key, null);
-				writer.print(" " + key + "=\"");
-				this.writeEncoded(value, true, false);
-				writer.print('"');
+			for (int attributeIndex = 0; attributeIndex < attributeCount; attributeIndex++) {
+				print(' ');
+				print(xml.getAttributeFullName(attributeIndex));
+				print("=\"");
+				this.writeEncoded(xml.getAttributeValue(attributeIndex), true, false);
+				print('"');
 			}
 			if ((xml.getContent() != null) && (xml.getContent().length() > 0)) {
-				writer.print('>');
+				print('>');
 				this.writeEncoded(xml.getContent(), false, false);
 				if (endElement) {
 					endElement(fullName, prettyPrint);
 				}
 			}
 			else if (xml.hasChildren() || (!collapseEmptyElements)) {
-				writer.print('>');
+				print('>');
 				if (prettyPrint) {
-					writer.println();
+					println();
 				}
 				Enumeration<XMLElement> enumeration = xml.enumerateChildren();
 				while (enumeration.hasMoreElements()) {
@@ -193,7 +270,7 @@ class XMLWriter {
 				}
 				if (prettyPrint) {
 					for (int i = 0; i < indent; i++) {
-						writer.print(' ');
+						print(' ');
 					}
 				}
 				if (endElement) {
@@ -202,13 +279,13 @@ class XMLWriter {
 			}
 			else {
 				if (endElement) {
-					writer.print("/>");
+					print("/>");
 				}
 				else {
-					writer.print(">");
+					print(">");
 				}
 				if (prettyPrint) {
-					writer.println();
+					println();
 				}
 			}
 		}
@@ -216,58 +293,30 @@ class XMLWriter {
 
 	/**
 	 * Writes a string encoding reserved characters.
+	 * Runs of characters which need no encoding are copied at once.
 	 */
 	private void writeEncoded(final String str, final boolean atributeValue, final boolean xmlInclude) {
-		for (int i = 0; i < str.length(); i++) {
+		final String[] escapes = atributeValue ? ATTRIBUTE_ESCAPES : CONTENT_ESCAPES;
+		final int length = str.length();
+		int unencodedStart = 0;
+		for (int i = 0; i < length; i++) {
 			final char c = str.charAt(i);
+			final String escape;
 			if (c > 0x7E) {
-				if (restrictedCharset) {
-					writer.print("&#x");
-					writer.print(Integer.toString(c, 16));
-					writer.print(';');
-				}
-				else {
-					writer.print(c);
-				}
-				continue;
+				escape = restrictedCharset ? characterReference(c) : null;
 			}
 			else if (xmlInclude) {
-				writer.print(c);
-				continue;
+				escape = null;
 			}
-			switch (c) {
-				case '<':
-					writer.print("&lt;");
-					continue;
-				case '>':
-					writer.print("&gt;");
-					continue;
-				case '&':
-					writer.print("&amp;");
-					continue;
-				case '\'':
-					writer.print("&apos;");
-					continue;
-				case '"':
-					writer.print("&quot;");
-					continue;
-				case 0x0A:
-					if (atributeValue) {
-						writer.print("&#xa;");
-					}
-					else {
-						writer.print(c);
-					}
-					continue;
-				default:
-					if (c < ' ') {
-						writer.print("&#x");
-						writer.print(Integer.toString(c, 16));
-						writer.print(';');
-						continue;
-					}
-					writer.print(c);
+			else {
+				escape = escapes[c];
+			}
+			if (escape != null) {
+				print(str, unencodedStart, i);
+				print(escape);
+				unencodedStart = i + 1;
 			}
 		}
+		print(str, unencodedStart, length);
 	}
 }
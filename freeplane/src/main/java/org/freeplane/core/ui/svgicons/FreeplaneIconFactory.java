@@ -33,7 +33,7 @@ public class FreeplaneIconFactory {
 		return new ImageIcon(resourceUrl);
 	}
 
-	static boolean isSvgAntialiasEnabled() {
+	public static boolean isSvgAntialiasEnabled() {
 		return ResourceController.getResourceController().getBooleanProperty(ANTIALIAS_SVG);
 	}
 
@@ -31,6 +31,8 @@ import java.util.ListIterator;
  */
 public class CompoundActor implements IActor {
 	final private LinkedList<IActor> actors;
+	/** sum of the sizes of the actors, computed when it is requested first and reset if an actor is added */
+	private long estimatedSize = -1;
 
 	public CompoundActor() {
 		this(new LinkedList<IActor>());
@@ -49,6 +51,7 @@ public class CompoundActor implements IActor {
 
 	public void add(final IActor firstActor) {
 		actors.add(firstActor);
+		estimatedSize = -1;
 	}
 
 	public String getDescription() {
@@ -73,6 +76,17 @@ public class CompoundActor implements IActor {
 		}
 	}
 
+	public long getEstimatedSize() {
+		if (estimatedSize < 0) {
+			long size = 0;
+			for (final IActor a : actors) {
+				size += a.getEstimatedSize();
+			}
+			estimatedSize = size;
+		}
+		return estimatedSize;
+	}
+
 	public boolean isEmpty() {
 		return actors.size() == 0;
 	}
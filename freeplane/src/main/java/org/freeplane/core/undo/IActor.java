@@ -29,4 +29,12 @@ public interface IActor {
 	default boolean isReadonly() {
 		return false;
 	}
+
+	/**
+	 * Approximate heap size in bytes of the state kept alive only by this actor,
+	 * e.g. a deleted subtree. Used for limiting the undo history memory.
+	 */
+	default long getEstimatedSize() {
+		return 0;
+	}
 }
@@ -66,4 +66,7 @@ public interface IUndoHandler extends IExtension {
 	
 	public int getTransactionLevel();
 
+	/** Approximate heap size in bytes retained by the undo and redo history. */
+	public long getEstimatedSize();
+
 }
@@ -28,6 +28,7 @@ import java.util.ListIterator;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.features.map.IMapSelection;
 import org.freeplane.features.map.MapModel;
@@ -56,10 +57,10 @@ public class UndoHandler implements IUndoHandler {
 		int commitDelay = COMMIT_DELAY;
 	}
 
-	/**
-	 *
-	 */
-	private static final int MAX_ENTRIES = 100;
+	private static final String UNDO_LEVELS_PROPERTY = "undo_levels";
+	private static final String UNDO_MEMORY_LIMIT_PROPERTY = "undo_memory_limit";
+	private static final int DEFAULT_MAX_ENTRIES = 100;
+	private static final int DEFAULT_MEMORY_LIMIT_MB = 64;
 	private static final long TIME_TO_BEGIN_NEW_ACTION = 100;
 	private boolean actionFrameStarted;
 	private ListIterator<CompoundActor> actorIterator;
@@ -133,17 +134,62 @@ public class UndoHandler implements IUndoHandler {
 			}
 			compoundActor.add(actor);
 			actorIterator.add(compoundActor);
-			final int maxEntries = UndoHandler.MAX_ENTRIES;
+			final int maxEntries = getMaximumEntries();
 			while (actorList.size() > maxEntries) {
 				actorList.removeFirst();
 				actorIterator = actorList.listIterator(actorList.size());
 			}
 		}
+		if (transactionList.isEmpty()) {
+			removeEntriesExceedingMemoryLimit();
+		}
 		startActionFrame();
 		timeOfLastAdd = currentTime;
 		fireStateChanged();
 	}
 
+	private int getMaximumEntries() {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		if (resourceController == null)
+			return DEFAULT_MAX_ENTRIES;
+		return Math.max(1, resourceController.getIntProperty(UNDO_LEVELS_PROPERTY, DEFAULT_MAX_ENTRIES));
+	}
+
+	private long getMemoryLimit() {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		final int limitMB = resourceController == null ? DEFAULT_MEMORY_LIMIT_MB
+		        : resourceController.getIntProperty(UNDO_MEMORY_LIMIT_PROPERTY, DEFAULT_MEMORY_LIMIT_MB);
+		return limitMB * 1024L * 1024L;
+	}
+
+	/** The latest entry is always kept so that the last action can be undone whatever its size. */
+	private void removeEntriesExceedingMemoryLimit() {
+		final long memoryLimit = getMemoryLimit();
+		long estimatedSize = getEstimatedSize();
+		if (estimatedSize <= memoryLimit)
+			return;
+		while (actorList.size() > 1 && estimatedSize > memoryLimit) {
+			estimatedSize -= actorList.removeFirst().getEstimatedSize();
+		}
+		actorIterator = actorList.listIterator(actorList.size());
+	}
+
+	public long getEstimatedSize() {
+		long estimatedSize = 0;
+		for (final ActorList transactionActors : transactionList) {
+			estimatedSize += getEstimatedSize(transactionActors);
+		}
+		return estimatedSize + getEstimatedSize(actorList);
+	}
+
+	private long getEstimatedSize(final ActorList actors) {
+		long estimatedSize = 0;
+		for (final CompoundActor actor : actors) {
+			estimatedSize += actor.getEstimatedSize();
+		}
+		return estimatedSize;
+	}
+
 	private void fireStateChanged() {
 		for (final ChangeListener listener : listeners) {
 			listener.stateChanged(event);
@@ -0,0 +1,243 @@
+package org.freeplane.core.util;
+
+/**
+ * Linear time replacement of the regular expression passes in {@link HtmlUtils#htmlToPlain(String, boolean, boolean)}.
+ * It reproduces their results including the effects of their order,
+ * e.g. a &lt;p&gt; swallowing the line breaks of directly following &lt;br&gt; tags.
+ * Markup with tags containing '&lt;' or empty tags &lt;&gt; is left to the regular expressions.
+ */
+class HtmlToPlainConverter {
+	private static final int BR = 0;
+	private static final int P = 1;
+	private static final int DIV = 2;
+	private static final int TR = 3;
+	private static final int DT = 4;
+	private static final int DD = 5;
+	private static final int TD = 6;
+	private static final int LIST = 7;
+	private static final int LI = 8;
+	private static final int CLOSING = 9;
+	private static final int OTHER = 10;
+	private static final String[] REPLACEMENTS = {"\n", "\n", "\n", "\n", "\n", "\n   ", " ", "\n", "\n   * "};
+
+	private static final int NO_TAG = -1;
+	private static final int UNSUPPORTED_TAG = -2;
+
+	private final String text;
+	private final StringBuilder result;
+	private int tagEnd;
+	private int unstrippedLength;
+	private boolean skipsSpaces;
+
+	/** returns null if the text contains markup which is not supported */
+	static String convert(final String html, final boolean removeNewLines) {
+		final String text = normalizeWhitespace(html, removeNewLines);
+		final String plainText = new HtmlToPlainConverter(text).removeTags();
+		if (plainText == null)
+			return null;
+		return replaceEntities(HtmlUtils.unescapeHTMLUnicodeEntity(plainText.trim()));
+	}
+
+	private HtmlToPlainConverter(String text) {
+		this.text = text;
+		this.result = new StringBuilder(text.length());
+	}
+
+	private static String normalizeWhitespace(final String html, final boolean removeNewLines) {
+		final int length = html.length();
+		final StringBuilder text = new StringBuilder(length);
+		for (int i = 0; i < length; i++) {
+			final char c = html.charAt(i);
+			if (c == '>') {
+				text.append(c);
+				while (i + 1 < length && isNewLineOrTab(html.charAt(i + 1)))
+					i++;
+			}
+			else if (removeNewLines && (c == ' ' || isNewLineOrTab(c))) {
+				text.append(' ');
+				while (i + 1 < length && (html.charAt(i + 1) == ' ' || isNewLineOrTab(html.charAt(i + 1))))
+					i++;
+			}
+			else
+				text.append(c);
+		}
+		return text.toString();
+	}
+
+	private static boolean isNewLineOrTab(final char c) {
+		return c == '\n' || c == '\t';
+	}
+
+	private String removeTags() {
+		final int length = text.length();
+		int i = 0;
+		while (i < length) {
+			final char c = text.charAt(i);
+			final int tag = c == '<' ? tagAt(i) : NO_TAG;
+			if (tag == UNSUPPORTED_TAG)
+				return null;
+			if (tag == NO_TAG) {
+				append(c);
+				i++;
+				continue;
+			}
+			i = tagEnd;
+			switch (tag) {
+				case CLOSING:
+					stripSpaces();
+					break;
+				case OTHER:
+					unstrippedLength = result.length();
+					skipsSpaces = true;
+					break;
+				case P:
+				case DIV:
+				case TR:
+					i = skipWhitespaceAndTagsBefore(i, tag);
+					if (i < 0)
+						return null;
+					append(REPLACEMENTS[tag]);
+					break;
+				default:
+					append(REPLACEMENTS[tag]);
+			}
+		}
+		return result.toString();
+	}
+
+	/** the pattern for a tag of given kind consumes following whitespace including line breaks of tags replaced before */
+	private int skipWhitespaceAndTagsBefore(int i, final int kind) {
+		final int length = text.length();
+		while (i < length) {
+			final char c = text.charAt(i);
+			if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+				i++;
+				continue;
+			}
+			if (c != '<')
+				return i;
+			final int tag = tagAt(i);
+			if (tag == UNSUPPORTED_TAG)
+				return -1;
+			if (tag == NO_TAG || tag >= kind)
+				return i;
+			i = tagEnd;
+		}
+		return i;
+	}
+
+	/** classifies the tag starting at the given position and sets {@link #tagEnd} */
+	private int tagAt(final int start) {
+		final int end = text.indexOf('>', start + 1);
+		if (end < 0)
+			return NO_TAG;
+		final int nextStart = text.indexOf('<', start + 1);
+		if (end == start + 1 || nextStart >= 0 && nextStart < end)
+			return UNSUPPORTED_TAG;
+		tagEnd = end + 1;
+		if (startsWith(start, "</"))
+			return CLOSING;
+		if (startsWith(start, "<br"))
+			return BR;
+		if (startsWith(start, "<p"))
+			return P;
+		if (startsWith(start, "<div"))
+			return DIV;
+		if (startsWith(start, "<tr"))
+			return TR;
+		if (startsWith(start, "<dt"))
+			return DT;
+		if (startsWith(start, "<dd"))
+			return DD;
+		if (startsWith(start, "<td"))
+			return TD;
+		if (startsWith(start, "<ul") || startsWith(start, "<ol"))
+			return LIST;
+		if (startsWith(start, "<li"))
+			return LI;
+		return OTHER;
+	}
+
+	private boolean startsWith(final int start, final String prefix) {
+		return startsWithIgnoringAsciiCase(text, start, prefix);
+	}
+
+	/** regular expressions without UNICODE_CASE flag ignore the case of ASCII letters only */
+	private static boolean startsWithIgnoringAsciiCase(final String text, final int start, final String lowerCasePrefix) {
+		final int length = lowerCasePrefix.length();
+		if (start + length > text.length())
+			return false;
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(start + i);
+			final char lowerCaseChar = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+			if (lowerCaseChar != lowerCasePrefix.charAt(i))
+				return false;
+		}
+		return true;
+	}
+
+	private void append(final String replacement) {
+		for (int i = 0; i < replacement.length(); i++)
+			append(replacement.charAt(i));
+	}
+
+	/** spaces following a removed tag are removed as well */
+	private void append(final char c) {
+		if (c == ' ' && skipsSpaces)
+			return;
+		skipsSpaces = false;
+		result.append(c);
+	}
+
+	/** spaces preceding a closing tag are removed, unless a removed tag is between them */
+	private void stripSpaces() {
+		int length = result.length();
+		while (length > unstrippedLength && result.charAt(length - 1) == ' ')
+			length--;
+		result.setLength(length);
+	}
+
+	private static String replaceEntities(final String text) {
+		final int length = text.length();
+		final StringBuilder result = new StringBuilder(length);
+		int unstrippedLength = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = text.charAt(i);
+			if (c == '&') {
+				final char entity = entityAt(text, i);
+				if (entity != 0) {
+					i = text.indexOf(';', i);
+					result.append(entity);
+					if (entity != ' ')
+						unstrippedLength = result.length();
+					continue;
+				}
+			}
+			if (c == '\n') {
+				int strippedLength = result.length();
+				while (strippedLength > unstrippedLength
+				        && (result.charAt(strippedLength - 1) == ' ' || result.charAt(strippedLength - 1) == '\t'))
+					strippedLength--;
+				result.setLength(strippedLength);
+			}
+			result.append(c == '\u00a0' ? ' ' : c);
+			if (c != ' ' && c != '\t')
+				unstrippedLength = result.length();
+		}
+		return result.toString();
+	}
+
+	private static char entityAt(final String text, final int start) {
+		if (startsWithIgnoringAsciiCase(text, start, "&lt;"))
+			return '<';
+		if (startsWithIgnoringAsciiCase(text, start, "&gt;"))
+			return '>';
+		if (startsWithIgnoringAsciiCase(text, start, "&quot;"))
+			return '"';
+		if (startsWithIgnoringAsciiCase(text, start, "&nbsp;"))
+			return ' ';
+		if (startsWithIgnoringAsciiCase(text, start, "&amp;"))
+			return '&';
+		return 0;
+	}
+}
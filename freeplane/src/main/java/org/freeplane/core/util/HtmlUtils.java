@@ -80,6 +80,21 @@ public class HtmlUtils {
 	private static final Pattern FIND_TAGS_PATTERN = Pattern.compile("([^<]*)(<[^>]+>)");
 	private static final Pattern HTML_PATTERN = Pattern.compile("(?s)^\\s*<\\s*html[^>]*>.*", Pattern.CASE_INSENSITIVE);
 	private static Pattern[] PATTERNS;
+	private static final int PLAIN_TEXT_CACHE_SIZE = 256;
+	private static final PlainText[] plainTextCache = new PlainText[PLAIN_TEXT_CACHE_SIZE];
+
+	/** remembers the last conversion of a text instance, node texts are converted repeatedly while they do not change */
+	private static class PlainText {
+		final String html;
+		final boolean removeNewLines;
+		final String text;
+
+		PlainText(String html, boolean removeNewLines, String text) {
+			this.html = html;
+			this.removeNewLines = removeNewLines;
+			this.text = text;
+		}
+	}
 	private static HtmlUtils sInstance = new HtmlUtils();
 	private static final Pattern SLASHED_TAGS_PATTERN = Pattern.compile("<((" + "br|area|base|basefont|"
 	        + "bgsound|button|col|colgroup|embed|hr" + "|img|input|isindex|keygen|link|meta"
@@ -110,6 +125,21 @@ public class HtmlUtils {
 		if (strictHTMLOnly && !HtmlUtils.isHtml(text)) {
 			return text;
 		}
+		final int cacheIndex = System.identityHashCode(text) & (PLAIN_TEXT_CACHE_SIZE - 1);
+		final PlainText cachedPlainText = plainTextCache[cacheIndex];
+		if (cachedPlainText != null && cachedPlainText.html == text && cachedPlainText.removeNewLines == removeNewLines) {
+			return cachedPlainText.text;
+		}
+		String plainText = HtmlToPlainConverter.convert(text, removeNewLines);
+		if (plainText == null) {
+			plainText = htmlToPlainUsingPatterns(text, removeNewLines);
+		}
+		plainTextCache[cacheIndex] = new PlainText(text, removeNewLines, plainText);
+		return plainText;
+	}
+
+	/** the original implementation, still used for markup the converter does not handle like tags containing '&lt;' */
+	static String htmlToPlainUsingPatterns(final String text, final boolean removeNewLines) {
 		if (PATTERNS == null) {
 			PATTERNS = new Pattern[] {
 					Pattern.compile("(?ims)>[\n\t]+"),
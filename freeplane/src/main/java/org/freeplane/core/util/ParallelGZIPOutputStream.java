@@ -0,0 +1,134 @@
+package org.freeplane.core.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compresses written data in blocks on a worker pool.
+ * Each block becomes a separate gzip member, the concatenated members form a valid gzip file
+ * which can be read by {@link java.util.zip.GZIPInputStream}.
+ */
+public class ParallelGZIPOutputStream extends FilterOutputStream {
+	static final int BLOCK_SIZE = 1 << 20;
+	private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+	private static final int MAXIMUM_PENDING_BLOCK_COUNT = 2 * THREAD_COUNT;
+	private static ExecutorService executorService;
+
+	private static synchronized ExecutorService executorService() {
+		if (executorService == null) {
+			executorService = Executors.newFixedThreadPool(THREAD_COUNT, r -> {
+				final Thread thread = Executors.defaultThreadFactory().newThread(r);
+				thread.setName("gzip " + thread.getName());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executorService;
+	}
+
+	private final Queue<Future<byte[]>> pendingBlocks;
+	private byte[] block;
+	private int blockLength;
+	private boolean hasWrittenBlocks;
+	private boolean closed;
+
+	public ParallelGZIPOutputStream(OutputStream out) {
+		super(out);
+		pendingBlocks = new ArrayDeque<>();
+		block = new byte[BLOCK_SIZE];
+		blockLength = 0;
+		hasWrittenBlocks = false;
+		closed = false;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (blockLength == block.length)
+			submitBlock(new byte[BLOCK_SIZE]);
+		block[blockLength++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (blockLength == block.length)
+				submitBlock(new byte[BLOCK_SIZE]);
+			final int copiedLength = Math.min(len, block.length - blockLength);
+			System.arraycopy(b, off, block, blockLength, copiedLength);
+			blockLength += copiedLength;
+			off += copiedLength;
+			len -= copiedLength;
+		}
+	}
+
+	private void submitBlock(byte[] nextBlock) throws IOException {
+		final byte[] submittedBlock = block;
+		final int submittedLength = blockLength;
+		pendingBlocks.add(executorService().submit(() -> compress(submittedBlock, submittedLength)));
+		hasWrittenBlocks = true;
+		block = nextBlock;
+		blockLength = 0;
+		while (pendingBlocks.size() > MAXIMUM_PENDING_BLOCK_COUNT)
+			writeCompressedBlock();
+	}
+
+	private static byte[] compress(byte[] block, int length) throws IOException {
+		final ByteArrayOutputStream compressedBlock = new ByteArrayOutputStream(length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressedBlock, 8192)) {
+			gzip.write(block, 0, length);
+		}
+		return compressedBlock.toByteArray();
+	}
+
+	private void writeCompressedBlock() throws IOException {
+		final Future<byte[]> pendingBlock = pendingBlocks.remove();
+		try {
+			out.write(pendingBlock.get());
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		catch (ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	/** compressed data is written block by block, so flush only writes already compressed blocks */
+	@Override
+	public void flush() throws IOException {
+		while (!pendingBlocks.isEmpty() && pendingBlocks.peek().isDone())
+			writeCompressedBlock();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed)
+			return;
+		closed = true;
+		try {
+			if (blockLength > 0 || !hasWrittenBlocks)
+				submitBlock(null);
+			while (!pendingBlocks.isEmpty())
+				writeCompressedBlock();
+		}
+		finally {
+			for (Future<byte[]> pendingBlock : pendingBlocks)
+				pendingBlock.cancel(false);
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,146 @@
+package org.freeplane.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the duration of startup phases like plugin activations.
+ *
+ * When startup is finished the phases are written to the log and to a trace file
+ * in the trace event format, which can be opened in chrome://tracing or https://ui.perfetto.dev .
+ */
+public class StartupTimeline {
+	public static final String LAUNCHER_START_PROPERTY = "org.freeplane.launcher.start_nanos";
+	static final String TRACE_FILE_NAME = "startup-trace.json";
+
+	public static class Phase implements AutoCloseable {
+		private final String category;
+		private final String name;
+		private final long threadId;
+		private final long startNanos;
+		private long endNanos;
+
+		private Phase(final String category, final String name, final long startNanos) {
+			this.category = category;
+			this.name = name;
+			this.threadId = Thread.currentThread().getId();
+			this.startNanos = startNanos;
+			this.endNanos = -1;
+		}
+
+		@Override
+		public void close() {
+			synchronized (phases) {
+				endNanos = System.nanoTime();
+			}
+		}
+
+		String getCategory() {
+			return category;
+		}
+
+		private long durationMillis() {
+			return (endNanos - startNanos) / 1000000;
+		}
+	}
+
+	private static final List<Phase> phases = new ArrayList<>();
+	private static boolean finished = false;
+
+	/** starts a phase which ends when the returned phase is closed */
+	public static Phase start(final String category, final String name) {
+		return start(category, name, System.nanoTime());
+	}
+
+	/** records a phase which started at the given {@link System#nanoTime()} and ends now */
+	public static void recordSince(final String category, final String name, final long startNanos) {
+		start(category, name, startNanos).close();
+	}
+
+	private static Phase start(final String category, final String name, final long startNanos) {
+		final Phase phase = new Phase(category, name, startNanos);
+		synchronized (phases) {
+			if (!finished)
+				phases.add(phase);
+		}
+		return phase;
+	}
+
+	/** logs the recorded phases and writes them to the trace file, later phases are not recorded */
+	public static void finish() {
+		final List<Phase> finishedPhases;
+		synchronized (phases) {
+			if (finished)
+				return;
+			finished = true;
+			finishedPhases = new ArrayList<>(phases.size());
+			for (final Phase phase : phases)
+				if (phase.endNanos >= 0)
+					finishedPhases.add(phase);
+			phases.clear();
+		}
+		if (finishedPhases.isEmpty())
+			return;
+		final StringBuilder summary = new StringBuilder("startup finished ")
+		    .append(ManagementFactory.getRuntimeMXBean().getUptime()).append(" ms after JVM start");
+		for (final Phase phase : finishedPhases)
+			summary.append(System.lineSeparator()).append(String.format("%6d ms  %-10s %s", phase.durationMillis(), phase.category, phase.name));
+		LogUtils.info(summary.toString());
+		final File traceFile = new File(LogUtils.getLogDirectory(), TRACE_FILE_NAME);
+		try {
+			writeTrace(finishedPhases, traceFile);
+		}
+		catch (final IOException e) {
+			LogUtils.warn("can not write " + traceFile, e);
+		}
+	}
+
+	private static void writeTrace(final List<Phase> phases, final File traceFile) throws IOException {
+		traceFile.getParentFile().mkdirs();
+		try (Writer out = new OutputStreamWriter(Files.newOutputStream(traceFile.toPath()), StandardCharsets.UTF_8)) {
+			writeTrace(phases, out);
+		}
+	}
+
+	static void writeTrace(final List<Phase> phases, final Writer out) throws IOException {
+		final long originNanos = phases.stream().mapToLong(phase -> phase.startNanos).min().orElse(0);
+		out.write("{\"traceEvents\":[");
+		String separator = "\n";
+		for (final Phase phase : phases) {
+			out.write(separator);
+			out.write("{\"name\":\"" + escape(phase.name) + "\",\"cat\":\"" + escape(phase.category)
+			        + "\",\"ph\":\"X\",\"ts\":" + (phase.startNanos - originNanos) / 1000
+			        + ",\"dur\":" + (phase.endNanos - phase.startNanos) / 1000
+			        + ",\"pid\":1,\"tid\":" + phase.threadId + "}");
+			separator = ",\n";
+		}
+		out.write("\n]}\n");
+	}
+
+	private static String escape(final String text) {
+		final StringBuilder escaped = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '"' || c == '\\')
+				escaped.append('\\').append(c);
+			else if (c < ' ')
+				escaped.append(String.format("\\u%04x", (int) c));
+			else
+				escaped.append(c);
+		}
+		return escaped.toString();
+	}
+
+	static List<Phase> phases() {
+		synchronized (phases) {
+			return new ArrayList<>(phases);
+		}
+	}
+}
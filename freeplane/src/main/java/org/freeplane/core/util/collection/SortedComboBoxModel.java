@@ -63,6 +63,8 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 	private static final long serialVersionUID = 1L;
 	private Object selectedItem;
 	private final SortedMap<Comparator, Object> model;
+	/** elements in order for index based access, built on demand */
+	private Object[] elementArray = null;
 
 	public SortedComboBoxModel() {
 		model = new TreeMap<Comparator, Object>();
@@ -78,6 +80,7 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 		if(model.containsKey(key))
 			return false;
 		model.put(key, element);
+		elementArray = null;
 		return true;
     }
 
@@ -94,6 +97,7 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 		final int oldSize = getSize();
 		if (oldSize > 0) {
 			model.clear();
+			elementArray = null;
 			fireIntervalRemoved(this, 0, oldSize - 1);
 		}
 	}
@@ -102,12 +106,19 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 		return model.containsKey(key(element));
 	}
 
+	/** returns the contained element with the same text and type as the given one, or null */
+	public Object getElementLike(final Object element) {
+		return model.get(key(element));
+	}
+
 	public Object firstElement() {
 		return model.get(model.firstKey());
 	}
 
 	public Object getElementAt(final int index) {
-		return model.values().toArray()[index];
+		if (elementArray == null || elementArray.length != model.size())
+			elementArray = model.values().toArray();
+		return elementArray[index];
 	}
 
 	/**
@@ -142,6 +153,7 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 	 */
 	public void remove(final Object element) {
 		if (null != model.remove(key(element))) {
+			elementArray = null;
 			fireContentsChanged(this, 0, getSize());
 		}
 	}
@@ -157,6 +169,8 @@ public class SortedComboBoxModel extends AbstractListModel implements ComboBoxMo
 			return;
 		}
 		final boolean removed = null != model.remove(key(oldO));
+		if (removed)
+			elementArray = null;
 		final boolean added = addImpl(newO);
 		if (removed || added) {
 			fireContentsChanged(this, 0, getSize());
@@ -136,6 +136,14 @@ public class SortedMapVector {
 		throw new NoSuchElementException();
 	}
 
+	public Object getValueOrNull(final Comparable key) {
+		final int index = findElement(key);
+		if ((index & SortedMapVector.ELEMENT_NOT_FOUND_FLAG) == 0) {
+			return elements.get(index).getValue();
+		}
+		return null;
+	}
+
 	public Object getValue(final int index) {
 		return elements.get(index).getValue();
 	}
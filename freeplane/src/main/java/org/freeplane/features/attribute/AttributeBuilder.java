@@ -31,6 +31,7 @@ import org.freeplane.core.io.IAttributeWriter;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementHandler;
 import org.freeplane.core.io.IExtensionElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -272,14 +273,7 @@ class AttributeBuilder implements IElementDOMHandler {
 		reader.addElementHandler(AttributeBuilder.XML_NODE_ATTRIBUTE, this);
 		reader.addElementHandler(AttributeBuilder.XML_NODE_REGISTERED_ATTRIBUTE_NAME, this);
 		reader.addElementHandler(AttributeBuilder.XML_NODE_REGISTERED_ATTRIBUTE_VALUE, this);
-		writer.addExtensionElementWriter(NodeAttributeTableModel.class, new IExtensionElementWriter() {
-			@Override
-			public void writeContent(final ITreeWriter writer, final Object node, final IExtension extension)
-			        throws IOException {
-				final NodeAttributeTableModel attributes = (NodeAttributeTableModel) extension;
-				save((NodeModel)node, attributes, writer);
-			}
-		});
+		writer.addExtensionElementWriter(NodeAttributeTableModel.class, new NodeAttributesWriter());
 		writer.addExtensionElementWriter(AttributeRegistry.class, new IExtensionElementWriter() {
 			@Override
 			public void writeContent(final ITreeWriter writer, final Object node, final IExtension extension)
@@ -302,8 +296,17 @@ class AttributeBuilder implements IElementDOMHandler {
 		}
 	}
 
+	private class NodeAttributesWriter implements IExtensionElementWriter, IThreadSafeWriter {
+		@Override
+		public void writeContent(final ITreeWriter writer, final Object node, final IExtension extension)
+		        throws IOException {
+			final NodeAttributeTableModel attributes = (NodeAttributeTableModel) extension;
+			save((NodeModel)node, attributes, writer);
+		}
+	}
+
 	private static final Quantity<LengthUnit> DEFAULT_COLUMN_WIDTH = new Quantity<LengthUnit>(60, LengthUnit.pt);
-	static class AttributeWriter implements IAttributeWriter{
+	static class AttributeWriter implements IAttributeWriter, IThreadSafeWriter{
 		static AttributeWriter INSTANCE = new AttributeWriter();
 
 		@Override
@@ -19,11 +19,16 @@
  */
 package org.freeplane.features.attribute;
 
+import java.util.Calendar;
+import java.util.Set;
+
 import org.freeplane.core.io.xml.TreeXmlReader;
 import org.freeplane.core.io.xml.TreeXmlWriter;
 import org.freeplane.core.util.TypeReference;
 import org.freeplane.features.filter.condition.ASelectableCondition;
 import org.freeplane.features.filter.condition.CompareConditionAdapter;
+import org.freeplane.features.format.FormattedDate;
+import org.freeplane.features.format.FormattedNumber;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.text.TextController;
 import org.freeplane.n3.nanoxml.XMLElement;
@@ -60,6 +65,7 @@ public class AttributeCompareCondition extends CompareConditionAdapter {
 	final private Object attribute;
 	final private int comparationResult;
 	final private boolean succeed;
+	final private AttributeValueIndex.MatchingNodeCache matchingNodeCache = new AttributeValueIndex.MatchingNodeCache();
 
 	/**
 	 */
@@ -86,8 +92,13 @@ public class AttributeCompareCondition extends CompareConditionAdapter {
 	 * .MindMapNode)
 	 */
 	public boolean checkNode(final NodeModel node) {
-		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
 		final TextController textController = TextController.getController();
+		if (attribute instanceof String) {
+			final Boolean indexedValueMatches = matchingNodeCache.matches(node, (String) attribute, this::findMatchingNodes);
+			if (indexedValueMatches != null)
+				return indexedValueMatches;
+		}
+		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
 		for (int i = 0; i < attributes.getRowCount(); i++) {
 			if(attribute.equals(AttributeConditionController.ANY_ATTRIBUTE_NAME_OR_VALUE_OBJECT)){
 				if (checkContent(attributes.getValueAt(i, 0)))
@@ -105,6 +116,53 @@ public class AttributeCompareCondition extends CompareConditionAdapter {
 		return false;
 	}
 
+	private Set<NodeModel> findMatchingNodes(final AttributeValueIndex index) {
+		final String name = (String) attribute;
+		final Object conditionValue = conditionValue();
+		final boolean isRangeCondition = succeed || comparationResult != 0;
+		if (isRangeCondition && conditionValue instanceof FormattedDate)
+			return findNodesWithDatesInRange(index.getTypedValues(name), (FormattedDate) conditionValue);
+		if (isRangeCondition && conditionValue instanceof Number) {
+			final TypedAttributeValues typedValues = index.getTypedValues(name);
+			// other values are compared as texts, numbers only by formatted condition values
+			if (!typedValues.containsOtherObjects()
+			        && (conditionValue instanceof FormattedNumber || !typedValues.containsNumberObjects()))
+				return findNodesWithNumbersInRange(typedValues, ((Number) conditionValue).doubleValue());
+		}
+		final TextController textController = TextController.getController();
+		return index.getMatchingNodes(name,
+		    (value, valueNode) -> checkContent(textController.getTransformedObjectNoFormattingNoThrow(value, valueNode, null)));
+	}
+
+	private Set<NodeModel> findNodesWithNumbersInRange(final TypedAttributeValues typedValues, final double number) {
+		// NaN is compared as greater than all other numbers
+		if (comparationResult == 0)
+			return typedValues.getNodesWithNumbersBetween(number, true, number, true);
+		if ((comparationResult > 0) == succeed)
+			return typedValues.getNodesWithNumbersBetween(number, !succeed, Double.NaN, true);
+		else
+			return typedValues.getNodesWithNumbersBetween(Double.NEGATIVE_INFINITY, true, number, !succeed);
+	}
+
+	private Set<NodeModel> findNodesWithDatesInRange(final TypedAttributeValues typedValues, final FormattedDate date) {
+		final long time = date.getTime();
+		final long timeAfter;
+		if (date.containsTime())
+			timeAfter = time + 1;
+		else {
+			final Calendar calendar = Calendar.getInstance();
+			calendar.setTime(date);
+			calendar.add(Calendar.DAY_OF_MONTH, 1);
+			timeAfter = calendar.getTimeInMillis();
+		}
+		if (comparationResult == 0)
+			return typedValues.getNodesWithDatesBetween(time, timeAfter - 1);
+		if ((comparationResult > 0) == succeed)
+			return typedValues.getNodesWithDatesBetween(succeed ? timeAfter : time, Long.MAX_VALUE);
+		else
+			return typedValues.getNodesWithDatesBetween(Long.MIN_VALUE, succeed ? time - 1 : timeAfter - 1);
+	}
+
 	private boolean checkContent(Object content) {
 		compareTo(content);
 	    return isComparisonOK() &&  succeed == (getComparisonResult() == comparationResult);
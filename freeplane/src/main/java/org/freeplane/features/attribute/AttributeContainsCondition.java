@@ -50,6 +50,7 @@ public class AttributeContainsCondition extends StringConditionAdapter {
 	final private String value;
 	final private String comparedValue;
     final private StringMatchingStrategy stringMatchingStrategy;
+	final private AttributeValueIndex.MatchingNodeCache matchingNodeCache = new AttributeValueIndex.MatchingNodeCache();
 
     /**
 	 */
@@ -71,8 +72,14 @@ public class AttributeContainsCondition extends StringConditionAdapter {
 	 * .MindMapNode)
 	 */
 	public boolean checkNode(final NodeModel node) {
-		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
 		final TextController textController = TextController.getController();
+		if (attribute instanceof String) {
+			final Boolean indexedValueMatches = matchingNodeCache.matches(node, (String) attribute,
+			    (value, valueNode) -> checkText(textController.getTransformedTextNoThrow(value, valueNode, null)));
+			if (indexedValueMatches != null)
+				return indexedValueMatches;
+		}
+		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
 		for (int i = 0; i < attributes.getRowCount(); i++) {
 			if(attribute.equals(AttributeConditionController.ANY_ATTRIBUTE_NAME_OR_VALUE_OBJECT)){
 				if (checkText(attributes.getValueAt(i, 0).toString()))
@@ -88,6 +88,9 @@ public class AttributeController implements IExtension {
 		final MapReader mapReader = mapController.getMapReader();
 		final AttributeBuilder attributeBuilder = new AttributeBuilder(this, mapReader);
 		attributeBuilder.registerBy(readManager, writeManager);
+		final AttributeValueIndexUpdater valueIndexUpdater = new AttributeValueIndexUpdater();
+		mapController.addNodeChangeListener(valueIndexUpdater);
+		mapController.addMapChangeListener(valueIndexUpdater);
 		modeController.addAction(new SetBooleanMapPropertyAction(SHOW_ICON_FOR_ATTRIBUTES));
 		registerTooltipProvider();
 		registerStateIconProvider();
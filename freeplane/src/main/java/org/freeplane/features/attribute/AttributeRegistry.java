@@ -20,7 +20,11 @@
 package org.freeplane.features.attribute;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -33,10 +37,8 @@ import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.util.collection.IListModel;
 import org.freeplane.core.util.collection.SortedComboBoxModel;
 import org.freeplane.core.util.collection.SortedMapVector;
-import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
-import org.freeplane.features.mode.Controller;
 import org.freeplane.n3.nanoxml.XMLElement;
 
 /**
@@ -53,11 +55,16 @@ public class AttributeRegistry implements IExtension {
 			map.addExtension(AttributeRegistry.class, registry);
 			final NodeModel rootNode = map.getRootNode();
 			if(rootNode != null)
-				registry.registryAttributes(Controller.getCurrentModeController().getMapController(), rootNode);
+				registry.registryAttributes(rootNode);
 		}
 		return registry;
 	}
 
+	static AttributeValueIndex getExistingValueIndex(final MapModel map) {
+		final AttributeRegistry registry = map.getExtension(AttributeRegistry.class);
+		return registry != null ? registry.valueIndex : null;
+	}
+
 	private AttributeController attributeController;
 	private ChangeEvent attributesEvent;
 	private String attributeViewType;
@@ -72,6 +79,7 @@ public class AttributeRegistry implements IExtension {
 	private Boolean restrictionModel;
 	protected int visibleElementsNumber;
 	private final MapModel map;
+	private AttributeValueIndex valueIndex = null;
 
 	public AttributeRegistry(MapModel map, final AttributeController attributeController) {
 		super();
@@ -123,12 +131,7 @@ public class AttributeRegistry implements IExtension {
 			return false;
 		}
 		final SortedComboBoxModel values = getElement(index).getValues();
-		for (int i = 0; i < values.getSize(); i++) {
-			if (element.equals(values.getElementAt(i))) {
-				return true;
-			}
-		}
-		return false;
+		return element.equals(values.getElementLike(element));
 	}
 
 	public void fireAttributeLayoutChanged() {
@@ -271,23 +274,57 @@ public class AttributeRegistry implements IExtension {
 		fireAttributesChanged();
 	}
 
-	public void registry(final String name) {
-		final AttributeRegistryElement attributeRegistryElement = new AttributeRegistryElement(this, name);
-		final int index = getElements().add(name, attributeRegistryElement);
-		getTableModel().fireTableRowsInserted(index, index);
+	private void registryAttributes(final NodeModel root) {
+		final Map<String, List<Object>> valuesByName = new LinkedHashMap<String, List<Object>>();
+		collectAttributes(root, valuesByName);
+		for (final Map.Entry<String, List<Object>> entry : valuesByName.entrySet()) {
+			final String name = entry.getKey();
+			AttributeRegistryElement element = (AttributeRegistryElement) elements.getValueOrNull(name);
+			if (element == null) {
+				element = new AttributeRegistryElement(this, name);
+				elements.add(name, element);
+			}
+			element.addValues(entry.getValue());
+		}
+		if (! valuesByName.isEmpty()) {
+			getTableModel().fireTableDataChanged();
+			fireAttributesChanged();
+		}
 	}
 
-	private void registryAttributes(final MapController mapController, final NodeModel node) {
+	private void collectAttributes(final NodeModel node, final Map<String, List<Object>> valuesByName) {
 		final NodeAttributeTableModel model = NodeAttributeTableModel.getModel(node);
-		if (model == null) {
-			return;
-		}
 		for (int i = 0; i < model.getRowCount(); i++) {
-			registry(model.getAttribute(i));
+			final Attribute attribute = model.getAttribute(i);
+			final String name = attribute.getName();
+			if (! name.equals("")) {
+				List<Object> values = valuesByName.get(name);
+				if (values == null) {
+					values = new ArrayList<Object>();
+					valuesByName.put(name, values);
+				}
+				values.add(attribute.getValue());
+			}
 		}
 		for (final NodeModel child : node.getChildren()) {
-			registryAttributes(mapController, child);
+			collectAttributes(child, valuesByName);
+		}
+	}
+
+	/**
+	 * Returns the index of attribute values and the nodes holding them, it is built on first use.
+	 */
+	public AttributeValueIndex getValueIndex() {
+		if (valueIndex == null) {
+			valueIndex = new AttributeValueIndex(map);
 		}
+		return valueIndex;
+	}
+
+	public void registry(final String name) {
+		final AttributeRegistryElement attributeRegistryElement = new AttributeRegistryElement(this, name);
+		final int index = getElements().add(name, attributeRegistryElement);
+		getTableModel().fireTableRowsInserted(index, index);
 	}
 
 	/**
@@ -19,6 +19,8 @@
  */
 package org.freeplane.features.attribute;
 
+import java.util.Collection;
+
 import org.freeplane.core.util.TypeReference;
 import org.freeplane.core.util.collection.SortedComboBoxModel;
 import org.freeplane.n3.nanoxml.XMLElement;
@@ -37,6 +39,10 @@ public class AttributeRegistryElement {
 			super.add(element);
 		}
 
+		public void _addAll(final Collection<Object> elements) {
+			super.addAll(elements.toArray());
+		}
+
 		public void _remove(final Object element) {
 			super.remove(element);
 		}
@@ -91,6 +97,11 @@ public class AttributeRegistryElement {
 		registry.fireAttributesChanged();
 	}
 
+	void addValues(final Collection<Object> newValues) {
+		values._addAll(newValues);
+		registry.fireAttributesChanged();
+	}
+
 	public Comparable<?> getKey() {
 		return key;
 	}
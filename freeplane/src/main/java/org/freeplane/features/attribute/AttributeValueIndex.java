@@ -0,0 +1,280 @@
+package org.freeplane.features.attribute;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.text.TextController;
+
+/**
+ * Maps attribute names to their values and the nodes holding them.
+ *
+ * The index is built on first use and updated from the nodes reported as changed before each query.
+ * Values whose transformation depends on the node, like formulas and node links, are not indexed.
+ * Nodes holding such values are not indexed for that attribute name and must be checked directly.
+ * Numbers and dates of an attribute are sorted for range queries on first request after its values change.
+ */
+public class AttributeValueIndex {
+	/**
+	 * Keeps the nodes matching a condition until the index changes.
+	 */
+	public static class MatchingNodeCache {
+		private AttributeValueIndex index = null;
+		private int generation;
+		private Set<NodeModel> matchingNodes;
+
+		/**
+		 * Checks whether an indexed value of the node matches, returns null if the node is not indexed for the attribute.
+		 */
+		public Boolean matches(final NodeModel node, final String name, final BiPredicate<Object, NodeModel> valueMatcher) {
+			return matches(node, name, index -> index.getMatchingNodes(name, valueMatcher));
+		}
+
+		/**
+		 * Checks whether the node is contained in the matching nodes found by the given query,
+		 * returns null if the node is not indexed for the attribute.
+		 */
+		public Boolean matches(final NodeModel node, final String name,
+		                       final Function<AttributeValueIndex, Set<NodeModel>> query) {
+			final AttributeValueIndex index = AttributeRegistry.getRegistry(node.getMap()).getValueIndex();
+			if (!index.isIndexed(node, name))
+				return null;
+			if (this.index != index || generation != index.getGeneration()) {
+				matchingNodes = query.apply(index);
+				this.index = index;
+				generation = index.getGeneration();
+			}
+			return matchingNodes.contains(node);
+		}
+	}
+
+	private final MapModel map;
+	private final BiPredicate<Object, NodeModel> dependsOnNode;
+	private final BiFunction<Object, NodeModel, Object> contentOfValue;
+	private final Map<String, Map<Object, Set<NodeModel>>> nodesByValue = new HashMap<>();
+	private final Map<String, Set<NodeModel>> nodesWithNodeDependentValues = new HashMap<>();
+	private final Map<NodeModel, List<Attribute>> indexedAttributes = new HashMap<>();
+	private final Set<NodeModel> changedNodes = new LinkedHashSet<>();
+	private final Map<String, TypedAttributeValues> typedValues = new HashMap<>();
+	private boolean built = false;
+	private int generation = 0;
+
+	AttributeValueIndex(final MapModel map) {
+		this(map, (value, node) -> value instanceof URI || TextController.getController().isFormula(value, node, null),
+		    (value, node) -> TextController.getController().getTransformedObjectNoFormattingNoThrow(value, node, null));
+	}
+
+	AttributeValueIndex(final MapModel map, final BiPredicate<Object, NodeModel> dependsOnNode,
+	                    final BiFunction<Object, NodeModel, Object> contentOfValue) {
+		this.map = map;
+		this.dependsOnNode = dependsOnNode;
+		this.contentOfValue = contentOfValue;
+	}
+
+	void onAttributesChanged(final NodeModel node) {
+		if (built)
+			changedNodes.add(node);
+		generation++;
+	}
+
+	void onSubtreeChanged(final NodeModel root) {
+		if (built)
+			addSubtree(root, changedNodes);
+		generation++;
+	}
+
+	private static void addSubtree(final NodeModel node, final Set<NodeModel> nodes) {
+		nodes.add(node);
+		for (final NodeModel child : node.getChildren())
+			addSubtree(child, nodes);
+	}
+
+	/** changes whenever indexed values may have changed */
+	public int getGeneration() {
+		return generation;
+	}
+
+	/** true if all values of the attribute of the given node are indexed */
+	public boolean isIndexed(final NodeModel node, final String name) {
+		update();
+		if (!indexedAttributes.containsKey(node))
+			return false;
+		final Set<NodeModel> nodesWithNodeDependentValue = nodesWithNodeDependentValues.get(name);
+		return nodesWithNodeDependentValue == null || !nodesWithNodeDependentValue.contains(node);
+	}
+
+	public Collection<Object> getValues(final String name) {
+		update();
+		final Map<Object, Set<NodeModel>> values = nodesByValue.get(name);
+		return values == null ? Collections.emptySet() : Collections.unmodifiableSet(values.keySet());
+	}
+
+	public Set<NodeModel> getNodes(final String name, final Object value) {
+		update();
+		final Map<Object, Set<NodeModel>> values = nodesByValue.get(name);
+		final Set<NodeModel> nodes = values == null ? null : values.get(value);
+		return nodes == null ? Collections.emptySet() : Collections.unmodifiableSet(nodes);
+	}
+
+	/**
+	 * Returns the indexed nodes with a value of the attribute accepted by the matcher.
+	 * The matcher is called once for each distinct value together with one of the nodes holding it.
+	 */
+	public Set<NodeModel> getMatchingNodes(final String name, final BiPredicate<Object, NodeModel> valueMatcher) {
+		update();
+		final Map<Object, Set<NodeModel>> values = nodesByValue.get(name);
+		if (values == null)
+			return Collections.emptySet();
+		final Set<NodeModel> matchingNodes = new HashSet<>();
+		for (final Map.Entry<Object, Set<NodeModel>> entry : values.entrySet()) {
+			final Set<NodeModel> nodes = entry.getValue();
+			if (valueMatcher.test(entry.getKey(), nodes.iterator().next()))
+				matchingNodes.addAll(nodes);
+		}
+		return matchingNodes;
+	}
+
+	/**
+	 * Returns the indexed numbers and dates of the attribute sorted for range queries.
+	 * They are computed from the transformed values and kept until values of the attribute change.
+	 */
+	public TypedAttributeValues getTypedValues(final String name) {
+		update();
+		return typedValues.computeIfAbsent(name, key -> TypedAttributeValues.create(
+		    nodesByValue.getOrDefault(key, Collections.emptyMap()), contentOfValue));
+	}
+
+	/**
+	 * Returns the nodes with a number between the given bounds, both included, as value of the attribute.
+	 * Numeric texts count as numbers. Node dependent values are transformed and checked for each node.
+	 */
+	public Set<NodeModel> getNodesWithNumbersBetween(final String name, final double min, final double max) {
+		final Set<NodeModel> nodes = new LinkedHashSet<>(getTypedValues(name).getNodesWithNumbersBetween(min, true, max, true));
+		addNodesWithNodeDependentValues(name, nodes, content -> {
+			final Number number = TypedAttributeValues.toNumber(content);
+			return number != null && number.doubleValue() >= min && number.doubleValue() <= max;
+		});
+		return nodes;
+	}
+
+	/**
+	 * Returns the nodes with a date between the given times, both included, as value of the attribute.
+	 * Node dependent values are transformed and checked for each node.
+	 */
+	public Set<NodeModel> getNodesWithDatesBetween(final String name, final long fromTime, final long toTime) {
+		final Set<NodeModel> nodes = new LinkedHashSet<>(getTypedValues(name).getNodesWithDatesBetween(fromTime, toTime));
+		addNodesWithNodeDependentValues(name, nodes, content -> content instanceof Date
+		        && ((Date) content).getTime() >= fromTime && ((Date) content).getTime() <= toTime);
+		return nodes;
+	}
+
+	private void addNodesWithNodeDependentValues(final String name, final Set<NodeModel> nodes,
+	                                             final Predicate<Object> contentMatcher) {
+		final Set<NodeModel> candidates = nodesWithNodeDependentValues.get(name);
+		if (candidates == null)
+			return;
+		for (final NodeModel node : candidates) {
+			final NodeAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
+			for (int row = 0; row < attributes.getRowCount(); row++) {
+				final Attribute attribute = attributes.getAttribute(row);
+				if (attribute.getName().equals(name) && attribute.getValue() != null
+				        && contentMatcher.test(contentOfValue.apply(attribute.getValue(), node))) {
+					nodes.add(node);
+					break;
+				}
+			}
+		}
+	}
+
+	private void update() {
+		if (!built) {
+			built = true;
+			final NodeModel rootNode = map.getRootNode();
+			if (rootNode != null)
+				indexSubtree(rootNode);
+			return;
+		}
+		if (changedNodes.isEmpty())
+			return;
+		final List<NodeModel> nodes = new ArrayList<>(changedNodes);
+		changedNodes.clear();
+		for (final NodeModel node : nodes) {
+			unindex(node);
+			if (belongsToMap(node))
+				index(node);
+		}
+	}
+
+	private boolean belongsToMap(final NodeModel node) {
+		NodeModel ancestor = node;
+		while (ancestor.getParentNode() != null)
+			ancestor = ancestor.getParentNode();
+		return ancestor == map.getRootNode();
+	}
+
+	private void indexSubtree(final NodeModel node) {
+		index(node);
+		for (final NodeModel child : node.getChildren())
+			indexSubtree(child);
+	}
+
+	private void index(final NodeModel node) {
+		final NodeAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
+		final int rowCount = attributes.getRowCount();
+		if (rowCount == 0)
+			return;
+		final List<Attribute> indexed = new ArrayList<>(rowCount);
+		for (int row = 0; row < rowCount; row++) {
+			final Attribute attribute = attributes.getAttribute(row);
+			final String name = attribute.getName();
+			final Object value = attribute.getValue();
+			indexed.add(new Attribute(name, value));
+			typedValues.remove(name);
+			if (value == null || dependsOnNode.test(value, node))
+				nodesWithNodeDependentValues.computeIfAbsent(name, key -> new HashSet<>()).add(node);
+			else
+				nodesByValue.computeIfAbsent(name, key -> new LinkedHashMap<>())
+				    .computeIfAbsent(value, key -> new LinkedHashSet<>()).add(node);
+		}
+		indexedAttributes.put(node, indexed);
+	}
+
+	private void unindex(final NodeModel node) {
+		final List<Attribute> indexed = indexedAttributes.remove(node);
+		if (indexed == null)
+			return;
+		for (final Attribute attribute : indexed) {
+			final String name = attribute.getName();
+			typedValues.remove(name);
+			final Set<NodeModel> nodesWithNodeDependentValue = nodesWithNodeDependentValues.get(name);
+			if (nodesWithNodeDependentValue != null && nodesWithNodeDependentValue.remove(node)
+			        && nodesWithNodeDependentValue.isEmpty())
+				nodesWithNodeDependentValues.remove(name);
+			final Map<Object, Set<NodeModel>> values = nodesByValue.get(name);
+			if (values == null)
+				continue;
+			final Object value = attribute.getValue();
+			final Set<NodeModel> nodes = values.get(value);
+			if (nodes != null && nodes.remove(node) && nodes.isEmpty()) {
+				values.remove(value);
+				if (values.isEmpty())
+					nodesByValue.remove(name);
+			}
+		}
+	}
+}
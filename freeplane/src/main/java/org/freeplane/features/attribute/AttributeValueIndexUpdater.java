@@ -0,0 +1,39 @@
+package org.freeplane.features.attribute;
+
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.INodeChangeListener;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+
+/**
+ * Reports changed attributes and changed subtrees to the attribute value index of their map
+ * if the index has already been created.
+ */
+class AttributeValueIndexUpdater implements INodeChangeListener, IMapChangeListener {
+	@Override
+	public void nodeChanged(final NodeChangeEvent event) {
+		if (NodeAttributeTableModel.class.equals(event.getProperty())) {
+			final NodeModel node = event.getNode();
+			final AttributeValueIndex index = AttributeRegistry.getExistingValueIndex(node.getMap());
+			if (index != null)
+				index.onAttributesChanged(node);
+		}
+	}
+
+	@Override
+	public void onNodeInserted(final NodeModel parent, final NodeModel child, final int newIndex) {
+		onSubtreeChanged(child);
+	}
+
+	@Override
+	public void onNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+		onSubtreeChanged(nodeDeletionEvent.node);
+	}
+
+	private void onSubtreeChanged(final NodeModel root) {
+		final AttributeValueIndex index = AttributeRegistry.getExistingValueIndex(root.getMap());
+		if (index != null)
+			index.onSubtreeChanged(root);
+	}
+}
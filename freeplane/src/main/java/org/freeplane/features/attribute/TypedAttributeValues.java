@@ -0,0 +1,188 @@
+package org.freeplane.features.attribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import org.freeplane.core.util.TextUtils;
+import org.freeplane.features.map.NodeModel;
+
+/**
+ * Numbers and dates of one attribute sorted for range queries.
+ *
+ * Numeric texts count as numbers. Nodes holding a value several times appear once per value.
+ */
+public class TypedAttributeValues {
+	private final double[] numbers;
+	private final NodeModel[] numberNodes;
+	private final long[] dates;
+	private final NodeModel[] dateNodes;
+	private final boolean containsNumberObjects;
+	private final boolean containsOtherObjects;
+
+	static TypedAttributeValues create(final Map<Object, Set<NodeModel>> nodesByValue,
+	                                   final BiFunction<Object, NodeModel, Object> contentOfValue) {
+		final List<Double> numberKeys = new ArrayList<>();
+		final List<NodeModel> numberNodes = new ArrayList<>();
+		final List<Long> dateKeys = new ArrayList<>();
+		final List<NodeModel> dateNodes = new ArrayList<>();
+		boolean containsNumberObjects = false;
+		boolean containsOtherObjects = false;
+		for (final Map.Entry<Object, Set<NodeModel>> entry : nodesByValue.entrySet()) {
+			final Set<NodeModel> nodes = entry.getValue();
+			final Object content = contentOfValue.apply(entry.getKey(), nodes.iterator().next());
+			final Number number = toNumber(content);
+			if (number != null) {
+				containsNumberObjects = containsNumberObjects || content instanceof Number;
+				for (final NodeModel node : nodes) {
+					numberKeys.add(number.doubleValue());
+					numberNodes.add(node);
+				}
+			}
+			else if (content instanceof Date) {
+				containsOtherObjects = true;
+				for (final NodeModel node : nodes) {
+					dateKeys.add(((Date) content).getTime());
+					dateNodes.add(node);
+				}
+			}
+			else if (!(content instanceof String))
+				containsOtherObjects = true;
+		}
+		return new TypedAttributeValues(numberKeys, numberNodes, dateKeys, dateNodes, containsNumberObjects,
+		    containsOtherObjects);
+	}
+
+	static Number toNumber(final Object content) {
+		if (content instanceof Number)
+			return (Number) content;
+		if (content instanceof String) {
+			try {
+				return TextUtils.toNumber((String) content);
+			}
+			catch (final NumberFormatException e) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private TypedAttributeValues(final List<Double> numberKeys, final List<NodeModel> numberNodes,
+	                             final List<Long> dateKeys, final List<NodeModel> dateNodes,
+	                             final boolean containsNumberObjects, final boolean containsOtherObjects) {
+		final Integer[] numberOrder = sortedOrder(numberKeys);
+		numbers = new double[numberOrder.length];
+		this.numberNodes = new NodeModel[numberOrder.length];
+		for (int i = 0; i < numberOrder.length; i++) {
+			numbers[i] = numberKeys.get(numberOrder[i]);
+			this.numberNodes[i] = numberNodes.get(numberOrder[i]);
+		}
+		final Integer[] dateOrder = sortedOrder(dateKeys);
+		dates = new long[dateOrder.length];
+		this.dateNodes = new NodeModel[dateOrder.length];
+		for (int i = 0; i < dateOrder.length; i++) {
+			dates[i] = dateKeys.get(dateOrder[i]);
+			this.dateNodes[i] = dateNodes.get(dateOrder[i]);
+		}
+		this.containsNumberObjects = containsNumberObjects;
+		this.containsOtherObjects = containsOtherObjects;
+	}
+
+	private static <T extends Comparable<T>> Integer[] sortedOrder(final List<T> keys) {
+		final Integer[] order = new Integer[keys.size()];
+		for (int i = 0; i < order.length; i++)
+			order[i] = i;
+		Arrays.sort(order, (first, second) -> keys.get(first).compareTo(keys.get(second)));
+		return order;
+	}
+
+	/** true if some values are numbers, not only numeric texts */
+	public boolean containsNumberObjects() {
+		return containsNumberObjects;
+	}
+
+	/** true if some values are neither numbers nor texts */
+	public boolean containsOtherObjects() {
+		return containsOtherObjects;
+	}
+
+	/** returns the nodes with numbers in the given range ordered by their numbers */
+	public Set<NodeModel> getNodesWithNumbersBetween(final double min, final boolean minIncluded,
+	                                                 final double max, final boolean maxIncluded) {
+		final int first = minIncluded ? firstIndexNotLess(min) : firstIndexGreater(min);
+		final int end = maxIncluded ? firstIndexGreater(max) : firstIndexNotLess(max);
+		return nodes(numberNodes, first, end);
+	}
+
+	private int firstIndexNotLess(final double key) {
+		int low = 0;
+		int high = numbers.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (Double.compare(numbers[middle], key) < 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private int firstIndexGreater(final double key) {
+		int low = 0;
+		int high = numbers.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (Double.compare(numbers[middle], key) <= 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	/** returns the nodes with dates between the given times, both included, ordered by their dates */
+	public Set<NodeModel> getNodesWithDatesBetween(final long fromTime, final long toTime) {
+		return nodes(dateNodes, firstIndexNotLess(fromTime), firstIndexGreater(toTime));
+	}
+
+	private int firstIndexNotLess(final long key) {
+		int low = 0;
+		int high = dates.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (dates[middle] < key)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private int firstIndexGreater(final long key) {
+		int low = 0;
+		int high = dates.length;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (dates[middle] <= key)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+		return low;
+	}
+
+	private static Set<NodeModel> nodes(final NodeModel[] nodes, final int first, final int end) {
+		if (first >= end)
+			return Collections.emptySet();
+		final Set<NodeModel> result = new LinkedHashSet<>();
+		for (int i = first; i < end; i++)
+			result.add(nodes[i]);
+		return result;
+	}
+}
@@ -152,9 +152,9 @@ public class CommandSearchDialog extends JDialog
 
         setLocationRelativeTo(parent);
 
-        preferencesIndexer = new PreferencesIndexer();
+        preferencesIndexer = PreferencesIndexer.getInstance();
         menuStructureIndexer = new MenuStructureIndexer();
-        iconIndexer = new IconIndexer();
+        iconIndexer = IconIndexer.getInstance();
 
         Handler handler = new Handler();
         input = new JTextField("");
@@ -32,9 +32,21 @@ import org.freeplane.features.icon.factory.IconStoreFactory;
 import org.freeplane.features.icon.mindmapmode.MIconController;
 
 class IconIndexer {
+    private static IconIndexer instance;
+
     private List<IconItem> iconItems;
 
-    IconIndexer()
+    /** icons and their actions are created once at startup, so they are indexed once */
+    static IconIndexer getInstance()
+    {
+        if (instance == null)
+        {
+            instance = new IconIndexer();
+        }
+        return instance;
+    }
+
+    private IconIndexer()
     {
         iconItems = new LinkedList<>();
         load();
@@ -47,9 +47,21 @@ class PreferencesIndexer
     private String currentSeparator;
     private int tagsOpenendForCurrentPrefDeclaration = 0;
 
+    private static PreferencesIndexer instance;
+
     private List<PreferencesItem> prefs;
 
-    PreferencesIndexer()
+    /** preferences and their translations do not change while the application runs, so they are indexed once */
+    static PreferencesIndexer getInstance()
+    {
+        if (instance == null)
+        {
+            instance = new PreferencesIndexer();
+        }
+        return instance;
+    }
+
+    private PreferencesIndexer()
     {
         load();
     }
@@ -27,6 +27,7 @@ import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementWriter;
 import org.freeplane.core.io.IExtensionElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -37,7 +38,7 @@ import org.freeplane.features.map.NodeBuilder;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.n3.nanoxml.XMLElement;
 
-class EdgeBuilder implements IElementDOMHandler, IExtensionElementWriter, IElementWriter {
+class EdgeBuilder implements IElementDOMHandler, IExtensionElementWriter, IElementWriter, IThreadSafeWriter {
 	private final EdgeController ec;
 
 	public EdgeBuilder(final EdgeController ec) {
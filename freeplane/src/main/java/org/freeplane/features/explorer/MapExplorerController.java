@@ -3,6 +3,7 @@ package org.freeplane.features.explorer;
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IAttributeWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -22,6 +23,18 @@ public class MapExplorerController  implements IExtension{
 	private static final String ALIAS = "ALIAS";
 	public static final String GLOBAL_NODES = "GLOBAL_NODES";
 
+	private static class NodeAttributeWriter implements IAttributeWriter, IThreadSafeWriter {
+		@Override
+		public void writeAttributes(ITreeWriter writer, Object userObject, String tag) {
+			NodeModel node = (NodeModel) userObject;
+			if(GlobalNodes.isGlobal(node))
+				writer.addAttribute(GLOBALLY_VISIBLE, TRUE);
+			final NodeAlias alias = node.getExtension(NodeAlias.class);
+			if(alias != null)
+				writer.addAttribute(ALIAS, alias.value);
+		}
+	}
+
 	public static void install(ModeController modeController) {
 		final MapController mapController = modeController.getMapController();
 		final ReadManager readManager = mapController.getReadManager();
@@ -44,17 +57,7 @@ public class MapExplorerController  implements IExtension{
 			}
 		});
 
-		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new IAttributeWriter() {
-			@Override
-			public void writeAttributes(ITreeWriter writer, Object userObject, String tag) {
-				NodeModel node = (NodeModel) userObject;
-				if(GlobalNodes.isGlobal(node))
-					writer.addAttribute(GLOBALLY_VISIBLE, TRUE);
-				final NodeAlias alias = node.getExtension(NodeAlias.class);
-				if(alias != null)
-					writer.addAttribute(ALIAS, alias.value);
-			}
-		});
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new NodeAttributeWriter());
 	}
 	protected final ModeController modeController;
 
@@ -20,6 +20,8 @@
 package org.freeplane.features.filter;
 
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.freeplane.core.ui.AFreeplaneAction;
 import org.freeplane.features.filter.condition.ASelectableCondition;
@@ -68,6 +70,7 @@ class QuickFindAllAction extends AFreeplaneAction {
 		if(nodeFound){
 			selection.selectAsTheOnlyOneSelected(rootNode);
 		}
+		final List<NodeModel> foundNodes = new ArrayList<NodeModel>();
 		NodeModel next = rootNode;
 		for(;;){
 			next = filterController.findNext(next, rootNode, Direction.FORWARD, condition, selection.getFilter());
@@ -76,13 +79,14 @@ class QuickFindAllAction extends AFreeplaneAction {
 			}
 			mapController.displayNode(next);
 			if(nodeFound){
-				selection.toggleSelected(next);
+				foundNodes.add(next);
 			}
 			else{
 				selection.selectAsTheOnlyOneSelected(next);
 				nodeFound = true;
 			}
 		}
+		selection.addToSelection(foundNodes);
 		if(condition.checkNode(selected))
 		    selection.makeTheSelected(selected);
 	}
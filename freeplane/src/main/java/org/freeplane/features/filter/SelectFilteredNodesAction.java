@@ -20,6 +20,8 @@
 package org.freeplane.features.filter;
 
 import java.awt.event.ActionEvent;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.freeplane.core.ui.AFreeplaneAction;
 import org.freeplane.features.map.IMapSelection;
@@ -55,6 +57,7 @@ class SelectFilteredNodesAction extends AFreeplaneAction {
 		if(nodeFound){
 			selection.selectAsTheOnlyOneSelected(rootNode);
 		}
+		final List<NodeModel> foundNodes = new ArrayList<NodeModel>();
 		NodeModel next = rootNode;
 		for(;;){
 			next = MapNavigationUtils.findNext(Direction.FORWARD, next, rootNode);
@@ -65,13 +68,14 @@ class SelectFilteredNodesAction extends AFreeplaneAction {
 				continue;
 			mapController.displayNode(next);
 			if(nodeFound){
-				selection.toggleSelected(next);
+				foundNodes.add(next);
 			}
 			else{
 				selection.selectAsTheOnlyOneSelected(next);
 				nodeFound = true;
 			}
 		}
+		selection.addToSelection(foundNodes);
 		if(filter.getFilterInfo(selected).isMatched())
 		    selection.makeTheSelected(selected);
 	}
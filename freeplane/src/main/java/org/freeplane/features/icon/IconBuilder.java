@@ -26,6 +26,7 @@ import java.util.Collection;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -36,7 +37,7 @@ import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.map.NodeWriter;
 import org.freeplane.n3.nanoxml.XMLElement;
 
-class IconBuilder implements IElementDOMHandler, IElementWriter {
+class IconBuilder implements IElementDOMHandler, IElementWriter, IThreadSafeWriter {
 	private final IconStore store;
 
 	public IconBuilder(final IconController iconController, final IconStore icons) {
@@ -19,7 +19,10 @@ class GraphicIconFactory implements IconFactory {
 	    .getResource(DEFAULT_IMAGE_PATH + "IconNotFound.svg"));
 
 
-	private final WeakValueCache<String, Icon> ICON_CACHE = new WeakValueCache<String, Icon>();
+	private static final String ICON_CACHE_SIZE_PROPERTY = "icon_cache_size";
+
+	private final LeastRecentlyUsedCache<String, Icon> ICON_CACHE = new LeastRecentlyUsedCache<String, Icon>(
+		ResourceController.getResourceController().getIntProperty(ICON_CACHE_SIZE_PROPERTY, 1000));
 	private final WeakHashMap<Icon, URL> ICON_URLS = new WeakHashMap<Icon, URL>();
 
 
@@ -36,8 +39,8 @@ class GraphicIconFactory implements IconFactory {
 		return getIcon(url, DEFAULT_UI_ICON_HEIGTH);
 	}
 
-	private String createCacheKey(final URL url, final int heightPixels) {
-		return url.toString() + "#" + heightPixels;
+	private String createCacheKey(final URL url, final int heightPixels, final boolean antialias) {
+		return url.toString() + "#" + heightPixels + (antialias ? "#antialias" : "");
 	}
 
 	@Override
@@ -50,21 +53,21 @@ class GraphicIconFactory implements IconFactory {
 		Icon result = ICON_NOT_FOUND;
 		if (url != null) {
 			final int heightPixels = iconHeight.toBaseUnitsRounded();
-			final String cacheKey = createCacheKey(url, heightPixels);
-			if (ICON_CACHE.containsKey(cacheKey)) {
-				result = ICON_CACHE.get(cacheKey);
+			final boolean isSvg = url.getPath().toLowerCase(Locale.ENGLISH).endsWith(".svg");
+			final String cacheKey = createCacheKey(url, heightPixels, isSvg && FreeplaneIconFactory.isSvgAntialiasEnabled());
+			final Icon cachedIcon = ICON_CACHE.get(cacheKey);
+			if (cachedIcon != null) {
+				result = cachedIcon;
 			}
 			else {
-				if (url.getPath().toLowerCase(Locale.ENGLISH).endsWith(".svg")) {
+				if (isSvg) {
 					result = FreeplaneIconFactory.createSVGIcon(url, heightPixels);
-					ICON_URLS.put(result, url);
 				}
 				else {
 					result = FreeplaneIconFactory.createIconPrivileged(url);
 				}
 				ICON_CACHE.put(cacheKey, result);
 				ICON_URLS.put(result, url);
-				ICON_URLS.put(result, url);
 			}
 		}
 		return result;
@@ -0,0 +1,38 @@
+package org.freeplane.features.icon.factory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps at most the given number of values, the least recently used values are evicted first.
+ */
+public class LeastRecentlyUsedCache<K, V> {
+	final private Map<K, V> map;
+
+	public LeastRecentlyUsedCache(final int capacity) {
+		if(capacity <= 0)
+			throw new IllegalArgumentException("capacity must be positive");
+		map = new LinkedHashMap<K, V>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > capacity;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		return map.get(key);
+	}
+
+	public synchronized void put(K key, V value) {
+		if(value == null)
+			throw new IllegalArgumentException("null values are not allowed");
+		map.put(key, value);
+	}
+
+	public synchronized int size() {
+		return map.size();
+	}
+}
@@ -19,6 +19,7 @@
  */
 package org.freeplane.features.map;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.freeplane.features.map.NodeModel.CloneType;
@@ -44,12 +45,16 @@ class Cloner {
 		if(node.containsExtension(EncryptionModel.class))
 			throw new CloneEncryptedNodeException();
 		final NodeModel clone = node.cloneNode(CloneType.TREE);
-		final List<NodeModel> cloneChildren = clone.getChildrenInternal();
-		for (NodeModel childNode : node.getChildrenInternal()){
+		final List<NodeModel> children = node.getChildrenInternal();
+		if (children.isEmpty())
+			return clone;
+		final List<NodeModel> cloneChildren = new ArrayList<NodeModel>(children.size());
+		for (NodeModel childNode : children){
 			final NodeModel childClone = cloneStructure(childNode);
 			childClone.setParent(clone);
 			cloneChildren.add(childClone);
 		}
+		clone.setChildrenInternal(cloneChildren);
 		return clone;
     }
 }
@@ -0,0 +1,200 @@
+package org.freeplane.features.map;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.io.IThreadSafeWriter;
+import org.freeplane.core.io.ITreeWriter;
+import org.freeplane.core.io.ListHashTable;
+import org.freeplane.core.io.WriteManager;
+import org.freeplane.core.io.xml.TreeXmlWriter;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapWriter.Hint;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.map.MapWriter.WriterHint;
+
+/**
+ * Writes the branches of the root node on worker threads into separate buffers
+ * and appends them to the map file in their original order.
+ *
+ * It is used for large maps saved to files including invisible nodes,
+ * if the written content of each branch does not depend on other branches,
+ * that is if there are no clones, no encrypted nodes, no nodes without IDs
+ * and no unloaded child nodes, and if all involved writers are marked as {@link IThreadSafeWriter}.
+ * Unloaded child nodes are loaded when their IDs are looked up, for example by the link writer,
+ * and loading them on a worker thread would change the map while it is written.
+ */
+class ConcurrentBranchWriter {
+	static final String SAVE_BRANCHES_CONCURRENTLY_PROPERTY = "save_branches_concurrently";
+	static final int MINIMUM_NODE_COUNT = 5000;
+	private static ExecutorService executorService;
+
+	private static synchronized ExecutorService executorService() {
+		if (executorService == null) {
+			executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), r -> {
+				final Thread thread = Executors.defaultThreadFactory().newThread(r);
+				thread.setName("map writer " + thread.getName());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executorService;
+	}
+
+	private final MapWriter mapWriter;
+	private final WriteManager writeManager;
+	private final NodeWriter nodeWriter;
+	private final Object mode;
+
+	private ConcurrentBranchWriter(MapWriter mapWriter, WriteManager writeManager, NodeWriter nodeWriter, Object mode) {
+		this.mapWriter = mapWriter;
+		this.writeManager = writeManager;
+		this.nodeWriter = nodeWriter;
+		this.mode = mode;
+	}
+
+	/** returns null if the branches of the given root must be written sequentially */
+	static ConcurrentBranchWriter create(MapController mapController, NodeWriter nodeWriter, ITreeWriter writer,
+	                                     NodeModel root) {
+		if (root.getChildCount() < 2 || !(writer instanceof TreeXmlWriter))
+			return null;
+		final Object mode = writer.getHint(Hint.MODE);
+		if (!Mode.FILE.equals(mode) || Boolean.TRUE.equals(writer.getHint(WriterHint.FORCE_FORMATTING)))
+			return null;
+		if (!ResourceController.getResourceController().getBooleanProperty(SAVE_BRANCHES_CONCURRENTLY_PROPERTY))
+			return null;
+		final WriteManager writeManager = mapController.getWriteManager();
+		if (!areTagWritersThreadSafe(writeManager, nodeWriter))
+			return null;
+		final BranchChecker checker = new BranchChecker(writeManager);
+		for (final NodeModel child : root.getChildren()) {
+			if (!checker.canWriteConcurrently(child))
+				return null;
+		}
+		if (checker.nodeCount < MINIMUM_NODE_COUNT)
+			return null;
+		return new ConcurrentBranchWriter(mapController.getMapWriter(), writeManager, nodeWriter, mode);
+	}
+
+	private static boolean areTagWritersThreadSafe(WriteManager writeManager, NodeWriter nodeWriter) {
+		return areThreadSafe(writeManager.getAttributeWriters(), nodeWriter)
+				&& areThreadSafe(writeManager.getElementWriters(), nodeWriter);
+	}
+
+	private static <T> boolean areThreadSafe(ListHashTable<String, T> writers, NodeWriter nodeWriter) {
+		for (final String tag : writers.keys()) {
+			if (tag.equals("map"))
+				continue;
+			for (final T writer : writers.list(tag)) {
+				if (writer != nodeWriter && !(writer instanceof IThreadSafeWriter))
+					return false;
+			}
+		}
+		return true;
+	}
+
+	private static class BranchChecker {
+		private final WriteManager writeManager;
+		private final Set<Class<?>> checkedExtensionClasses;
+		private int nodeCount;
+
+		BranchChecker(WriteManager writeManager) {
+			this.writeManager = writeManager;
+			this.checkedExtensionClasses = new HashSet<Class<?>>();
+			this.nodeCount = 0;
+		}
+
+		boolean canWriteConcurrently(NodeModel node) {
+			if (!node.hasID() || node.allClones().size() > 1 || node.subtreeClones().size() > 1
+					|| EncryptionModel.getModel(node) != null)
+				return false;
+			if (!areThreadSafe(node.getSharedExtensions().values()) || !areThreadSafe(node.getIndividualExtensionValues()))
+				return false;
+			nodeCount++;
+			if (UnloadedChildNodes.isUnloaded(node) && !UnloadedChildNodes.hasFailedToLoad(node))
+				return false;
+			for (final NodeModel child : node.getChildren()) {
+				if (!canWriteConcurrently(child))
+					return false;
+			}
+			return true;
+		}
+
+		private boolean areThreadSafe(Collection<IExtension> extensions) {
+			for (final IExtension extension : extensions) {
+				final Class<? extends IExtension> extensionClass = extension.getClass();
+				if (checkedExtensionClasses.contains(extensionClass))
+					continue;
+				if (!areThreadSafe(writeManager.getExtensionAttributeWriters().list(extensionClass))
+						|| !areThreadSafe(writeManager.getExtensionElementWriters().list(extensionClass)))
+					return false;
+				checkedExtensionClasses.add(extensionClass);
+			}
+			return true;
+		}
+
+		private boolean areThreadSafe(List<?> writers) {
+			if (writers != null) {
+				for (final Object writer : writers) {
+					if (!(writer instanceof IThreadSafeWriter))
+						return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	void writeBranches(ITreeWriter writer, NodeModel root) throws IOException {
+		final List<Future<String>> branches = new ArrayList<Future<String>>(root.getChildCount());
+		final ExecutorService executorService = executorService();
+		try {
+			for (final NodeModel child : root.getChildren()) {
+				branches.add(executorService.submit(() -> writeBranch(root, child)));
+			}
+			for (final Future<String> branch : branches) {
+				writer.addElementContent(branch.get());
+			}
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IOException(cause);
+		}
+		finally {
+			for (final Future<String> branch : branches)
+				branch.cancel(false);
+		}
+	}
+
+	private String writeBranch(NodeModel root, NodeModel child) throws IOException {
+		final WriteManager branchWriteManager = new WriteManager(writeManager);
+		final NodeWriter branchNodeWriter = nodeWriter.createBranchWriter();
+		if (!branchNodeWriter.replaceIn(branchWriteManager, nodeWriter))
+			throw new IllegalStateException("node writer is not registered");
+		final StringWriter branchContent = new StringWriter();
+		final TreeXmlWriter branchWriter = mapWriter.createTreeWriter(branchWriteManager, branchContent);
+		branchWriter.setHint(Hint.MODE, mode);
+		branchNodeWriter.saveChild(branchWriter, root, child);
+		branchWriter.flush();
+		return branchContent.toString();
+	}
+}
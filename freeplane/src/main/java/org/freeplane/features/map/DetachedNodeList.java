@@ -65,7 +65,7 @@ public class DetachedNodeList implements Clones {
 		}
         else {
 	        final Clones clonesWithNewClone = clonedNode.clones(cloneType).add(clone);
-	        clonedNode.setClones(clonesWithNewClone);
+	        clonedNode.setClones(clonesWithNewClone, false);
 	        clone.setClones(clonesWithNewClone);
         }
     }
@@ -97,4 +97,8 @@ public class DetachedNodeList implements Clones {
 	public CloneType getCloneType() {
 		return cloneType;
 	}
+
+	boolean isUnclonedNode(NodeModel node) {
+		return clone == node && clonedNode == node;
+	}
 }
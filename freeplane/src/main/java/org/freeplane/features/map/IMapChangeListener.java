@@ -34,4 +34,7 @@ public interface IMapChangeListener {
 	default void onPreNodeMoved(NodeMoveEvent nodeMoveEvent) {}
 
 	default void onPreNodeDelete(NodeDeletionEvent nodeDeletionEvent) {}
+
+	/** called once after all insertions, deletions and moves of a batch, see {@link MapController#isStructureChangeBatchRunning(MapModel)} */
+	default void onStructureChangeBatchFinished(StructureChangeBatch batch) {}
 }
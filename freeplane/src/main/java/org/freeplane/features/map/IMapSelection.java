@@ -19,6 +19,7 @@
  */
 package org.freeplane.features.map;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -85,6 +86,19 @@ public interface IMapSelection {
 
 	public void replaceSelection(NodeModel[] nodes);
 
+	/** adds the nodes to the selection as one selection change */
+	default void addToSelection(final Collection<NodeModel> nodes) {
+		for (final NodeModel node : nodes)
+			makeTheSelected(node);
+	}
+
+	/** removes the nodes from the selection as one selection change */
+	default void removeFromSelection(final Collection<NodeModel> nodes) {
+		final Set<NodeModel> selection = getSelection();
+		for (final NodeModel node : nodes)
+			selection.remove(node);
+	}
+
 	Filter getFilter();
 
 	void setFilter(Filter filter);
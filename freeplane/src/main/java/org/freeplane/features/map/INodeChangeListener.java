@@ -21,4 +21,13 @@ package org.freeplane.features.map;
 
 public interface INodeChangeListener {
 	public void nodeChanged(NodeChangeEvent event);
+
+	/**
+	 * Listeners returning true receive the changes made inside of a node change transaction
+	 * merged per node and property when the transaction is committed,
+	 * see {@link MapController#startNodeChangeTransaction()}.
+	 */
+	default boolean receivesChangesOnCommit() {
+		return false;
+	}
 }
@@ -27,4 +27,6 @@ public interface INodeView {
 	default void nodeChanged(NodeChangeEvent event) {};
 	default void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {};
 	default void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {};
+	/** @see INodeChangeListener#receivesChangesOnCommit() */
+	default boolean receivesChangesOnCommit() {return false;};
 }
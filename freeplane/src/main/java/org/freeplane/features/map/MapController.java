@@ -31,10 +31,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -106,6 +108,11 @@ implements IExtension, NodeChangeAnnouncer{
 			setActionEnabled();
 		}
 
+		@Override
+		public boolean receivesChangesOnCommit() {
+			return true;
+		}
+
 		@Override
 		public void onDeselect(final NodeModel node) {
 		}
@@ -192,6 +199,11 @@ implements IExtension, NodeChangeAnnouncer{
 			setActionsSelected();
 		}
 
+		@Override
+		public boolean receivesChangesOnCommit() {
+			return true;
+		}
+
 		private void setActionsSelected() {
 			if (hasValidSelection())
 				runner.runLater();
@@ -309,6 +321,8 @@ implements IExtension, NodeChangeAnnouncer{
 
 // 	final private Controller controller;
 	final private Collection<IMapChangeListener> mapChangeListeners;
+	final private Map<MapModel, StructureChangeBatch> structureChangeBatches = new HashMap<>();
+	private NodeChangeTransaction nodeChangeTransaction;
 	final private Collection<IMapLifeCycleListener> mapLifeCycleListeners;
 	final private MapReader mapReader;
 	final private MapWriter mapWriter;
@@ -636,11 +650,91 @@ implements IExtension, NodeChangeAnnouncer{
 	}
 
 	private void fireNodeChanged(final NodeModel node, final NodeChangeEvent nodeChangeEvent) {
+		if (nodeChangeTransaction != null) {
+			nodeChangeTransaction.add(nodeChangeEvent);
+			final INodeChangeListener[] immediateListeners = this.nodeChangeListeners.stream()
+			    .filter(listener -> ! listener.receivesChangesOnCommit())
+			    .toArray(INodeChangeListener[]::new);
+			node.fireNodeChanged(immediateListeners, nodeChangeEvent, view -> ! view.receivesChangesOnCommit());
+			return;
+		}
 		final INodeChangeListener[] nodeChangeListeners = this.nodeChangeListeners.toArray(new INodeChangeListener[]{});
 	    node.fireNodeChanged(nodeChangeListeners, nodeChangeEvent);
 	}
 
+	/**
+	 * Starts buffering node changes for the listeners and views which receive changes on commit,
+	 * see {@link INodeChangeListener#receivesChangesOnCommit()}. Other listeners are notified immediately.
+	 * Transactions can be nested, each call must be followed by {@link #commitNodeChangeTransaction()}.
+	 * Transactions are only used on the event dispatch thread.
+	 */
+	public void startNodeChangeTransaction() {
+		if (nodeChangeTransaction == null)
+			nodeChangeTransaction = new NodeChangeTransaction();
+		nodeChangeTransaction.start();
+	}
+
+	/** delivers the buffered changes merged per node and property when the outermost transaction is committed */
+	public void commitNodeChangeTransaction() {
+		if (nodeChangeTransaction == null || ! nodeChangeTransaction.commit())
+			return;
+		final NodeChangeTransaction transaction = nodeChangeTransaction;
+		nodeChangeTransaction = null;
+		final INodeChangeListener[] listenersReceivingChangesOnCommit = this.nodeChangeListeners.stream()
+		    .filter(INodeChangeListener::receivesChangesOnCommit)
+		    .toArray(INodeChangeListener[]::new);
+		for (final NodeChangeEvent event : transaction.getEvents()) {
+			event.getNode().fireNodeChanged(listenersReceivingChangesOnCommit, event, INodeView::receivesChangesOnCommit);
+		}
+	}
+
+	public void executeNodeChangeTransaction(final Runnable changes) {
+		startNodeChangeTransaction();
+		try {
+			changes.run();
+		}
+		finally {
+			commitNodeChangeTransaction();
+		}
+	}
+
+	/**
+	 * Starts collecting structural changes of the map, batches can be nested.
+	 * Every call must be followed by a call of {@link #finishStructureChangeBatch(MapModel)}.
+	 */
+	public void startStructureChangeBatch(final MapModel map) {
+		structureChangeBatches.computeIfAbsent(map, StructureChangeBatch::new).start();
+		map.startCollectingCloneChanges();
+	}
+
+	/** notifies listeners about all changed parents when the outermost batch is finished */
+	public void finishStructureChangeBatch(final MapModel map) {
+		final StructureChangeBatch batch = structureChangeBatches.get(map);
+		if (batch == null || ! batch.finish())
+			return;
+		structureChangeBatches.remove(map);
+		map.fireCollectedCloneChanges();
+		if (batch.getChangedParents().isEmpty())
+			return;
+		final IMapChangeListener[] list = mapChangeListeners.toArray(new IMapChangeListener[]{});
+		for (final IMapChangeListener next : list) {
+			next.onStructureChangeBatchFinished(batch);
+		}
+		map.fireStructureChangeBatchFinished(batch);
+	}
+
+	public boolean isStructureChangeBatchRunning(final MapModel map) {
+		return structureChangeBatches.containsKey(map);
+	}
+
+	private void addStructureChange(final NodeModel parent, final int index) {
+		final StructureChangeBatch batch = structureChangeBatches.get(parent.getMap());
+		if (batch != null)
+			batch.addChange(parent, index);
+	}
+
 	protected void fireNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+		addStructureChange(nodeDeletionEvent.parent, nodeDeletionEvent.index);
 		final IMapChangeListener[] list = mapChangeListeners.toArray(new IMapChangeListener[]{});
 		for (final IMapChangeListener next : list) {
 			next.onNodeDeleted(nodeDeletionEvent);
@@ -651,6 +745,7 @@ implements IExtension, NodeChangeAnnouncer{
 
 	protected void fireNodeInserted(final NodeModel parent, final NodeModel child, final int index) {
 		parent.getMap().registryNodeRecursive(child);
+		addStructureChange(parent, index);
 		final IMapChangeListener[] list = mapChangeListeners.toArray(new IMapChangeListener[]{});
 		for (final IMapChangeListener next : list) {
 			next.onNodeInserted(parent, child, index);
@@ -658,6 +753,8 @@ implements IExtension, NodeChangeAnnouncer{
 	}
 
 	protected void fireNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+		addStructureChange(nodeMoveEvent.oldParent, nodeMoveEvent.oldIndex);
+		addStructureChange(nodeMoveEvent.newParent, nodeMoveEvent.newIndex);
 		final IMapChangeListener[] list = mapChangeListeners.toArray(new IMapChangeListener[]{});
 		for (final IMapChangeListener next : list) {
 			next.onNodeMoved(nodeMoveEvent);
@@ -1072,9 +1169,7 @@ implements IExtension, NodeChangeAnnouncer{
 			displayNode(node);
 		}
 		select(focussed);
-		for (final NodeModel node : selecteds) {
-			Controller.getCurrentController().getSelection().makeTheSelected(node);
-		}
+		Controller.getCurrentController().getSelection().addToSelection(selecteds);
 	}
 
 	public void setSaved(final MapModel mapModel, final boolean saved) {
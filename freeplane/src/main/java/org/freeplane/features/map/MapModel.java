@@ -21,15 +21,18 @@ package org.freeplane.features.map;
 
 import java.io.File;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.extension.SlotExtensionMap;
 import org.freeplane.core.util.Compat;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.icon.IconRegistry;
@@ -47,17 +50,20 @@ public class MapModel {
 	private final ExtensionContainer extensionContainer;
 	private IconRegistry iconRegistry;
 	final private List<IMapChangeListener> listeners;
-	final private Map<String, NodeModel> nodes;
+	final private NodeRegistry nodes;
+	private Map<String, UnloadedChildNodes> unloadedNodeIDs;
 	private boolean readOnly = false;
 	private NodeModel root;
 	private URL url;
 	private NodeChangeAnnouncer nodeChangeAnnouncer;
+	/** not null while a structure change batch is running */
+	private Set<NodeModel> nodesWithChangedClones = null;
 
 	public MapModel(IconRegistry iconRegistry, NodeChangeAnnouncer nodeChangeAnnouncer) {
-		extensionContainer = new ExtensionContainer(new HashMap<Class<? extends IExtension>, IExtension>());
+		extensionContainer = new ExtensionContainer(new SlotExtensionMap());
 		this.root = null;
 		listeners = new LinkedList<IMapChangeListener>();
-		nodes = new HashMap<String, NodeModel>();
+		nodes = new NodeRegistry();
 		this.iconRegistry = iconRegistry;
 		this.nodeChangeAnnouncer = nodeChangeAnnouncer;
 	}
@@ -109,20 +115,51 @@ public class MapModel {
 		}
 	}
 
+	void startCollectingCloneChanges() {
+		if (nodesWithChangedClones == null)
+			nodesWithChangedClones = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Returns true if the notification of the node about changes of its clones is deferred to the end of the running
+	 * structure change batch, so that each clone of a group grown or shrunk by many clones is notified only once.
+	 */
+	boolean deferCloneChange(final NodeModel node) {
+		if (nodesWithChangedClones == null)
+			return false;
+		nodesWithChangedClones.add(node);
+		return true;
+	}
+
+	void fireCollectedCloneChanges() {
+		final Set<NodeModel> changedNodes = nodesWithChangedClones;
+		nodesWithChangedClones = null;
+		if (changedNodes == null)
+			return;
+		for (final NodeModel node : changedNodes)
+			node.fireNodeChanged(new NodeChangeEvent(node, NodeModel.UNKNOWN_PROPERTY, null, null, false, false));
+	}
+
+	void fireStructureChangeBatchFinished(final StructureChangeBatch batch) {
+		for (final IMapChangeListener listener : listeners.toArray(new IMapChangeListener[]{})) {
+			listener.onStructureChangeBatchFinished(batch);
+		}
+	}
+
 	public String generateNodeID(final String proposedID) {
-		if (proposedID != null && !"".equals(proposedID) && getNodeForID(proposedID) == null) {
+		if (proposedID != null && !"".equals(proposedID) && getNodeForID(proposedID) == null
+		        && (unloadedNodeIDs == null || !unloadedNodeIDs.containsKey(proposedID))) {
 			return proposedID;
 		}
-		String returnValue;
+		int number;
 		do {
-			final String prefix = "ID_";
-			/*
-			 * The prefix is to enable the id to be an ID in the sense of
-			 * XML/DTD.
-			 */
-			returnValue = prefix + Integer.toString(ran.nextInt(UNDEFINED_NODE_ID));
-		} while (nodes.containsKey(returnValue));
-		return returnValue;
+			number = ran.nextInt(UNDEFINED_NODE_ID);
+		} while (nodes.contains(number));
+		/*
+		 * The prefix is to enable the id to be an ID in the sense of
+		 * XML/DTD.
+		 */
+		return NodeRegistry.formatId(number);
 	}
 
 	public <T extends IExtension> T getExtension(final Class<T> clazz) {
@@ -149,10 +186,40 @@ public class MapModel {
 	 * @return
 	 */
 	public NodeModel getNodeForID(final String nodeID) {
-		final NodeModel node = nodes.get(nodeID);
+		NodeModel node = nodes.get(nodeID);
+		if (node == null && unloadedNodeIDs != null) {
+			UnloadedChildNodes loadedChildNodes = null;
+			for (UnloadedChildNodes unloadedChildNodes = unloadedNodeIDs.get(nodeID);
+					unloadedChildNodes != null && unloadedChildNodes != loadedChildNodes;
+					unloadedChildNodes = unloadedNodeIDs.get(nodeID)) {
+				unloadedChildNodes.load();
+				loadedChildNodes = unloadedChildNodes;
+			}
+			node = nodes.get(nodeID);
+		}
 		return node;
 	}
 
+	synchronized void reserveUnloadedNodeID(final String nodeID, final UnloadedChildNodes unloadedChildNodes) {
+		if (unloadedNodeIDs == null) {
+			unloadedNodeIDs = new ConcurrentHashMap<String, UnloadedChildNodes>();
+		}
+		unloadedNodeIDs.put(nodeID, unloadedChildNodes);
+		if (nodes.get(nodeID) == null) {
+			nodes.put(nodeID, null);
+		}
+	}
+
+	/** drops nodes partially created from xml text which could not be parsed and reserves their ID again */
+	synchronized void resetUnloadedNodeID(final String nodeID, final UnloadedChildNodes unloadedChildNodes) {
+		nodes.put(nodeID, null);
+		reserveUnloadedNodeID(nodeID, unloadedChildNodes);
+	}
+
+	void releaseUnloadedNodeID(final String nodeID, final UnloadedChildNodes unloadedChildNodes) {
+		unloadedNodeIDs.remove(nodeID, unloadedChildNodes);
+	}
+
 	public int getNumberOfChangesSinceLastSave() {
 		return changesPerformedSinceLastSave;
 	}
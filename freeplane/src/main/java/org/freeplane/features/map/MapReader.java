@@ -21,8 +21,13 @@ package org.freeplane.features.map;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.ReadManager;
@@ -43,6 +48,7 @@ public class MapReader implements IElementDOMHandler {
 		private final Map<Object, Object> hints;
 		private NodeModel mapChild = null;
 		private final Map<String, String> newIds;
+		private final Set<NodeModel> nodesWithChildrenToLoad;
 
 		public NodeTreeCreator() {
 			this(new HashMap<Object, Object>());
@@ -51,15 +57,20 @@ public class MapReader implements IElementDOMHandler {
 		public NodeTreeCreator(Map<Object, Object> hints) {
 			super();
 			newIds = new HashMap<String, String>();
+			nodesWithChildrenToLoad = new LinkedHashSet<NodeModel>();
 			this.hints = hints;
         }
 
 		public NodeModel create(final Reader pReader) throws XMLException {
+			return create(createdMap, pReader);
+		}
+
+		private NodeModel create(final Object parent, final Reader pReader) throws XMLException {
 			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
 			final TreeXmlReader reader = new TreeXmlReader(readManager);
 			try {
 				nodeTreeCreator = this;
-				reader.load(createdMap, pReader);
+				reader.load(parent, pReader);
 				final NodeModel node = nodeBuilder.getMapChild();
 				return node;
 			}
@@ -81,6 +92,16 @@ public class MapReader implements IElementDOMHandler {
 			}
 		}
 
+		void createChildNodesFromXml(final MapModel map, final NodeModel parent, final List<String> childNodesXml)
+		        throws XMLException {
+			synchronized(this) {
+				start(map);
+				for (final String childNodeXml : childNodesXml)
+					create(parent, new StringReader(childNodeXml));
+				finish(parent);
+			}
+		}
+
 		public void finish(final NodeModel node) {
 			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
 			try {
@@ -92,6 +113,15 @@ public class MapReader implements IElementDOMHandler {
 			finally {
 				nodeTreeCreator = oldNodeTreeCreator;
 			}
+			final List<NodeModel> nodes = new ArrayList<NodeModel>(nodesWithChildrenToLoad);
+			nodesWithChildrenToLoad.clear();
+			for (final NodeModel nodeWithChildrenToLoad : nodes)
+				UnloadedChildNodes.load(nodeWithChildrenToLoad);
+		}
+
+		/** child nodes kept as xml text are loaded when reading is completed */
+		void loadAfterReading(final NodeModel node) {
+			nodesWithChildrenToLoad.add(node);
 		}
 
 		void start(final MapModel map) {
@@ -175,6 +205,19 @@ public class MapReader implements IElementDOMHandler {
 		}
 	}
 
+	/** parses the given node elements and inserts them into the parent node */
+	void createChildNodesFromXml(final NodeModel parent, final List<String> childNodesXml, final Map<Object, Object> hints)
+	        throws XMLException {
+		final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
+		try {
+			nodeTreeCreator = new NodeTreeCreator(hints);
+			nodeTreeCreator.createChildNodesFromXml(parent.getMap(), parent, childNodesXml);
+		}
+		finally {
+			nodeTreeCreator = oldNodeTreeCreator;
+		}
+	}
+
 	@Override
 	public void endElement(final Object parent, final String tag, final Object element, final XMLElement dom) {
 		final MapModel map = (MapModel) element;
@@ -142,6 +142,10 @@ public class MapWriter implements IElementWriter, IAttributeWriter {
 	}
 
 	TreeXmlWriter createTreeWriter(final Writer writer) {
+		return createTreeWriter(writeManager, writer);
+	}
+
+	TreeXmlWriter createTreeWriter(final WriteManager writeManager, final Writer writer) {
 		return new TreeXmlWriter(writeManager, writer, //
 			ResourceController.getResourceController().getBooleanProperty("useAsciiCharset"));
 	}
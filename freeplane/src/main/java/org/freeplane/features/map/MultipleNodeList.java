@@ -19,9 +19,9 @@
  */
 package org.freeplane.features.map;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.LinkedList;
 
 import org.freeplane.features.map.NodeModel.CloneType;
 
@@ -35,14 +35,18 @@ public class MultipleNodeList implements Clones {
 		this.cloneType = cloneType;
 	}
 
-	LinkedList<NodeModel> nodes = new LinkedList<NodeModel>();
+	ArrayList<NodeModel> nodes = new ArrayList<NodeModel>();
 	public Clones add(NodeModel nodeModel) {
 		nodes.add(nodeModel);
 		return this;
 	}
 
 	public Clones remove(NodeModel nodeModel) {
-		nodes.remove(nodeModel);
+		for(int i = nodes.size() - 1; i >= 0; i--)
+			if(nodes.get(i) == nodeModel) {
+				nodes.remove(i);
+				break;
+			}
 		if(nodes.size() == 1)
 			return new SingleNodeList(head(), cloneType);
 		else
@@ -25,6 +25,7 @@ import java.util.Map;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IReadCompletionListener;
+import org.freeplane.core.io.IUnparsedElementHandler;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.UnknownElements;
 import org.freeplane.core.io.xml.TreeXmlReader;
@@ -53,6 +54,32 @@ public class NodeBuilder implements IElementDOMHandler {
 		}
 	}
 
+	/** keeps the child nodes of folded nodes unparsed if enabled */
+	private class FoldedChildNodeBuilder implements IUnparsedElementHandler {
+		@Override
+		public Object createElement(final Object parent, final String tag, final XMLElement attributes) {
+			if (!(parent instanceof NodeModel)) {
+				return null;
+			}
+			final NodeModel parentNode = (NodeModel) parent;
+			if (!parentNode.isFolded() || parentNode.isRoot() || !UnloadedChildNodes.canAdd(parentNode)
+			        || !Mode.FILE.equals(mapReader.getCurrentNodeTreeCreator().getHint(Hint.MODE))
+			        || !ResourceController.getResourceController().getBooleanProperty(
+			            UnloadedChildNodes.LOAD_FOLDED_BRANCHES_LAZILY_PROPERTY)) {
+				return null;
+			}
+			return parentNode;
+		}
+
+		@Override
+		public void endElement(final Object parent, final String tag, final Object element, final String xml) {
+			final NodeModel parentNode = (NodeModel) parent;
+			UnloadedChildNodes.add(parentNode, mapReader, xml);
+			if (UnloadedChildNodes.containsMapLevelElements(xml))
+				mapReader.getCurrentNodeTreeCreator().loadAfterReading(parentNode);
+		}
+	}
+
 	static class IconProperties {
 		String iconName;
 	}
@@ -261,6 +288,7 @@ public class NodeBuilder implements IElementDOMHandler {
 	 */
 	public void registerBy(final ReadManager reader) {
 		registerAttributeHandlers(reader);
+		reader.addUnparsedElementHandler(NodeBuilder.XML_NODE, new FoldedChildNodeBuilder());
 		reader.addElementHandler(NodeBuilder.XML_NODE, this);
 		reader.addElementHandler(NodeBuilder.XML_STYLENODE, this);
 	}
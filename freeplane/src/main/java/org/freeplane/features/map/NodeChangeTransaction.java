@@ -0,0 +1,38 @@
+package org.freeplane.features.map;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.freeplane.features.map.MapController.NodeRefreshKey;
+
+/**
+ * Buffers node change events merged per node and property until the outermost transaction is committed.
+ * A merged event keeps the old value of the first change and the new value of the last change.
+ */
+class NodeChangeTransaction {
+	final private Map<NodeRefreshKey, NodeChangeEvent> events = new LinkedHashMap<>();
+	private int depth = 0;
+
+	void start() {
+		depth++;
+	}
+
+	boolean commit() {
+		return --depth == 0;
+	}
+
+	void add(NodeChangeEvent event) {
+		events.merge(new NodeRefreshKey(event.getNode(), event.getProperty()), event, NodeChangeTransaction::merge);
+	}
+
+	Collection<NodeChangeEvent> getEvents() {
+		return events.values();
+	}
+
+	private static NodeChangeEvent merge(NodeChangeEvent first, NodeChangeEvent last) {
+		return new NodeChangeEvent(first.getNode(), first.getProperty(), first.getOldValue(), last.getNewValue(),
+		    first.setsDirtyFlag() || last.setsDirtyFlag(),
+		    first.updatesModificationTime() || last.updatesModificationTime());
+	}
+}
@@ -30,6 +30,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.IExtension;
@@ -67,6 +68,7 @@ public class NodeModel{
 	public static final String NODE_ICON = "icon";
 	public static final String NODE_ICON_SIZE = "icon_size";
 	static public final Object HYPERLINK_CHANGED = "hyperlink_changed";
+	private static final List<NodeModel> NO_CHILDREN = Collections.emptyList();
 
 	private List<NodeModel> children;
 	private NodeModel parent;
@@ -74,17 +76,70 @@ public class NodeModel{
 	private MapModel map = null;
 	private int position = NodeModel.UNKNOWN_POSITION;
 	private NodeModel preferredChild;
+	/** position in the child list of the parent when it was last numbered, verified before use */
+	private int indexInParent = -1;
+	/** children before this position keep their numbers, the ones after an insertion or a removal are renumbered on demand */
+	private int numberedChildCount = 0;
 	private Collection<INodeView> views = null;
 
 	private SharedNodeData sharedData;
+	/** null as long as the node has no clones, its attachment state is kept in {@link #attached} then */
 	private Clones[] clones;
+	private boolean attached;
 
 	void setClones(Clones clones) {
+		setClones(clones, true);
+	}
+
+	/** members of a changed group are notified once, or once per structure change batch, see {@link MapModel#deferCloneChange(NodeModel)} */
+	void setClones(Clones clones, boolean notifyClones) {
+		if(this.clones == null)
+			this.clones = new Clones[]{defaultClones(TREE), defaultClones(CONTENT)};
 		this.clones[clones.getCloneType().ordinal()] = clones;
+		releaseDefaultClones();
+		if(! notifyClones)
+			return;
+		final MapModel map = getMap();
+		NodeChangeEvent event = null;
 		for(NodeModel clone : clones)
-			clone.fireNodeChanged(new NodeChangeEvent(this, NodeModel.UNKNOWN_PROPERTY, null, null, false, false));
+			if(map == null || ! map.deferCloneChange(clone)) {
+				if(event == null)
+					event = new NodeChangeEvent(this, NodeModel.UNKNOWN_PROPERTY, null, null, false, false);
+				clone.fireNodeChanged(event);
+			}
+	}
+
+	/** true if the node keeps clone lists, which is only needed while it has clones */
+	boolean keepsCloneLists() {
+		return clones != null;
+	}
+
+	private Clones defaultClones(CloneType cloneType) {
+		return attached ? new SingleNodeList(this, cloneType) : new DetachedNodeList(this, cloneType);
 	}
 
+	private void releaseDefaultClones() {
+		final Clones treeClones = clones[TREE_CLONE_INDEX];
+		final Clones contentClones = clones[CONTENT_CLONE_INDEX];
+		if(isSingleNodeListOfThis(treeClones) && isSingleNodeListOfThis(contentClones)) {
+			attached = true;
+			clones = null;
+		}
+		else if(isDetachedNodeListOfThis(treeClones) && isDetachedNodeListOfThis(contentClones)) {
+			attached = false;
+			clones = null;
+		}
+	}
+
+	private boolean isSingleNodeListOfThis(Clones clones) {
+		return clones instanceof SingleNodeList && clones.head() == this;
+	}
+
+	private boolean isDetachedNodeListOfThis(Clones clones) {
+		return clones instanceof DetachedNodeList && ((DetachedNodeList)clones).isUnclonedNode(this);
+	}
+
+
 	public Object getUserObject() {
 		return sharedData.getUserObject();
 	}
@@ -95,16 +150,15 @@ public class NodeModel{
 
 	public NodeModel(final Object userObject, final MapModel map) {
 		this.map = map;
-		children = new ArrayList<NodeModel>();
+		children = NO_CHILDREN;
 		sharedData = new SharedNodeData();
 		init(userObject);
-		clones = new Clones[]{new DetachedNodeList(this, TREE), new DetachedNodeList(this, CONTENT)};
 	}
 
 	private NodeModel(NodeModel toBeCloned, CloneType cloneType){
 		this.map = toBeCloned.map;
 		this.sharedData = toBeCloned.sharedData;
-		children = new ArrayList<NodeModel>();
+		children = NO_CHILDREN;
 		clones = new Clones[]{new DetachedNodeList(this, cloneType == TREE ? toBeCloned : this, TREE), new DetachedNodeList(this, toBeCloned, CONTENT)};
 	}
 
@@ -160,8 +214,16 @@ public class NodeModel{
 
 	protected void setChildrenInternal(List<NodeModel> chidren) {
 	    this.children = chidren;
+	    numberedChildCount = 0;
     }
 
+	private List<NodeModel> modifiableChildren() {
+		if (children == NO_CHILDREN) {
+			children = new ArrayList<NodeModel>();
+		}
+		return children;
+	}
+
 	public Enumeration<NodeModel> children() {
 		final Iterator<NodeModel> i = getChildrenInternal().iterator();
 		return new Enumeration<NodeModel>() {
@@ -189,12 +251,18 @@ public class NodeModel{
 	}
 
 	public void fireNodeChanged(final NodeChangeEvent nodeChangeEvent) {
+		fireNodeChanged(nodeChangeEvent, view -> true);
+	}
+
+	private void fireNodeChanged(final NodeChangeEvent nodeChangeEvent, final Predicate<INodeView> viewFilter) {
 		if (views == null) {
 			return;
 		}
 		final Iterator<INodeView> iterator = views.iterator();
 		while (iterator.hasNext()) {
-			iterator.next().nodeChanged(nodeChangeEvent);
+			final INodeView view = iterator.next();
+			if (viewFilter.test(view))
+				view.nodeChanged(nodeChangeEvent);
 		}
 	}
 
@@ -270,7 +338,20 @@ public class NodeModel{
 	}
 
 	public int getIndex(final NodeModel node) {
-		return children.indexOf(node);
+		final List<NodeModel> children = this.children;
+		final int childCount = children.size();
+		final int numberedChildCount = Math.min(this.numberedChildCount, childCount);
+		final int cachedIndex = node.indexInParent;
+		if (cachedIndex >= 0 && cachedIndex < childCount && children.get(cachedIndex) == node)
+			return cachedIndex;
+		for (int index = numberedChildCount; index < childCount; index++) {
+			final NodeModel child = children.get(index);
+			child.indexInParent = index;
+			this.numberedChildCount = index + 1;
+			if (child == node)
+				return index;
+		}
+		return -1;
 	}
 
 	public MapModel getMap() {
@@ -342,12 +423,14 @@ public class NodeModel{
 		final NodeModel childNode = child;
 		if (index < 0) {
 			index = getChildCount();
-			children.add(index, child);
+			modifiableChildren().add(index, child);
 		}
 		else {
-			children.add(index, child);
+			modifiableChildren().add(index, child);
 			preferredChild = childNode;
 		}
+		child.indexInParent = index;
+		numberedChildCount = Math.min(numberedChildCount, index);
 		child.setParent(this);
 		fireNodeInserted(childNode, getIndex(child));
 	}
@@ -439,6 +522,7 @@ public class NodeModel{
 		}
 		child.setParent(null);
 		children.remove(index);
+		numberedChildCount = Math.min(numberedChildCount, index);
 		fireNodeRemoved(child, index);
     }
 
@@ -492,7 +576,7 @@ public class NodeModel{
 	public void setLeft(final boolean isLeft) {
 		position = isLeft ? NodeModel.LEFT_POSITION : NodeModel.RIGHT_POSITION;
 		if (!isRoot()) {
-			for (final NodeModel child : children) {
+			for (final NodeModel child : loadedChildren()) {
 				if (child.position != position) {
 					child.setLeft(isLeft);
 				}
@@ -520,31 +604,53 @@ public class NodeModel{
 
 	void attach() {
 		attachClones();
-	    for(NodeModel child : children)
+	    for(NodeModel child : loadedChildren())
 	    	child.attach();
     }
 
+	/** child nodes which are not loaded yet are attached when they are loaded */
+	private List<NodeModel> loadedChildren() {
+		return children instanceof UnloadedChildNodes ? NO_CHILDREN : children;
+	}
+
 	private void attachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.attach();
+		if(clones == null) {
+			if(! attached) {
+				attached = true;
+				fireNodeChanged(new NodeChangeEvent(this, NodeModel.UNKNOWN_PROPERTY, null, null, false, false));
+			}
+			return;
+		}
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).attach();
 	}
 
 	private void detach() {
 		detachClones();
-	    for(NodeModel child : children)
+	    for(NodeModel child : loadedChildren())
 	    	child.detach();
     }
 
 	private void detachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.detach(this);
+		if(clones == null) {
+			attached = false;
+			return;
+		}
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).detach(this);
 	}
 
 
 	boolean isAttached() {
-	    return clones[0].size() != 0;
+	    return cloneCount(TREE_CLONE_INDEX) != 0;
     }
 
+	private int cloneCount(int cloneTypeIndex) {
+		if(clones == null)
+			return attached ? 1 : 0;
+		return clones[cloneTypeIndex].size();
+	}
+
 	public final void setText(final String text) {
 		sharedData.setText(text);
 	}
@@ -591,17 +697,28 @@ public class NodeModel{
     }
 
 	void fireNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
+		fireNodeChanged(nodeChangeListeners, nodeChangeEvent, view -> true);
+	}
+
+	void fireNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent,
+	                     final Predicate<INodeView> viewFilter) {
+		if(clones == null) {
+			if(attached)
+				fireSingleNodeChanged(nodeChangeListeners, nodeChangeEvent.forNode(this), viewFilter);
+			return;
+		}
 		for(NodeModel node : clones[CONTENT.ordinal()]){
 			final NodeChangeEvent cloneEvent = nodeChangeEvent.forNode(node);
-			node.fireSingleNodeChanged(nodeChangeListeners, cloneEvent);
+			node.fireSingleNodeChanged(nodeChangeListeners, cloneEvent, viewFilter);
 		}
 	}
 
-	private void fireSingleNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
+	private void fireSingleNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent,
+	                                   final Predicate<INodeView> viewFilter) {
 	    for (final INodeChangeListener listener : nodeChangeListeners) {
 			listener.nodeChanged(nodeChangeEvent);
 		}
-		fireNodeChanged(nodeChangeEvent);
+		fireNodeChanged(nodeChangeEvent, viewFilter);
     }
 
     public NodeModel cloneTree(){
@@ -630,6 +747,8 @@ public class NodeModel{
 
 	public void convertToClone(NodeModel node, CloneType cloneType) {
 		sharedData = node.sharedData;
+		if(clones == null)
+			clones = new Clones[]{defaultClones(TREE), defaultClones(CONTENT)};
 		if(cloneType == TREE)
 			this.clones[TREE.ordinal()] = new DetachedNodeList(this, node, TREE);
 		this.clones[CONTENT.ordinal()] = new DetachedNodeList(this, node, CONTENT);
@@ -644,6 +763,8 @@ public class NodeModel{
     }
 
 	Clones clones(final CloneType cloneType) {
+		if(clones == null)
+			return defaultClones(cloneType);
 		return clones[cloneType.ordinal()];
 	}
 
@@ -674,12 +795,12 @@ public class NodeModel{
     }
 
 	public boolean isCloneTreeRoot(){
-		return parent != null && parent.clones[TREE_CLONE_INDEX].size() < clones[TREE_CLONE_INDEX].size()
-				|| clones[TREE_CLONE_INDEX].size() == 1 && clones[CONTENT_CLONE_INDEX].size() > 1;
+		return parent != null && parent.cloneCount(TREE_CLONE_INDEX) < cloneCount(TREE_CLONE_INDEX)
+				|| cloneCount(TREE_CLONE_INDEX) == 1 && cloneCount(CONTENT_CLONE_INDEX) > 1;
 	}
 
 	public boolean isCloneTreeNode(){
-		return parent != null && clones[TREE_CLONE_INDEX].size() > 1 && parent.clones[TREE_CLONE_INDEX].size() == clones[TREE_CLONE_INDEX].size();
+		return parent != null && cloneCount(TREE_CLONE_INDEX) > 1 && parent.cloneCount(TREE_CLONE_INDEX) == cloneCount(TREE_CLONE_INDEX);
 	}
 
 	public int nextNodeIndex(int index, final boolean leftSide) {
@@ -718,9 +839,12 @@ public class NodeModel{
 		Clones[] clonesSwap = clones;
 		this.clones = duplicate.clones;
 		duplicate.clones = clonesSwap;
-		for(CloneType cloneType : CloneType.values()) {
-			final DetachedNodeList detachedClone = (DetachedNodeList) clones[cloneType.ordinal()];
-			clones[cloneType.ordinal()] = detachedClone.forClone(this);
+		if(clones != null) {
+			for(CloneType cloneType : CloneType.values()) {
+				final DetachedNodeList detachedClone = (DetachedNodeList) clones[cloneType.ordinal()];
+				clones[cloneType.ordinal()] = detachedClone.forClone(this);
+			}
+			releaseDefaultClones();
 		}
 
 		this.attachClones();
@@ -0,0 +1,113 @@
+package org.freeplane.features.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps node ids to nodes.
+ * Ids of the form ID_&lt;number&gt; are kept as int keys of an open addressing table,
+ * other ids go to a side map.
+ * Registered ids stay known after their node is removed, so that generated ids are not reused.
+ */
+class NodeRegistry {
+	static final String ID_PREFIX = "ID_";
+	private static final int NO_NUMBER = -1;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] numbers;
+	private NodeModel[] nodes;
+	private int size;
+	private final Map<String, NodeModel> otherIds;
+
+	NodeRegistry() {
+		numbers = new int[INITIAL_CAPACITY];
+		Arrays.fill(numbers, NO_NUMBER);
+		nodes = new NodeModel[INITIAL_CAPACITY];
+		otherIds = new HashMap<String, NodeModel>();
+	}
+
+	/** Returns the number of an id of the form ID_&lt;number&gt; written without leading zeros, otherwise -1. */
+	static int parseNumber(final String id) {
+		final int length = id.length();
+		final int prefixLength = ID_PREFIX.length();
+		if (length <= prefixLength || length > prefixLength + 10 || !id.startsWith(ID_PREFIX))
+			return NO_NUMBER;
+		if (id.charAt(prefixLength) == '0' && length > prefixLength + 1)
+			return NO_NUMBER;
+		long number = 0;
+		for (int i = prefixLength; i < length; i++) {
+			final char c = id.charAt(i);
+			if (c < '0' || c > '9')
+				return NO_NUMBER;
+			number = number * 10 + (c - '0');
+		}
+		return number <= Integer.MAX_VALUE ? (int) number : NO_NUMBER;
+	}
+
+	static String formatId(final int number) {
+		return ID_PREFIX + Integer.toString(number);
+	}
+
+	NodeModel get(final String id) {
+		final int number = parseNumber(id);
+		if (number == NO_NUMBER)
+			return otherIds.get(id);
+		return nodes[slotOf(number)];
+	}
+
+	boolean contains(final String id) {
+		final int number = parseNumber(id);
+		if (number == NO_NUMBER)
+			return otherIds.containsKey(id);
+		return contains(number);
+	}
+
+	boolean contains(final int number) {
+		return numbers[slotOf(number)] == number;
+	}
+
+	/** Registers the node for the id, null reserves the id. Returns the previously registered node. */
+	NodeModel put(final String id, final NodeModel node) {
+		final int number = parseNumber(id);
+		if (number == NO_NUMBER)
+			return otherIds.put(id, node);
+		int slot = slotOf(number);
+		if (numbers[slot] != number) {
+			if ((size + 1) * 4 > numbers.length * 3) {
+				resize(numbers.length * 2);
+				slot = slotOf(number);
+			}
+			numbers[slot] = number;
+			size++;
+		}
+		final NodeModel old = nodes[slot];
+		nodes[slot] = node;
+		return old;
+	}
+
+	private int slotOf(final int number) {
+		final int mask = numbers.length - 1;
+		final int hash = number * 0x9E3779B9;
+		int slot = (hash ^ hash >>> 16) & mask;
+		while (numbers[slot] != NO_NUMBER && numbers[slot] != number)
+			slot = (slot + 1) & mask;
+		return slot;
+	}
+
+	private void resize(final int capacity) {
+		final int[] oldNumbers = numbers;
+		final NodeModel[] oldNodes = nodes;
+		numbers = new int[capacity];
+		Arrays.fill(numbers, NO_NUMBER);
+		nodes = new NodeModel[capacity];
+		for (int i = 0; i < oldNumbers.length; i++) {
+			final int number = oldNumbers[i];
+			if (number != NO_NUMBER) {
+				final int slot = slotOf(number);
+				numbers[slot] = number;
+				nodes[slot] = oldNodes[i];
+			}
+		}
+	}
+}
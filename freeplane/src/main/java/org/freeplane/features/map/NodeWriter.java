@@ -21,6 +21,7 @@ package org.freeplane.features.map;
 
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.freeplane.api.LengthUnit;
@@ -34,6 +35,7 @@ import org.freeplane.core.resources.ResourceController;
 import org.freeplane.features.filter.FilterController;
 import org.freeplane.features.icon.IconController;
 import org.freeplane.features.link.LinkBuilder;
+import org.freeplane.features.link.LinkController;
 import org.freeplane.features.map.MapWriter.Hint;
 import org.freeplane.features.map.MapWriter.Mode;
 import org.freeplane.features.map.MapWriter.WriterHint;
@@ -74,15 +76,55 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 	}
 
 	private void saveChildren(final ITreeWriter writer, final NodeModel node) throws IOException {
-		for (final NodeModel child: node.getChildren()) {
-		if (writeInvisible || child.isVisible(FilterController.getFilter(node.getMap()))) {
-				writer.setHint(WriterHint.ALREADY_WRITTEN, isAlreadyWritten(child));
-				writer.addElement(child, nodeTag);
+		final List<String> unparsedChildNodes = unparsedChildNodes(writer, node);
+		if (unparsedChildNodes != null) {
+			for (final String childNodeXml : unparsedChildNodes) {
+				writer.addElementContent(childNodeXml + System.lineSeparator());
 			}
-			else {
-				saveChildren(writer, child);
+			if (!UnloadedChildNodes.hasFailedToLoad(node))
+				return;
+		}
+		if (node.isRoot() && writeInvisible) {
+			final ConcurrentBranchWriter branchWriter = ConcurrentBranchWriter.create(mapController, this, writer, node);
+			if (branchWriter != null) {
+				branchWriter.writeBranches(writer, node);
+				return;
 			}
 		}
+		for (final NodeModel child: node.getChildren()) {
+			saveChild(writer, node, child);
+		}
+	}
+
+	void saveChild(final ITreeWriter writer, final NodeModel node, final NodeModel child) throws IOException {
+		if (writeInvisible || child.isVisible(FilterController.getFilter(node.getMap()))) {
+			writer.setHint(WriterHint.ALREADY_WRITTEN, isAlreadyWritten(child));
+			writer.addElement(child, nodeTag);
+		}
+		else {
+			saveChildren(writer, child);
+		}
+	}
+
+	/** children which were not loaded yet are saved as they were read unless saving could change them */
+	private List<String> unparsedChildNodes(final ITreeWriter writer, final NodeModel node) {
+		final List<String> unparsedChildNodes = UnloadedChildNodes.unparsedChildNodes(node);
+		if (unparsedChildNodes == null)
+			return null;
+		if (UnloadedChildNodes.hasFailedToLoad(node))
+			return unparsedChildNodes;
+		if (!writeInvisible || !writeFolded || !Mode.FILE.equals(mode(writer))
+		        || Boolean.TRUE.equals(writer.getHint(WriterHint.FORCE_FORMATTING))) {
+			// the children are loaded here so that the xml text of children which can not be parsed is kept
+			UnloadedChildNodes.load(node);
+			return UnloadedChildNodes.hasFailedToLoad(node) ? UnloadedChildNodes.unparsedChildNodes(node) : null;
+		}
+		return unparsedChildNodes;
+	}
+
+	NodeWriter createBranchWriter() {
+		final LinkBuilder branchLinkBuilder = new LinkBuilder(mapController.getModeController().getExtension(LinkController.class));
+		return new NodeWriter(mapController, branchLinkBuilder, nodeTag, shouldWriteChildren, writeInvisible);
 	}
 
 	/*
@@ -195,7 +237,8 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 				writer.addElement(null, xmlNode.getChildAtIndex(i));
 			}
 		}
-		if (mayWriteChildren && shouldWriteChildren && node.getChildren().size()>0) {
+		if (mayWriteChildren && shouldWriteChildren
+		        && (node.getChildren().size()>0 || UnloadedChildNodes.hasFailedToLoad(node))) {
 			saveChildren(writer, node);
 		}
 	}
@@ -213,6 +256,11 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		writeManager.addAttributeWriter(getNodeTag(), this);
 	}
 
+	boolean replaceIn(WriteManager writeManager, NodeWriter replacedWriter) {
+		return writeManager.getElementWriters().replace(getNodeTag(), replacedWriter, this)
+				&& writeManager.getAttributeWriters().replace(getNodeTag(), replacedWriter, this);
+	}
+
 	void unregisterFrom(WriteManager writeManager) {
 		writeManager.removeElementWriter(getNodeTag(), this);
 		writeManager.removeAttributeWriter(getNodeTag(), this);
@@ -0,0 +1,45 @@
+package org.freeplane.features.map;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the parents whose children were inserted, deleted or moved while a batch of structural changes was running.
+ * Listeners can skip expensive per node updates while the batch runs and update each changed parent once
+ * on {@link IMapChangeListener#onStructureChangeBatchFinished(StructureChangeBatch)}.
+ */
+public class StructureChangeBatch {
+	final public MapModel map;
+	final private Map<NodeModel, Integer> firstChangedIndices;
+	private int depth;
+
+	StructureChangeBatch(MapModel map) {
+		super();
+		this.map = map;
+		this.firstChangedIndices = new LinkedHashMap<>();
+		this.depth = 0;
+	}
+
+	public Collection<NodeModel> getChangedParents() {
+		return firstChangedIndices.keySet();
+	}
+
+	/** lowest child index of the parent which was inserted, deleted or moved */
+	public int getFirstChangedIndex(NodeModel parent) {
+		final Integer index = firstChangedIndices.get(parent);
+		return index != null ? index : -1;
+	}
+
+	void addChange(NodeModel parent, int index) {
+		firstChangedIndices.merge(parent, index, Math::min);
+	}
+
+	void start() {
+		depth++;
+	}
+
+	boolean finish() {
+		return --depth == 0;
+	}
+}
@@ -0,0 +1,25 @@
+package org.freeplane.features.map;
+
+/**
+ * Estimates the memory held by a subtree, for example by undo entries keeping deleted nodes.
+ *
+ * Children which are not loaded yet are estimated from the length of their xml text without loading them.
+ */
+public class SubtreeSizeEstimator {
+	private static final int BYTES_PER_XML_CHARACTER = 2;
+	private final long nodeSize;
+
+	public SubtreeSizeEstimator(final long nodeSize) {
+		this.nodeSize = nodeSize;
+	}
+
+	public long estimate(final NodeModel node) {
+		long size = nodeSize;
+		final long unloadedXmlLength = UnloadedChildNodes.unloadedXmlLength(node);
+		if (unloadedXmlLength >= 0)
+			return size + unloadedXmlLength * BYTES_PER_XML_CHARACTER;
+		for (final NodeModel child : node.getChildrenInternal())
+			size += estimate(child);
+		return size;
+	}
+}
@@ -1,6 +1,7 @@
 package org.freeplane.features.map;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -16,6 +17,8 @@ public class SummaryLevels{
 	public  final int highestSummaryLevel;
 	public  final boolean[] sides;
 	private final NodeModel parentNode;
+	private int[] summaryNodeIndices;
+	private int[] groupBeginNodeIndices;
 	
 	public SummaryLevels(NodeModel parentNode) {
 		this(parentNode, TRANSPARENT_FILTER, false);
@@ -100,19 +103,9 @@ public class SummaryLevels{
 	}
 
 	public int findSummaryNodeIndex(int index) {
-		final int nodeLevel = summaryLevels[index];
-		final boolean leftSide = parentNode.getChildAt(index).isLeft();
-		for (int i = index + 1; i < parentNode.getChildCount(); i++){
-			final int level = summaryLevels[i];
-			if(level == nodeLevel && SummaryNode.isFirstGroupNode(parentNode.getChildAt(i)))
-				return NODE_NOT_FOUND;
-			if(level > nodeLevel) {
-				final NodeModel summaryNode = parentNode.getChildAt(i);
-				if(summaryNode.isLeft() == leftSide)
-					return i;
-			}
-		}
-		return NODE_NOT_FOUND;
+		if(summaryNodeIndices == null)
+			findGroups();
+		return summaryNodeIndices[index];
 	}
 	
 	public NodeModel findGroupBeginNode(int index) {
@@ -123,27 +116,79 @@ public class SummaryLevels{
 	public int findGroupBeginNodeIndex(int index) {
 		if(index < 0)
 			return NODE_NOT_FOUND;
-		int nodeLevel = summaryLevels[index];
-		final boolean leftSide = parentNode.getChildAt(index).isLeft();
-		for (int i = index; i >= 0; i--){
-			final int level = summaryLevels[i];
-			final NodeModel groupBeginNode = parentNode.getChildAt(i);
-			if(groupBeginNode.isLeft() == leftSide) {
-				if(level > nodeLevel) {
-					return parentNode.nextNodeIndex(i, leftSide);
-				}
-				if(level == nodeLevel) {
-					if(SummaryNode.isFirstGroupNode(groupBeginNode))
-						return i;
-				}
+		if(groupBeginNodeIndices == null)
+			findGroups();
+		return groupBeginNodeIndices[index];
+	}
+
+	/** Finds summary and group begin nodes of all children in linear time, so that layout can query them for each child. */
+	private void findGroups() {
+		final int childCount = summaryLevels.length;
+		final boolean[] isLeft = new boolean[childCount];
+		final boolean[] isFirstGroupNode = new boolean[childCount];
+		for (int i = 0; i < childCount; i++) {
+			final NodeModel child = parentNode.getChildAt(i);
+			isLeft[i] = child.isLeft();
+			isFirstGroupNode[i] = SummaryNode.isFirstGroupNode(child);
+		}
+		summaryNodeIndices = new int[childCount];
+		groupBeginNodeIndices = new int[childCount];
+		final int[] stack = new int[childCount];
+		final int[] nextHigherLevelNodeIndices = new int[childCount];
+		final int[] nextNodeIndices = new int[childCount];
+		final int[] firstGroupNodeIndexByLevel = new int[highestSummaryLevel + 1];
+		final int[] firstNodeIndexByLevel = new int[highestSummaryLevel + 1];
+		for(boolean leftSide : BOTH_SIDES) {
+			int stackSize = 0;
+			for (int i = childCount - 1; i >= 0; i--) {
+				if(isLeft[i] != leftSide)
+					continue;
+				while(stackSize > 0 && summaryLevels[stack[stackSize - 1]] <= summaryLevels[i])
+					stackSize--;
+				nextHigherLevelNodeIndices[i] = stackSize > 0 ? stack[stackSize - 1] : NODE_NOT_FOUND;
+				stack[stackSize++] = i;
+			}
+
+			stackSize = 0;
+			Arrays.fill(firstGroupNodeIndexByLevel, NODE_NOT_FOUND);
+			Arrays.fill(firstNodeIndexByLevel, NODE_NOT_FOUND);
+			int previousNodeIndex = NODE_NOT_FOUND;
+			for (int i = 0; i < childCount; i++) {
+				if(isLeft[i] != leftSide)
+					continue;
+				if(previousNodeIndex != NODE_NOT_FOUND)
+					nextNodeIndices[previousNodeIndex] = i;
+				previousNodeIndex = i;
+				final int level = summaryLevels[i];
+				if(firstNodeIndexByLevel[level] == NODE_NOT_FOUND)
+					firstNodeIndexByLevel[level] = i;
+				if(isFirstGroupNode[i])
+					firstGroupNodeIndexByLevel[level] = i;
+				while(stackSize > 0 && summaryLevels[stack[stackSize - 1]] <= level)
+					stackSize--;
+				final int previousHigherLevelNodeIndex = stackSize > 0 ? stack[stackSize - 1] : NODE_NOT_FOUND;
+				stack[stackSize++] = i;
+				final int firstGroupNodeIndex = firstGroupNodeIndexByLevel[level];
+				if(firstGroupNodeIndex != NODE_NOT_FOUND && firstGroupNodeIndex > previousHigherLevelNodeIndex)
+					groupBeginNodeIndices[i] = firstGroupNodeIndex;
+				else if(previousHigherLevelNodeIndex != NODE_NOT_FOUND)
+					groupBeginNodeIndices[i] = nextNodeIndices[previousHigherLevelNodeIndex];
+				else
+					groupBeginNodeIndices[i] = firstNodeIndexByLevel[level];
 			}
 		}
-		for (int i = 0; i <= index; i++){
-			final NodeModel groupBeginNode = parentNode.getChildAt(i);
-			if(groupBeginNode.isLeft() == leftSide &&  summaryLevels[i] == nodeLevel)
-				return i;
+
+		// a first group node of the same level on either side ends the search for the summary node
+		Arrays.fill(firstGroupNodeIndexByLevel, NODE_NOT_FOUND);
+		for (int i = childCount - 1; i >= 0; i--) {
+			final int level = summaryLevels[i];
+			final int summaryNodeIndex = nextHigherLevelNodeIndices[i];
+			final int nextFirstGroupNodeIndex = firstGroupNodeIndexByLevel[level];
+			summaryNodeIndices[i] = nextFirstGroupNodeIndex == NODE_NOT_FOUND || summaryNodeIndex < nextFirstGroupNodeIndex
+			        ? summaryNodeIndex : NODE_NOT_FOUND;
+			if(isFirstGroupNode[i])
+				firstGroupNodeIndexByLevel[level] = i;
 		}
-		return index;
 	}
 	
 }
\ No newline at end of file
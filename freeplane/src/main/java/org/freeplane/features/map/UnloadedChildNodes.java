@@ -0,0 +1,258 @@
+package org.freeplane.features.map;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.regex.Pattern;
+
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.map.MapWriter.Hint;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.n3.nanoxml.XMLException;
+
+/**
+ * Child list of a folded node whose child nodes were kept as xml text when the map was loaded.
+ *
+ * The number of the children is known without parsing them. Any other access parses the children,
+ * replaces this list by a regular child list of the node and delegates to it.
+ * IDs found in the xml text are reserved in the map, so that looking them up loads the children as well.
+ * If the xml text can not be parsed, it is kept and saved again as it was read,
+ * so that a parse error never removes content from the map.
+ */
+class UnloadedChildNodes extends AbstractList<NodeModel> implements RandomAccess {
+	static final String LOAD_FOLDED_BRANCHES_LAZILY_PROPERTY = "load_folded_branches_lazily";
+	private static final String ID_ATTRIBUTE = " ID=\"";
+	private static final String[] CLONE_REFERENCE_ATTRIBUTES = { " TREE_ID=\"", " CONTENT_ID=\"", " REFERENCE_ID=\"" };
+	private static final Pattern MAP_LEVEL_ELEMENTS = Pattern.compile("<(?:arrowlink|attribute)[\\s/>]");
+
+	private final NodeModel parent;
+	private final MapReader mapReader;
+	private List<String> childNodesXml;
+	private List<NodeModel> loadedChildNodes;
+	private boolean loadingFailed;
+
+	private UnloadedChildNodes(final NodeModel parent, final MapReader mapReader) {
+		this.parent = parent;
+		this.mapReader = mapReader;
+		this.childNodesXml = new ArrayList<String>();
+		this.loadedChildNodes = null;
+		this.loadingFailed = false;
+	}
+
+	/** child nodes can be kept unloaded unless the parent already has loaded children */
+	static boolean canAdd(final NodeModel parent) {
+		final List<NodeModel> children = parent.getChildrenInternal();
+		if (children instanceof UnloadedChildNodes)
+			return !((UnloadedChildNodes) children).isLoaded();
+		return children.isEmpty();
+	}
+
+	static void add(final NodeModel parent, final MapReader mapReader, final String childNodeXml) {
+		final List<NodeModel> children = parent.getChildrenInternal();
+		final UnloadedChildNodes unloadedChildNodes;
+		if (children instanceof UnloadedChildNodes)
+			unloadedChildNodes = (UnloadedChildNodes) children;
+		else {
+			unloadedChildNodes = new UnloadedChildNodes(parent, mapReader);
+			parent.setChildrenInternal(unloadedChildNodes);
+		}
+		unloadedChildNodes.add(childNodeXml);
+	}
+
+	/**
+	 * true if the xml text contains connectors or attributes, they are registered in the map
+	 * only when their nodes are parsed, so such children are loaded as soon as the map is read
+	 */
+	static boolean containsMapLevelElements(final String childNodeXml) {
+		return MAP_LEVEL_ELEMENTS.matcher(childNodeXml).find();
+	}
+
+	static boolean isUnloaded(final NodeModel node) {
+		final List<NodeModel> children = node.getChildrenInternal();
+		return children instanceof UnloadedChildNodes && !((UnloadedChildNodes) children).isLoaded();
+	}
+
+	/** true if the xml text of the children could not be parsed, it is kept and must be saved as it was read */
+	static boolean hasFailedToLoad(final NodeModel node) {
+		final List<NodeModel> children = node.getChildrenInternal();
+		return children instanceof UnloadedChildNodes && ((UnloadedChildNodes) children).hasFailedToLoad();
+	}
+
+	/**
+	 * returns the xml text of unloaded children which can be saved as it was read,
+	 * or null if the children are loaded or refer to clones and need to be written by the node writer.
+	 * The xml text of children which could not be parsed is always returned.
+	 */
+	static List<String> unparsedChildNodes(final NodeModel node) {
+		final List<NodeModel> children = node.getChildrenInternal();
+		if (!(children instanceof UnloadedChildNodes))
+			return null;
+		return ((UnloadedChildNodes) children).unparsedChildNodes();
+	}
+
+	/** returns the length of the xml text of the children which are not loaded yet, or -1 if the children are loaded */
+	static long unloadedXmlLength(final NodeModel node) {
+		final List<NodeModel> children = node.getChildrenInternal();
+		if (!(children instanceof UnloadedChildNodes))
+			return -1;
+		return ((UnloadedChildNodes) children).unloadedXmlLength();
+	}
+
+	private synchronized long unloadedXmlLength() {
+		if (childNodesXml == null)
+			return -1;
+		long length = 0;
+		for (final String childNodeXml : childNodesXml)
+			length += childNodeXml.length();
+		return length;
+	}
+
+	private synchronized void add(final String childNodeXml) {
+		childNodesXml.add(childNodeXml);
+		final MapModel map = parent.getMap();
+		for (final String id : ids(childNodeXml))
+			map.reserveUnloadedNodeID(id, this);
+	}
+
+	private synchronized boolean isLoaded() {
+		return childNodesXml == null;
+	}
+
+	private synchronized boolean hasFailedToLoad() {
+		return loadingFailed;
+	}
+
+	private synchronized List<String> unparsedChildNodes() {
+		if (childNodesXml == null || loadingFailed)
+			return childNodesXml;
+		for (final String childNodeXml : childNodesXml) {
+			for (final String cloneReferenceAttribute : CLONE_REFERENCE_ATTRIBUTES)
+				if (childNodeXml.contains(cloneReferenceAttribute))
+					return null;
+		}
+		return childNodesXml;
+	}
+
+	private static List<String> ids(final String xml) {
+		final List<String> ids = new ArrayList<String>();
+		for (int start = xml.indexOf(ID_ATTRIBUTE); start >= 0; start = xml.indexOf(ID_ATTRIBUTE, start)) {
+			start += ID_ATTRIBUTE.length();
+			final int end = xml.indexOf('"', start);
+			if (end < 0)
+				break;
+			ids.add(xml.substring(start, end));
+			start = end;
+		}
+		return ids;
+	}
+
+	static void load(final NodeModel node) {
+		final List<NodeModel> children = node.getChildrenInternal();
+		if (children instanceof UnloadedChildNodes)
+			((UnloadedChildNodes) children).load();
+	}
+
+	synchronized void load() {
+		if (childNodesXml == null || loadingFailed)
+			return;
+		final List<String> xml = childNodesXml;
+		childNodesXml = null;
+		final MapModel map = parent.getMap();
+		for (final String childNodeXml : xml) {
+			for (final String id : ids(childNodeXml))
+				map.releaseUnloadedNodeID(id, this);
+		}
+		loadedChildNodes = new ArrayList<NodeModel>(xml.size());
+		parent.setChildrenInternal(loadedChildNodes);
+		final NodeModel loadingParent = new NodeModel(map);
+		loadingParent.setLeft(parent.isLeft());
+		final Map<Object, Object> hints = new HashMap<Object, Object>(2);
+		hints.put(Hint.MODE, Mode.FILE);
+		hints.put(NodeBuilder.FOLDING_LOADED, Boolean.TRUE);
+		try {
+			mapReader.createChildNodesFromXml(loadingParent, xml, hints);
+		}
+		catch (final XMLException e) {
+			LogUtils.severe(e);
+			keepUnparsed(xml);
+			return;
+		}
+		final boolean attached = parent.isAttached();
+		for (final NodeModel child : loadingParent.getChildren()) {
+			loadedChildNodes.add(child);
+			child.setParent(parent);
+			if (attached)
+				child.attach();
+		}
+	}
+
+	/** nodes added later by the user are kept in the loaded child nodes and saved after the unparsed ones */
+	private void keepUnparsed(final List<String> xml) {
+		childNodesXml = xml;
+		loadingFailed = true;
+		loadedChildNodes = new ArrayList<NodeModel>();
+		parent.setChildrenInternal(this);
+		final MapModel map = parent.getMap();
+		for (final String childNodeXml : xml) {
+			for (final String id : ids(childNodeXml))
+				map.resetUnloadedNodeID(id, this);
+		}
+	}
+
+	private synchronized List<NodeModel> loaded() {
+		load();
+		return loadedChildNodes;
+	}
+
+	@Override
+	public synchronized int size() {
+		return childNodesXml != null && !loadingFailed ? childNodesXml.size() : loadedChildNodes.size();
+	}
+
+	@Override
+	public NodeModel get(final int index) {
+		return loaded().get(index);
+	}
+
+	@Override
+	public NodeModel set(final int index, final NodeModel element) {
+		return loaded().set(index, element);
+	}
+
+	@Override
+	public void add(final int index, final NodeModel element) {
+		final List<NodeModel> children = loaded();
+		// the index may count the children which could not be parsed
+		children.add(loadingFailed ? Math.min(index, children.size()) : index, element);
+	}
+
+	@Override
+	public NodeModel remove(final int index) {
+		return loaded().remove(index);
+	}
+
+	@Override
+	public int indexOf(final Object o) {
+		return loaded().indexOf(o);
+	}
+
+	@Override
+	public int lastIndexOf(final Object o) {
+		return loaded().lastIndexOf(o);
+	}
+
+	@Override
+	public Iterator<NodeModel> iterator() {
+		return loaded().iterator();
+	}
+
+	@Override
+	public ListIterator<NodeModel> listIterator(final int index) {
+		return loaded().listIterator(index);
+	}
+}
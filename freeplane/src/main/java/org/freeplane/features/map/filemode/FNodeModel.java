@@ -25,6 +25,7 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.freeplane.features.link.NodeLinks;
@@ -67,17 +68,20 @@ class FNodeModel extends NodeModel {
 			try {
 				final File[] files = file != null ? file.listFiles() : directoryFiles;
 				if (files != null) {
+					final List<NodeModel> childNodes = new ArrayList<NodeModel>(files.length);
 					int childCount = 0;
 					for (File childFile : files) {
 						if (!childFile.isHidden() || file == null) {
 							final FNodeModel fileNodeModel = new FNodeModel(childFile, getMap());
 							NodeLinks.createLinkExtension(fileNodeModel).setHyperLink(childFile.toURI());
 							fileNodeModel.setLeft(isRoot() ?  (childCount % 2 == 1) : isLeft());
-							super.getChildrenInternal().add(childCount, fileNodeModel);
+							childNodes.add(childCount, fileNodeModel);
 							childCount++;
 							fileNodeModel.setParent(this);
 						}
 					}
+					if (! childNodes.isEmpty())
+						super.setChildrenInternal(childNodes);
 				}
 			}
 			catch (final SecurityException se) {
@@ -54,6 +54,7 @@ import org.freeplane.core.ui.AFreeplaneAction;
 import org.freeplane.core.ui.components.UITools;
 import org.freeplane.core.ui.menubuilders.generic.UserRole;
 import org.freeplane.core.undo.IActor;
+import org.freeplane.core.undo.IUndoHandler;
 import org.freeplane.core.util.ConfigurationUtils;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
@@ -79,6 +80,7 @@ import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.map.NodeMoveEvent;
 import org.freeplane.features.map.NodeRelativePath;
 import org.freeplane.features.map.SummaryLevels;
+import org.freeplane.features.map.SubtreeSizeEstimator;
 import org.freeplane.features.map.SummaryNode;
 import org.freeplane.features.map.clipboard.MapClipboardController;
 import org.freeplane.features.map.mindmapmode.clipboard.MMapClipboardController;
@@ -112,6 +114,8 @@ public class MMapController extends MapController {
 	public static final int NEW_SIBLING_BEFORE = 4;
 	public static final int NEW_SIBLING_BEHIND = 3;
 	public static final String RESOURCES_CONVERT_TO_CURRENT_VERSION = "convert_to_current_version";
+	/** Rough heap footprint of a node with its text, extensions and view, used for undo memory estimates */
+	private static final SubtreeSizeEstimator SUBTREE_SIZE_ESTIMATOR = new SubtreeSizeEstimator(2048);
 
 	public MMapController(ModeController modeController) {
 		super(modeController);
@@ -340,6 +344,12 @@ public class MMapController extends MapController {
 			return;
 		}
 		stopInlineEditing();
+		executeForClones(parent.getMap(), parent.subtreeClones().size(),
+			() -> insertNewNodeAndItsClones(newNode, parent, index, newNodeIsLeft));
+    }
+
+	private void insertNewNodeAndItsClones(final NodeModel newNode, final NodeModel parent, final int index,
+	                                       final boolean newNodeIsLeft) {
 		insertSingleNewNode(newNode, parent, index, newNodeIsLeft);
 		for(NodeModel parentClone : parent.subtreeClones()){
 			if(parentClone != parent) {
@@ -347,12 +357,13 @@ public class MMapController extends MapController {
 				insertSingleNewNode(childClone, parentClone, index, parentClone.isLeft());
             }
 		}
-    }
+	}
 
 	private void insertSingleNewNode(final NodeModel newNode, final NodeModel parent, final int index,
                                   final boolean newNodeIsLeft) {
 	    final MapModel map = parent.getMap();
 		newNode.setLeft(newNodeIsLeft);
+		// the inserted subtree is kept alive by the map, so the actor does not estimate its size
 		final IActor actor = new IActor() {
 			@Override
 			public void act() {
@@ -426,8 +437,78 @@ public class MMapController extends MapController {
 
 	public void deleteNodes(final List<NodeModel> nodes) {
 		final List<NodeModel> deletedNodesWithSummaryGroupIndicators = new SummaryGroupEdgeListAdder(nodes).addSummaryEdgeNodes();
-		for(NodeModel node : deletedNodesWithSummaryGroupIndicators){
-		    deleteSingleNodeWithClones(node);
+		if(deletedNodesWithSummaryGroupIndicators.size() > 1) {
+			executeStructureChangeBatch(deletedNodesWithSummaryGroupIndicators.get(0).getMap(), () -> {
+				for(NodeModel node : deletedNodesWithSummaryGroupIndicators)
+					deleteSingleNodeWithClones(node);
+			});
+		}
+		else {
+			for(NodeModel node : deletedNodesWithSummaryGroupIndicators)
+				deleteSingleNodeWithClones(node);
+		}
+	}
+
+	/**
+	 * Executes the given insertions, deletions and moves as one undoable action.
+	 * Map change listeners are notified about all changed parents once by
+	 * {@link IMapChangeListener#onStructureChangeBatchFinished}, also on undo and redo.
+	 */
+	public void executeStructureChangeBatch(final MapModel map, final Runnable changes) {
+		final IUndoHandler undoHandler = map.getExtension(IUndoHandler.class);
+		if(undoHandler != null)
+			undoHandler.startTransaction();
+		final ModeController modeController = Controller.getCurrentModeController();
+		modeController.execute(new StructureChangeBatchBoundary(map, true), map);
+		try {
+			changes.run();
+		}
+		finally {
+			modeController.execute(new StructureChangeBatchBoundary(map, false), map);
+			if(undoHandler != null)
+				undoHandler.commit();
+		}
+	}
+
+	/**
+	 * Runs changes of several clones as a structure change batch. Changes of a single node
+	 * or changes inside of a running batch are executed directly and add no batch boundaries to the undo history.
+	 */
+	private void executeForClones(final MapModel map, final int updatedCloneCount, final Runnable changes) {
+		if(updatedCloneCount > 1 && ! isStructureChangeBatchRunning(map))
+			executeStructureChangeBatch(map, changes);
+		else
+			changes.run();
+	}
+
+	private class StructureChangeBatchBoundary implements IActor {
+		private final MapModel map;
+		private final boolean startsBatch;
+
+		StructureChangeBatchBoundary(MapModel map, boolean startsBatch) {
+			this.map = map;
+			this.startsBatch = startsBatch;
+		}
+
+		@Override
+		public void act() {
+			if(startsBatch)
+				startStructureChangeBatch(map);
+			else
+				finishStructureChangeBatch(map);
+		}
+
+		@Override
+		public void undo() {
+			if(startsBatch)
+				finishStructureChangeBatch(map);
+			else
+				startStructureChangeBatch(map);
+		}
+
+		@Override
+		public String getDescription() {
+			return "structureChangeBatch";
 		}
 	}
 
@@ -474,8 +555,11 @@ public class MMapController extends MapController {
 	private void deleteSingleNodeWithClones(NodeModel node) {
 		final NodeModel parentNode = node.getParentNode();
 		final int index = parentNode.getIndex(node);
-		for(NodeModel parentClone : parentNode.subtreeClones())
-			deleteSingleNode(parentClone, index);
+		final Clones parentClones = parentNode.subtreeClones();
+		executeForClones(parentNode.getMap(), parentClones.size(), () -> {
+			for(NodeModel parentClone : parentClones)
+				deleteSingleNode(parentClone, index);
+		});
 	}
 
 	private void deleteSingleSummaryNode(NodeModel summarynode) {
@@ -490,6 +574,8 @@ public class MMapController extends MapController {
 	private void deleteSingleNode(final NodeModel parentNode, final int index) {
 		final NodeModel node = parentNode.getChildAt(index);
 		final IActor actor = new IActor() {
+			private long estimatedSize = -1;
+
         	@Override
 			public void act() {
         		deleteWithoutUndo(parentNode, index);
@@ -500,6 +586,13 @@ public class MMapController extends MapController {
         		return "delete";
         	}
 
+        	@Override
+			public long getEstimatedSize() {
+        		if (estimatedSize < 0)
+        			estimatedSize = SUBTREE_SIZE_ESTIMATOR.estimate(node);
+        		return estimatedSize;
+        	}
+
         	@Override
 			public void undo() {
 				(Controller.getCurrentModeController().getMapController()).insertNodeIntoWithoutUndo(node, parentNode, index);
@@ -551,6 +644,18 @@ public class MMapController extends MapController {
 		insertNewNode(node, parentNode, index, node.isLeft());
 	}
 
+	public void insertNodes(final List<NodeModel> nodes, final NodeModel parentNode, final int index) {
+		final Runnable insertion = () -> {
+			int nodeIndex = index;
+			for(NodeModel node : nodes)
+				insertNode(node, parentNode, nodeIndex++);
+		};
+		if(nodes.size() > 1)
+			executeStructureChangeBatch(parentNode.getMap(), insertion);
+		else
+			insertion.run();
+	}
+
 	@Override
 	public void insertNodeIntoWithoutUndo(final NodeModel newNode, final NodeModel parent, final int index) {
 		setSaved(parent.getMap(), false);
@@ -576,8 +681,17 @@ public class MMapController extends MapController {
 	public void moveNodes(final List<NodeModel> movedNodes, final NodeModel newParent, final int newIndex, final boolean isLeft,
 	                     final boolean changeSide) {
 		final List<NodeModel> movedNodesWithSummaryGroupIndicators = new SummaryGroupEdgeListAdder(movedNodes).addSummaryEdgeNodes();
+		if(movedNodesWithSummaryGroupIndicators.size() > 1)
+			executeStructureChangeBatch(newParent.getMap(),
+				() -> moveNodesAndTheirClones(movedNodesWithSummaryGroupIndicators, newParent, newIndex, isLeft, changeSide));
+		else
+			moveNodesAndTheirClones(movedNodesWithSummaryGroupIndicators, newParent, newIndex, isLeft, changeSide);
+	}
+
+	private void moveNodesAndTheirClones(final List<NodeModel> movedNodes, final NodeModel newParent, final int newIndex,
+	                                     final boolean isLeft, final boolean changeSide) {
 		int index = newIndex;
-		for(NodeModel node : movedNodesWithSummaryGroupIndicators)
+		for(NodeModel node : movedNodes)
 			moveNodeAndItsClones(node, newParent, index++, isLeft, changeSide && node.isLeft() != isLeft);
 	}
 
@@ -599,27 +713,36 @@ public class MMapController extends MapController {
 		newIndex = newIndex >= childCount ? oldParent == newParent ? childCount - 1 : childCount : newIndex;
 
 		if (oldParent != newParent || oldIndex != newIndex || changeSide != false) {
-			final NodeRelativePath nodeRelativePath = getPathToNearestTargetClone(oldParent, newParent);
-
-			final Set<NodeModel> oldParentClones = new HashSet<NodeModel>(oldParent.subtreeClones().toCollection());
-			final Set<NodeModel> newParentClones = new HashSet<NodeModel>(newParent.subtreeClones().toCollection());
-
-			final NodeModel commonAncestor = nodeRelativePath.commonAncestor();
-			for (NodeModel commonAncestorClone: commonAncestor.subtreeClones()){
-					NodeModel oldParentClone = nodeRelativePath.pathBegin(commonAncestorClone);
-					NodeModel newParentClone = nodeRelativePath.pathEnd(commonAncestorClone);
-					final boolean isLeftForClone = newParentClone == newParent ? isLeft : newParentClone.isLeft();
-					moveSingleNode(oldParentClone.getChildAt(oldIndex), newParentClone, newIndex, isLeftForClone, changeSide);
-					oldParentClones.remove(oldParentClone);
-					newParentClones.remove(newParentClone);
-			}
-
-			for(NodeModel newParentClone : newParentClones)
-				insertSingleNewNode(child.cloneTree(), newParentClone, newIndex, newParentClone.isLeft());
+			final int targetIndex = newIndex;
+			final int updatedCloneCount = Math.max(oldParent.subtreeClones().size(), newParent.subtreeClones().size());
+			executeForClones(newParent.getMap(), updatedCloneCount,
+				() -> moveSingleNodeAndItsClones(child, newParent, oldIndex, targetIndex, isLeft, changeSide));
+		}
+	}
 
-			for(NodeModel oldParentClone : oldParentClones)
-					deleteSingleNode(oldParentClone, oldIndex);
+	private void moveSingleNodeAndItsClones(final NodeModel child, final NodeModel newParent, final int oldIndex,
+	                                        final int newIndex, final boolean isLeft, final boolean changeSide) {
+		final NodeModel oldParent = child.getParentNode();
+		final NodeRelativePath nodeRelativePath = getPathToNearestTargetClone(oldParent, newParent);
+
+		final Set<NodeModel> oldParentClones = new HashSet<NodeModel>(oldParent.subtreeClones().toCollection());
+		final Set<NodeModel> newParentClones = new HashSet<NodeModel>(newParent.subtreeClones().toCollection());
+
+		final NodeModel commonAncestor = nodeRelativePath.commonAncestor();
+		for (NodeModel commonAncestorClone: commonAncestor.subtreeClones()){
+				NodeModel oldParentClone = nodeRelativePath.pathBegin(commonAncestorClone);
+				NodeModel newParentClone = nodeRelativePath.pathEnd(commonAncestorClone);
+				final boolean isLeftForClone = newParentClone == newParent ? isLeft : newParentClone.isLeft();
+				moveSingleNode(oldParentClone.getChildAt(oldIndex), newParentClone, newIndex, isLeftForClone, changeSide);
+				oldParentClones.remove(oldParentClone);
+				newParentClones.remove(newParentClone);
 		}
+
+		for(NodeModel newParentClone : newParentClones)
+			insertSingleNewNode(child.cloneTree(), newParentClone, newIndex, newParentClone.isLeft());
+
+		for(NodeModel oldParentClone : oldParentClones)
+				deleteSingleNode(oldParentClone, oldIndex);
 	}
 
 	private NodeRelativePath getPathToNearestTargetClone(final NodeModel source, final NodeModel target) {
@@ -739,9 +862,7 @@ public class MMapController extends MapController {
             }
             final IMapSelection selection = Controller.getCurrentController().getSelection();
             selection.selectAsTheOnlyOneSelected(selected);
-			for (NodeModel selectedNode : selectedNodes) {
-				selection.makeTheSelected(selectedNode);
-            }
+			selection.addToSelection(selectedNodes);
         }
     }
 
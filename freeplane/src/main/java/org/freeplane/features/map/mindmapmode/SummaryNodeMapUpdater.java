@@ -28,20 +28,25 @@ public class SummaryNodeMapUpdater implements IMapLifeCycleListener {
 	}
 	private void updateSummaryNodes(NodeModel parentNode) {
 		final NodeModel[] nodes = parentNode.getChildren().toArray(new NodeModel[]{});
+		// reused for all children until one of the updates below changes the summary structure
+		SummaryLevels summaryLevels = null;
 		for(NodeModel node : nodes){
-			SummaryLevels summaryLevels = null;
 			if(SummaryNode.isFirstGroupNode(node)){
 				if(summaryLevels == null)
 					summaryLevels = new SummaryLevels(parentNode);
-				if (summaryLevels.findSummaryNode(node.getIndex()) == null)
+				if (summaryLevels.findSummaryNode(node.getIndex()) == null) {
 					node.removeExtension(FirstGroupNodeFlag.class);
+					summaryLevels = null;
+				}
 			}
 			if(SummaryNode.isSummaryNode(node)) {
 				if(summaryLevels == null)
 					summaryLevels = new SummaryLevels(parentNode);
 				final NodeModel groupBeginNode = summaryLevels.findGroupBeginNode(parentNode.previousNodeIndex(node.getIndex(), node.isLeft()));
-				if(groupBeginNode == null)
+				if(groupBeginNode == null) {
 					node.removeExtension(SummaryNodeFlag.class);
+					summaryLevels = null;
+				}
 				else {
 					if (! groupBeginNode.containsExtension(FirstGroupNodeFlag.class)) {
 						if(SummaryNode.isSummaryNode(groupBeginNode))
@@ -50,6 +55,7 @@ public class SummaryNodeMapUpdater implements IMapLifeCycleListener {
 							final NodeModel newFirstGroupNode = mapController.addNewNode(groupBeginNode.getParentNode(), groupBeginNode.getIndex(), groupBeginNode.isLeft());
 							newFirstGroupNode.addExtension(FirstGroupNodeFlag.FIRST_GROUP);
 						}
+						summaryLevels = null;
 					}
 					if (node.isFolded() || !node.hasChildren() || !node.getText().isEmpty()){
 						node.removeExtension(SummaryNodeFlag.class);
@@ -60,6 +66,7 @@ public class SummaryNodeMapUpdater implements IMapLifeCycleListener {
 							newParent.addExtension(FirstGroupNodeFlag.FIRST_GROUP);
 						}
 						mapController.moveNodeAndItsClones(node, newParent, 0, false, false);
+						summaryLevels = null;
 					}
 				}
 			}
@@ -67,6 +74,7 @@ public class SummaryNodeMapUpdater implements IMapLifeCycleListener {
 				final NodeModel newFirstGroupNode = mapController.addNewNode(node.getParentNode(), node.getIndex(), node.isLeft());
 				node.removeExtension(FirstGroupNodeFlag.class);
 				newFirstGroupNode.addExtension(FirstGroupNodeFlag.FIRST_GROUP);
+				summaryLevels = null;
 			}
 			updateSummaryNodes(node);
 		}
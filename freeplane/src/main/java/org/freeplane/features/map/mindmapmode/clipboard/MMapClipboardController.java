@@ -761,7 +761,8 @@ public class MMapClipboardController extends MapClipboardController implements M
 				newNodes = new LinkedList<NodeModel>();
 			}
 			newNodes.clear();
-			handler.paste(t, target, asSibling, isLeft, dropAction);
+			mapController.executeStructureChangeBatch(target.getMap(),
+				() -> handler.paste(t, target, asSibling, isLeft, dropAction));
 			final ModeController modeController = Controller.getCurrentModeController();
 			if (!asSibling && modeController.getMapController().isFolded(target)
 			        && ResourceController.getResourceController().getBooleanProperty(RESOURCE_UNFOLD_ON_PASTE)) {
@@ -24,7 +24,6 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
@@ -36,6 +35,7 @@ import java.util.concurrent.ExecutorService;
 import org.apache.commons.io.IOExceptionWithCause;
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.extension.SlotExtensionMap;
 import org.freeplane.core.resources.OptionPanelController;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.resources.components.IValidator;
@@ -77,7 +77,7 @@ public class Controller extends AController implements FreeplaneActions, IMapLif
 		mapLifeCycleListeners = new LinkedList<IMapLifeCycleListener>();
 		this.resourceController = resourceController; 
 		this.optionPanelController = new OptionPanelController();
-		extensionContainer = new ExtensionContainer(new HashMap<Class<? extends IExtension>, IExtension>());
+		extensionContainer = new ExtensionContainer(new SlotExtensionMap());
 		addAction(new MoveToRootAction());
 		addAction(new MoveSelectedNodeAction(NodePosition.EAST));
 		addAction(new MoveSelectedNodeAction(NodePosition.CENTER));
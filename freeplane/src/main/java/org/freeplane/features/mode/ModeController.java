@@ -24,7 +24,6 @@ import java.awt.Component;
 import java.awt.Container;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +32,7 @@ import java.util.TreeMap;
 
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.extension.SlotExtensionMap;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.AFreeplaneAction;
 import org.freeplane.core.ui.IUserInputListenerFactory;
@@ -84,7 +84,7 @@ public class ModeController extends AController implements FreeplaneActions{
 	 */
 	public ModeController(final Controller controller) {
 		this.controller = controller;
-		extensionContainer = new ExtensionContainer(new HashMap<Class<? extends IExtension>, IExtension>());
+		extensionContainer = new ExtensionContainer(new SlotExtensionMap());
 		copiers = new LinkedList<IExtensionCopier>();
 	}
 
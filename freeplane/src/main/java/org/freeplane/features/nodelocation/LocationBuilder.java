@@ -24,6 +24,7 @@ import org.freeplane.api.Quantity;
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IExtensionAttributeWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -34,7 +35,7 @@ import org.freeplane.features.map.NodeModel;
  * @author Dimitry Polivaev
  * 06.12.2008
  */
-class LocationBuilder implements IExtensionAttributeWriter {
+class LocationBuilder implements IExtensionAttributeWriter, IThreadSafeWriter {
 	private void registerAttributeHandlers(final ReadManager reader) {
 		final IAttributeHandler vShiftHandler = new IAttributeHandler() {
 			public void setAttribute(final Object userObject, final String value) {
@@ -31,6 +31,7 @@ import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.IElementWriter;
 import org.freeplane.core.io.IExtensionAttributeWriter;
 import org.freeplane.core.io.IExtensionElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.BackwardCompatibleQuantityWriter;
 import org.freeplane.core.io.ReadManager;
@@ -47,7 +48,7 @@ import org.freeplane.features.nodestyle.NodeStyleModel.HorizontalTextAlignment;
 import org.freeplane.n3.nanoxml.XMLElement;
 
 class NodeStyleBuilder implements IElementDOMHandler, IExtensionElementWriter, IExtensionAttributeWriter,
-        IAttributeWriter, IElementWriter {
+        IAttributeWriter, IElementWriter, IThreadSafeWriter {
 	static class FontProperties {
 		String fontName;
 		Integer fontSize;
@@ -24,6 +24,7 @@ import java.io.IOException;
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeWriter;
 import org.freeplane.core.io.IExtensionElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeWriter;
@@ -34,7 +35,7 @@ import org.freeplane.n3.nanoxml.XMLElement;
 /**
  * @author Dimitry Polivaev
  */
-class NoteWriter implements IExtensionElementWriter, IAttributeWriter {
+class NoteWriter implements IExtensionElementWriter, IAttributeWriter, IThreadSafeWriter {
 	NoteController noteManager;
 
 	public NoteWriter(final NoteController noteManager) {
@@ -29,6 +29,7 @@ import java.util.Map;
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeHandler;
 import org.freeplane.core.io.IAttributeWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -61,6 +62,28 @@ import org.freeplane.features.styles.ConditionalStyleModel.Item;
  * 28.09.2009
  */
 public class LogicalStyleController implements IExtension {
+	private static class StyleReferenceWriter implements IAttributeWriter, IThreadSafeWriter {
+		public void writeAttributes(final ITreeWriter writer, final Object node, final String tag) {
+			if(! NodeWriter.shouldWriteSharedContent(writer))
+				return;
+			final LogicalStyleModel extension = LogicalStyleModel.getExtension((NodeModel) node);
+			if (extension == null) {
+				return;
+			}
+			final IStyle style = extension.getStyle();
+			if (style == null) {
+				return;
+			}
+			final String value = StyleTranslatedObject.toKeyString(style);
+			if (style instanceof StyleTranslatedObject) {
+				writer.addAttribute("LOCALIZED_STYLE_REF", value);
+			}
+			else {
+				writer.addAttribute("STYLE_REF", value);
+			}
+		}
+	}
+
 // 	final private ModeController modeController;
 
 	private static final int STYLE_TOOLTIP = 0;
@@ -200,27 +223,7 @@ public class LogicalStyleController implements IExtension {
 			}
 		});
 		final WriteManager writeManager = mapController.getWriteManager();
-		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new IAttributeWriter() {
-			public void writeAttributes(final ITreeWriter writer, final Object node, final String tag) {
-				if(! NodeWriter.shouldWriteSharedContent(writer))
-					return;
-				final LogicalStyleModel extension = LogicalStyleModel.getExtension((NodeModel) node);
-				if (extension == null) {
-					return;
-				}
-				final IStyle style = extension.getStyle();
-				if (style == null) {
-					return;
-				}
-				final String value = StyleTranslatedObject.toKeyString(style);
-				if (style instanceof StyleTranslatedObject) {
-					writer.addAttribute("LOCALIZED_STYLE_REF", value);
-				}
-				else {
-					writer.addAttribute("STYLE_REF", value);
-				}
-			}
-		});
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new StyleReferenceWriter());
     }
 
 	public static void install( final LogicalStyleController logicalStyleController) {
@@ -1,12 +1,9 @@
 package org.freeplane.features.text;
 
-import java.util.List;
-
 import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.features.format.FormatController;
 import org.freeplane.features.format.PatternFormat;
 import org.freeplane.features.map.NodeModel;
-import org.freeplane.features.map.SummaryNode;
 
 class FormatContentTransformer extends AbstractContentTransformer {
 	final private TextController textController;
@@ -43,14 +40,12 @@ class FormatContentTransformer extends AbstractContentTransformer {
 		if (hasFormat)
 			obj = FormatController.format(obj, format);
 		if (nodeNumbering && !node.isRoot()){
-			StringBuilder builder = new StringBuilder(node.getNodeLevel() * 2);
-			addNumbers(builder, node);
-			builder.append(' ');
+			final String prefix = textController.getNodeNumberCache(node).getNumber(node) + ' ';
 			if (isHtml) {
-				obj = insertPrefix(obj.toString(), builder.toString());
+				obj = insertPrefix(obj.toString(), prefix);
 			}
 			else{
-				obj = builder.toString() + obj;
+				obj = prefix + obj;
 			}
 		}
 		if (isHtml)
@@ -78,34 +73,4 @@ class FormatContentTransformer extends AbstractContentTransformer {
 		sb.append(html.subSequence(i, html.length()));
 		return sb.toString();
     }
-
-	private void addNumbers(StringBuilder builder, NodeModel node) {
-		final NodeModel parentNode = node.getParentNode();
-		if(parentNode == null)
-			return;
-		addMajorNumbers(parentNode, builder);
-		final List<NodeModel> children = parentNode.getChildren();
-		int counter = 1;
-		for (NodeModel child : children) {
-			if(child.createID().equals(node.createID()))
-				break;
-			if(textController.getNodeNumbering(child))
-				counter++;
-		}
-		builder.append(counter);
-	}
-
-	private void addMajorNumbers(final NodeModel node, StringBuilder builder) {
-		if(SummaryNode.isSummaryNode(node)) {
-			final NodeModel summaryParentNode = node.getParentNode();
-			if(summaryParentNode == null)
-				return;
-			addMajorNumbers(summaryParentNode, builder);
-		} 
-		else if( textController.getNodeNumbering(node)){
-			addNumbers(builder, node);
-			if (builder.length() > 0)
-				builder.append('.');
-		}
-	}
 }
@@ -0,0 +1,141 @@
+package org.freeplane.features.text;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.SummaryNode;
+
+/**
+ * Caches the hierarchical positions of the nodes of a map: level, index path and the number shown by node numbering.
+ *
+ * The numbered children of a parent are counted in one pass when the first of them is requested.
+ * Positions of ancestors are reused by their descendants.
+ * All positions are dropped on the next request after the map has changed,
+ * because styles and conditional styles of any node can switch its numbering on or off.
+ * Numbering disabled for the whole map does not drop the positions, only no numbers are returned meanwhile.
+ */
+public class NodeNumberCache implements IExtension {
+	private static class Position {
+		final int level;
+		final int[] indexPath;
+		final String number;
+
+		Position(final int level, final int[] indexPath, final String number) {
+			this.level = level;
+			this.indexPath = indexPath;
+			this.number = number;
+		}
+	}
+
+	private static final Position ROOT_POSITION = new Position(0, new int[0], "");
+
+	private final Predicate<NodeModel> isNumbered;
+	private final BooleanSupplier isNumberingEnabled;
+	private final Map<NodeModel, Position> positions = new HashMap<>();
+	private final Map<NodeModel, int[]> numbersByParent = new HashMap<>();
+	private int generation = 0;
+	private int cachedGeneration = 0;
+
+	static NodeNumberCache of(final MapModel map, final Predicate<NodeModel> isNumbered,
+	                          final BooleanSupplier isNumberingEnabled) {
+		NodeNumberCache cache = map.getExtension(NodeNumberCache.class);
+		if (cache == null) {
+			cache = new NodeNumberCache(isNumbered, isNumberingEnabled);
+			map.addExtension(cache);
+		}
+		return cache;
+	}
+
+	static NodeNumberCache getExisting(final MapModel map) {
+		return map.getExtension(NodeNumberCache.class);
+	}
+
+	NodeNumberCache(final Predicate<NodeModel> isNumbered, final BooleanSupplier isNumberingEnabled) {
+		this.isNumbered = isNumbered;
+		this.isNumberingEnabled = isNumberingEnabled;
+	}
+
+	void onMapChanged() {
+		generation++;
+	}
+
+	/** changes whenever cached positions may have changed */
+	public int getGeneration() {
+		return generation;
+	}
+
+	public int getLevel(final NodeModel node) {
+		return getPosition(node).level;
+	}
+
+	/** returns the child indices on the path from the root to the node */
+	public int[] getIndexPath(final NodeModel node) {
+		return getPosition(node).indexPath.clone();
+	}
+
+	/**
+	 * returns the number like "1.2.3" shown for a numbered node,
+	 * or an empty string for the root, not numbered nodes and while numbering is disabled
+	 */
+	public String getNumber(final NodeModel node) {
+		final NodeModel parentNode = node.getParentNode();
+		if (parentNode == null || !isNumberingEnabled.getAsBoolean() || !isNumbered.test(node))
+			return "";
+		return getPosition(node).number;
+	}
+
+	private Position getPosition(final NodeModel node) {
+		if (cachedGeneration != generation) {
+			positions.clear();
+			numbersByParent.clear();
+			cachedGeneration = generation;
+		}
+		final NodeModel parentNode = node.getParentNode();
+		if (parentNode == null)
+			return ROOT_POSITION;
+		final Position cachedPosition = positions.get(node);
+		final int index = parentNode.getIndex(node);
+		if (cachedPosition != null && cachedPosition.indexPath[cachedPosition.level - 1] == index)
+			return cachedPosition;
+		final Position parentPosition = getPosition(parentNode);
+		final int level = parentPosition.level + 1;
+		final int[] indexPath = new int[level];
+		System.arraycopy(parentPosition.indexPath, 0, indexPath, 0, level - 1);
+		indexPath[level - 1] = index;
+		final String number = getMajorNumber(parentNode) + getNumbers(parentNode)[index];
+		final Position position = new Position(level, indexPath, number);
+		positions.put(node, position);
+		return position;
+	}
+
+	private String getMajorNumber(final NodeModel node) {
+		final NodeModel parentNode = node.getParentNode();
+		if (SummaryNode.isSummaryNode(node))
+			return parentNode == null ? "" : getMajorNumber(parentNode);
+		if (parentNode == null || !isNumbered.test(node))
+			return "";
+		return getPosition(node).number + '.';
+	}
+
+	private int[] getNumbers(final NodeModel parentNode) {
+		final List<NodeModel> children = parentNode.getChildren();
+		int[] numbers = numbersByParent.get(parentNode);
+		if (numbers == null || numbers.length != children.size()) {
+			numbers = new int[children.size()];
+			int counter = 1;
+			for (int i = 0; i < numbers.length; i++) {
+				numbers[i] = counter;
+				if (isNumbered.test(children.get(i)))
+					counter++;
+			}
+			numbersByParent.put(parentNode, numbers);
+		}
+		return numbers;
+	}
+}
@@ -0,0 +1,48 @@
+package org.freeplane.features.text;
+
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.INodeChangeListener;
+import org.freeplane.features.map.MapChangeEvent;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeMoveEvent;
+
+/**
+ * Reports changes of a map to its node number cache if the cache has already been created.
+ */
+class NodeNumberCacheUpdater implements INodeChangeListener, IMapChangeListener {
+	@Override
+	public void nodeChanged(final NodeChangeEvent event) {
+		onMapChanged(event.getNode().getMap());
+	}
+
+	@Override
+	public void mapChanged(final MapChangeEvent event) {
+		onMapChanged(event.getMap());
+	}
+
+	@Override
+	public void onNodeInserted(final NodeModel parent, final NodeModel child, final int newIndex) {
+		onMapChanged(parent.getMap());
+	}
+
+	@Override
+	public void onNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+		onMapChanged(nodeDeletionEvent.parent.getMap());
+	}
+
+	@Override
+	public void onNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+		onMapChanged(nodeMoveEvent.newParent.getMap());
+	}
+
+	private void onMapChanged(final MapModel map) {
+		if (map == null)
+			return;
+		final NodeNumberCache cache = NodeNumberCache.getExisting(map);
+		if (cache != null)
+			cache.onMapChanged();
+	}
+}
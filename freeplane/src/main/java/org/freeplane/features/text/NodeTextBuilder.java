@@ -28,6 +28,7 @@ import org.freeplane.core.io.IElementContentHandler;
 import org.freeplane.core.io.IElementWriter;
 import org.freeplane.core.io.IExtensionAttributeWriter;
 import org.freeplane.core.io.IExtensionElementWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
@@ -46,7 +47,7 @@ import org.freeplane.features.styles.StyleTranslatedObject;
 import org.freeplane.features.styles.StyleString;
 import org.freeplane.n3.nanoxml.XMLElement;
 
-public class NodeTextBuilder implements IElementContentHandler, IElementWriter, IAttributeWriter, IExtensionElementWriter, IExtensionAttributeWriter {
+public class NodeTextBuilder implements IElementContentHandler, IElementWriter, IAttributeWriter, IExtensionElementWriter, IExtensionAttributeWriter, IThreadSafeWriter {
 	public static final String XML_NODE_TEXT = "TEXT";
 	public static final String XML_NODE_LOCALIZED_TEXT = "LOCALIZED_TEXT";
 	public static final String XML_NODE_XHTML_CONTENT_TAG = "richcontent";
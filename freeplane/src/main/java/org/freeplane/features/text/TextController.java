@@ -109,6 +109,9 @@ public class TextController implements IExtension {
 		// this IContentTransformer is unconditional because its outcome
 		// is explicitly defined by the user (assigning a format)!
 		addTextTransformer(new FormatContentTransformer(this, 50));
+		final NodeNumberCacheUpdater nodeNumberCacheUpdater = new NodeNumberCacheUpdater();
+		mapController.addNodeChangeListener(nodeNumberCacheUpdater);
+		mapController.addMapChangeListener(nodeNumberCacheUpdater);
 		registerDetailsTooltip();
 		registerNodeTextTooltip();
 	}
@@ -412,6 +415,12 @@ public class TextController implements IExtension {
 		return nodeNumberingEnabled && modeController.getExtension(NodeStyleController.class).getNodeNumbering(node);
 	}
 
+	/** returns the cache of node numbers, levels and index paths of the map of the node */
+	public NodeNumberCache getNodeNumberCache(NodeModel node) {
+		final NodeStyleController nodeStyleController = modeController.getExtension(NodeStyleController.class);
+		return NodeNumberCache.of(node.getMap(), nodeStyleController::getNodeNumbering, () -> nodeNumberingEnabled);
+	}
+
 	public ModeController getModeController() {
 		return modeController;
 	}
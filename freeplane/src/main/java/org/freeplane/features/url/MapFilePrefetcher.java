@@ -0,0 +1,177 @@
+package org.freeplane.features.url;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads and uncompresses the files of several maps concurrently while the maps are opened one after another.
+ *
+ * Parsing and registering the maps stays on the calling thread, because the read handlers share state
+ * and some of them show dialogs. Files which are not opened before the prefetcher is closed are discarded.
+ * Only a few files are read ahead of the opened ones, and their total length is limited,
+ * so that opening many large maps does not keep all of them in memory at once.
+ */
+public class MapFilePrefetcher implements AutoCloseable {
+	interface ContentReader {
+		byte[] read(File file) throws IOException;
+	}
+
+	private static class PrefetchedFile {
+		final Future<byte[]> content;
+		final long length;
+
+		PrefetchedFile(final Future<byte[]> content, final long length) {
+			this.content = content;
+			this.length = length;
+		}
+	}
+
+	static final int THREAD_COUNT = Math.max(4, Runtime.getRuntime().availableProcessors());
+	static final long MAX_PREFETCHED_LENGTH = 64L * 1024 * 1024;
+	private static ExecutorService executorService;
+	private static final Set<MapFilePrefetcher> activePrefetchers = ConcurrentHashMap.newKeySet();
+
+	private static synchronized ExecutorService executorService() {
+		if (executorService == null) {
+			executorService = Executors.newFixedThreadPool(THREAD_COUNT, r -> {
+				final Thread thread = Executors.defaultThreadFactory().newThread(r);
+				thread.setName("map prefetch " + thread.getName());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return executorService;
+	}
+
+	private final ContentReader contentReader;
+	private final long maxPrefetchedLength;
+	private final Deque<File> waitingFiles;
+	private final Map<File, PrefetchedFile> prefetchedFiles;
+	private long prefetchedLength;
+
+	public static MapFilePrefetcher prefetch(final Collection<File> files) {
+		return new MapFilePrefetcher(files, MapFilePrefetcher::readUncompressed, MAX_PREFETCHED_LENGTH);
+	}
+
+	MapFilePrefetcher(final Collection<File> files, final ContentReader contentReader, final long maxPrefetchedLength) {
+		this.contentReader = contentReader;
+		this.maxPrefetchedLength = maxPrefetchedLength;
+		waitingFiles = new ArrayDeque<>();
+		prefetchedFiles = new HashMap<>();
+		prefetchedLength = 0;
+		if (files.size() > 1) {
+			for (final File file : files) {
+				if (file.isFile()) {
+					final File key = key(file);
+					if (!waitingFiles.contains(key))
+						waitingFiles.add(key);
+				}
+			}
+			prefetchNextFiles();
+			activePrefetchers.add(this);
+		}
+	}
+
+	/** the next file is read if less than THREAD_COUNT files are held and their length fits into the limit */
+	private synchronized void prefetchNextFiles() {
+		while (!waitingFiles.isEmpty() && prefetchedFiles.size() < THREAD_COUNT) {
+			final File file = waitingFiles.peek();
+			final long length = file.length();
+			if (!prefetchedFiles.isEmpty() && prefetchedLength + length > maxPrefetchedLength)
+				return;
+			waitingFiles.remove();
+			prefetchedFiles.put(file, new PrefetchedFile(executorService().submit(() -> contentReader.read(file)), length));
+			prefetchedLength += length;
+		}
+	}
+
+	synchronized int prefetchedFileCount() {
+		return prefetchedFiles.size();
+	}
+
+	private static File key(final File file) {
+		try {
+			return file.getCanonicalFile();
+		}
+		catch (final IOException e) {
+			return file.getAbsoluteFile();
+		}
+	}
+
+	private static byte[] readUncompressed(final File file) throws IOException {
+		try (InputStream in = MapStreams.uncompressed(new FileInputStream(file))) {
+			final ByteArrayOutputStream content = new ByteArrayOutputStream((int) Math.min(file.length(), Integer.MAX_VALUE - 8));
+			final byte[] buffer = new byte[64 * 1024];
+			for (int readCount = in.read(buffer); readCount >= 0; readCount = in.read(buffer))
+				content.write(buffer, 0, readCount);
+			return content.toByteArray();
+		}
+	}
+
+	/** returns the uncompressed content of the map file, prefetched if it is available */
+	public static InputStream openUncompressed(final File file) throws IOException {
+		final File key = key(file);
+		for (final MapFilePrefetcher prefetcher : activePrefetchers) {
+			try {
+				final byte[] content = prefetcher.take(key);
+				if (content != null)
+					return new ByteArrayInputStream(content);
+			}
+			catch (final IOException e) {
+				break;
+			}
+		}
+		return MapStreams.uncompressed(new FileInputStream(file));
+	}
+
+	byte[] take(final File file) throws IOException {
+		final PrefetchedFile prefetchedFile;
+		synchronized (this) {
+			prefetchedFile = prefetchedFiles.remove(file);
+			waitingFiles.remove(file);
+			if (prefetchedFile != null)
+				prefetchedLength -= prefetchedFile.length;
+			prefetchNextFiles();
+		}
+		if (prefetchedFile == null)
+			return null;
+		try {
+			return prefetchedFile.content.get();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException(e);
+		}
+		catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			throw new IOException(cause);
+		}
+	}
+
+	@Override
+	public synchronized void close() {
+		activePrefetchers.remove(this);
+		waitingFiles.clear();
+		for (final PrefetchedFile prefetchedFile : prefetchedFiles.values())
+			prefetchedFile.content.cancel(true);
+		prefetchedFiles.clear();
+		prefetchedLength = 0;
+	}
+}
@@ -0,0 +1,38 @@
+package org.freeplane.features.url;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.util.ParallelGZIPOutputStream;
+
+/**
+ * Maps, automatic saves and backups are optionally saved gzip compressed.
+ * Compressed content is recognized by its gzip header when it is read, so the file extensions do not change.
+ * Other programs reading .mm files as XML can not read compressed maps, the option description warns about it.
+ */
+public class MapStreams {
+	public static final String COMPRESS_SAVED_MAPS_PROPERTY = "compress_saved_maps";
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	/** returns the uncompressed content of both compressed and uncompressed map streams */
+	public static InputStream uncompressed(final InputStream in) throws IOException {
+		final InputStream markableInput = in.markSupported() ? in : new BufferedInputStream(in, BUFFER_SIZE);
+		markableInput.mark(2);
+		final int firstByte = markableInput.read();
+		final int secondByte = markableInput.read();
+		markableInput.reset();
+		if (firstByte == (GZIPInputStream.GZIP_MAGIC & 0xff) && secondByte == (GZIPInputStream.GZIP_MAGIC >> 8))
+			return new BufferedInputStream(new GZIPInputStream(markableInput, BUFFER_SIZE), BUFFER_SIZE);
+		return markableInput;
+	}
+
+	public static OutputStream compressedIfEnabled(final OutputStream out) {
+		if (ResourceController.getResourceController().getBooleanProperty(COMPRESS_SAVED_MAPS_PROPERTY))
+			return new ParallelGZIPOutputStream(out);
+		return out;
+	}
+}
@@ -262,7 +262,7 @@ public class UrlManager implements IExtension {
 	public void load(final URL url, final MapModel map)
 			throws IOException, XMLException {
 		setURL(map, url);
-		InputStream inputStream = getLocation(url).openStream();
+		InputStream inputStream = MapStreams.uncompressed(getLocation(url).openStream());
 		try (InputStreamReader urlStreamReader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
 			final ModeController modeController = Controller.getCurrentModeController();
 			modeController.getMapController().getMapReader().createNodeTreeFromXml(map, urlStreamReader, Mode.FILE);
@@ -1,12 +1,18 @@
 package org.freeplane.features.url.mindmapmode;
 
+import java.io.File;
 import java.net.URL;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 import org.freeplane.core.ui.FileOpener.Listener;
+import org.freeplane.core.util.Compat;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.mode.mindmapmode.MModeController;
+import org.freeplane.features.url.MapFilePrefetcher;
 
 public class DroppedMindMapOpener implements Listener{
 
@@ -16,8 +22,11 @@ public class DroppedMindMapOpener implements Listener{
 			return;
 		Controller.getCurrentController().selectMode(MModeController.MODENAME);
 		ModeController modeController = Controller.getCurrentModeController();
-		for(URL url :  urls){
-			modeController.getMapController().openMap(url);
+		final List<File> files = urls.stream().map(Compat::urlToFile).filter(Objects::nonNull).collect(Collectors.toList());
+		try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(files)) {
+			for(URL url :  urls){
+				modeController.getMapController().openMap(url);
+			}
 		}
 	}
 }
\ No newline at end of file
@@ -23,11 +23,9 @@ import java.awt.Component;
 import java.awt.dnd.DropTarget;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.io.BufferedInputStream;
 import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
@@ -95,6 +93,8 @@ import org.freeplane.features.mode.mindmapmode.MModeController;
 import org.freeplane.features.text.TextController;
 import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.url.IMapInputStreamConverter;
+import org.freeplane.features.url.MapFilePrefetcher;
+import org.freeplane.features.url.MapStreams;
 import org.freeplane.features.url.MapVersionInterpreter;
 import org.freeplane.features.url.UrlManager;
 import org.freeplane.n3.nanoxml.XMLException;
@@ -515,7 +515,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 	        XMLException {
 		int versionInfoLength = 1000;
 		final byte[] buffer = new byte[versionInfoLength];
-        try (final BufferedInputStream file = new BufferedInputStream(new FileInputStream(f))) {
+        try (final InputStream file = MapFilePrefetcher.openUncompressed(f)) {
             final int readCount = file.read(buffer);
             final String mapStart = new String(buffer, StandardCharsets.UTF_8.name());
             final ByteArrayInputStream readBytes = new ByteArrayInputStream(buffer, 0, readCount);
@@ -581,15 +581,17 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 		}
 		File[] selectedFiles;
 		selectedFiles = chooser.getSelectedFiles();
-		for (int i = 0; i < selectedFiles.length; i++) {
-			final File theFile = selectedFiles[i];
-			try {
-				setLastCurrentDir(theFile.getParentFile());
-				Controller.getCurrentModeController().getMapController().openMap(Compat.fileToUrl(theFile));
-			}
-			catch (final Exception ex) {
-				handleLoadingException(ex);
-				break;
+		try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(Arrays.asList(selectedFiles))) {
+			for (int i = 0; i < selectedFiles.length; i++) {
+				final File theFile = selectedFiles[i];
+				try {
+					setLastCurrentDir(theFile.getParentFile());
+					Controller.getCurrentModeController().getMapController().openMap(Compat.fileToUrl(theFile));
+				}
+				catch (final Exception ex) {
+					handleLoadingException(ex);
+					break;
+				}
 			}
 		}
 		Controller.getCurrentController().getMapViewManager().setMapTitles();
@@ -872,7 +874,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 			if (lockedByOtherApplication) {
 				throw new IOException("can not obtain file lock for " + file);
 			}
-			final BufferedWriter fileout = new BufferedWriter(new OutputStreamWriter(out,//
+			final BufferedWriter fileout = new BufferedWriter(new OutputStreamWriter(MapStreams.compressedIfEnabled(out),//
 				StandardCharsets.UTF_8));
 			Controller.getCurrentModeController().getMapController().getMapWriter()
 			    .writeMapAsXml(map, fileout, Mode.FILE, true, false);
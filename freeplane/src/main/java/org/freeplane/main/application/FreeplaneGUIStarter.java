@@ -30,7 +30,10 @@ import java.io.File;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.swing.JFrame;
 import javax.swing.JPanel;
@@ -46,6 +49,7 @@ import org.freeplane.core.ui.menubuilders.generic.PhaseProcessor.Phase;
 import org.freeplane.core.util.Compat;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.MenuUtils;
+import org.freeplane.core.util.StartupTimeline;
 import org.freeplane.core.util.logging.internal.LogInitializer;
 import org.freeplane.features.attribute.ModelessAttributeController;
 import org.freeplane.features.explorer.MapExplorerConditionController;
@@ -73,6 +77,7 @@ import org.freeplane.features.styles.MapViewLayout;
 import org.freeplane.features.text.TextController;
 import org.freeplane.features.time.TimeController;
 import org.freeplane.features.ui.FrameController;
+import org.freeplane.features.url.MapFilePrefetcher;
 import org.freeplane.features.url.mindmapmode.MFileManager;
 import org.freeplane.main.addons.AddOnsController;
 import org.freeplane.main.application.CommandLineParser.Options;
@@ -275,11 +280,15 @@ public class FreeplaneGUIStarter implements FreeplaneStarter {
 
 			@Override
 			public void run() {
-				showFrame();
+				try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "show frame")) {
+					showFrame();
+				}
 				EventQueue.invokeLater(new Runnable() {
 					@Override
 					public void run() {
-						loadMaps();
+						try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "load maps")) {
+							loadMaps();
+						}
 						finishStartup();
 					}
 				});
@@ -335,7 +344,10 @@ public class FreeplaneGUIStarter implements FreeplaneStarter {
 	}
 
 	private void fireStartupFinished() {
-		Controller.getCurrentController().fireStartupFinished();
+		try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "startup finished listeners")) {
+			Controller.getCurrentController().fireStartupFinished();
+		}
+		StartupTimeline.finish();
 	}
 
 	private void loadMaps() {
@@ -409,10 +421,14 @@ public class FreeplaneGUIStarter implements FreeplaneStarter {
 
     private void loadMaps(final Controller controller, final String[] args) {
 		controller.selectMode(MModeController.MODENAME);
-		for (int i = 0; i < args.length; i++) {
-			loadMap(args[i]);
+		final List<File> files = Stream.concat(Arrays.stream(args), MacOptions.macFilesToOpen.stream())
+		    .map(File::new).collect(Collectors.toList());
+		try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(files)) {
+			for (int i = 0; i < args.length; i++) {
+				loadMap(args[i]);
+			}
+			MacOptions.macFilesToOpen.forEach(this::loadMap);
 		}
-		MacOptions.macFilesToOpen.forEach(this::loadMap);
     }
 
     private void loadMap(String fileArgument) {
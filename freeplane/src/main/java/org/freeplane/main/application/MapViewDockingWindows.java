@@ -32,10 +32,13 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Vector;
 
@@ -55,9 +58,12 @@ import org.apache.commons.codec.binary.Base64;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.FileOpener;
 import org.freeplane.core.ui.components.UITools;
+import org.freeplane.core.util.Compat;
+import org.freeplane.core.util.ConfigurationUtils;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.ui.IMapViewChangeListener;
+import org.freeplane.features.url.MapFilePrefetcher;
 import org.freeplane.features.url.mindmapmode.DroppedMindMapOpener;
 import org.freeplane.view.swing.map.MapView;
 import org.freeplane.view.swing.map.NodeView;
@@ -88,6 +94,7 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 
 	// // 	final private Controller controller;
 	private static final String OPENED_NOW = "openedNow_1.3.04";
+	private static final String OPENED_NOW_FILES = "openedNowFiles";
 	private RootWindow rootWindow = null;
 	final private Vector<Component> mapViews;
 	private boolean mPaneSelectionUpdate = true;
@@ -266,7 +273,8 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 					return;
 				}
 			}
-	        addDockedWindow(pOldMap, pNewMap);
+			if(! replacePlaceholder(pNewMap))
+				addDockedWindow(pOldMap, pNewMap);
         }
 		else if(mapViews.contains(pNewMap))
 			return;
@@ -298,6 +306,37 @@ class MapViewDockingWindows implements IMapViewChangeListener {
         return view;
     }
 
+	private boolean replacePlaceholder(final Component pNewMap) {
+		return replacePlaceholder(rootWindow, ((MapView) pNewMap).getModel().getURL(), pNewMap, createTitle(pNewMap));
+	}
+
+	/** the new map view takes the tab of the placeholder restored for its url */
+	static boolean replacePlaceholder(final DockingWindow window, final URL url, final Component pNewMap, final String title) {
+		final View placeholderView = findPlaceholderView(window, url);
+		if(placeholderView == null)
+			return false;
+		final JScrollPane scrollPane = (JScrollPane) placeholderView.getComponent();
+		scrollPane.getViewport().setView(pNewMap);
+		placeholderView.getViewProperties().setTitle(title);
+		placeholderView.restoreFocus();
+		return true;
+	}
+
+	static private View findPlaceholderView(final DockingWindow window, final URL url) {
+		if(window instanceof View) {
+			final Component component = getContainedMapView((View) window);
+			if(url != null && component instanceof MapViewPlaceholder && url.equals(((MapViewPlaceholder) component).getURL()))
+				return (View) window;
+			return null;
+		}
+		for (int windowIndex = 0; windowIndex < window.getChildWindowCount(); windowIndex++) {
+			final View placeholderView = findPlaceholderView(window.getChildWindow(windowIndex), url);
+			if(placeholderView != null)
+				return placeholderView;
+		}
+		return null;
+	}
+
 	private void addDockedWindow(final Component pOldMap, final Component pNewMap) {
 	    final View viewFrame = viewSerializer.newDockedView(pNewMap, createTitle(pNewMap));
 		addDockedView(pOldMap != null ? getContainingDockedWindow(pOldMap) : null, viewFrame);
@@ -317,7 +356,7 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		}
 	}
 	private void viewSelectionChanged(final Component mapView) {
-		if (!mPaneSelectionUpdate) {
+		if (!mPaneSelectionUpdate || mapView instanceof MapViewPlaceholder) {
 			return;
 		}
 		Controller controller = Controller.getCurrentController();
@@ -338,6 +377,9 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 			objectStream.close();
 			String encodedBytes = Base64.encodeBase64String(byteStream.toByteArray());
 			ResourceController.getResourceController().setProperty(OPENED_NOW, encodedBytes);
+			final ArrayList<String> openedFiles = new ArrayList<String>();
+			addMapFiles(openedFiles, rootWindow);
+			ResourceController.getResourceController().setProperty(OPENED_NOW_FILES, ConfigurationUtils.encodeListValue(openedFiles, true));
         }
         catch (IOException e) {
 	        e.printStackTrace();
@@ -349,9 +391,11 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		if(encodedBytes != null){
 			byte[] bytes = Base64.decodeBase64(encodedBytes);
 			ByteArrayInputStream byteStream = new ByteArrayInputStream(bytes);
-			try {
+			try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(filesOpenedOnStart())) {
 				loadingLayoutFromObjectInpusStream = true;
+				final long startTime = System.nanoTime();
 				rootWindow.read(new ObjectInputStream(byteStream));
+				LogUtils.info("restored map layout in " + (System.nanoTime() - startTime) / 1000000 + " ms");
 			}
 			catch (Exception e) {
 				LogUtils.severe(e);
@@ -369,6 +413,17 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 		}
 	}
 
+	/** maps restored on demand are loaded one at a time when shown, so there is nothing to read ahead for them */
+	private List<File> filesOpenedOnStart() {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		if(resourceController.getBooleanProperty(MapViewPlaceholder.LOAD_LAST_MAPS_ON_DEMAND_PROPERTY))
+			return Collections.emptyList();
+		final List<File> files = new ArrayList<File>();
+		for(String path : ConfigurationUtils.decodeListValue(resourceController.getProperty(OPENED_NOW_FILES, ""), true))
+			files.add(new File(path));
+		return files;
+	}
+
 	public void focusMapViewLater(final MapView mapView) {
 		Timer timer = new Timer(40, new ActionListener() {
 			int retryCount = 5;
@@ -450,7 +505,10 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 				final int nextWindowIndex = (childWindowIndex + childWindowCount + tabIndexChange) % childWindowCount;
 				final View nextWindow = (View) tabWindow.getChildWindow(nextWindowIndex);
 				final Component nextMapView = getContainedMapView(nextWindow);
-				Controller.getCurrentController().getMapViewManager().changeToMapView(nextMapView);
+				if(nextMapView instanceof MapViewPlaceholder)
+					nextWindow.restoreFocus();
+				else
+					Controller.getCurrentController().getMapViewManager().changeToMapView(nextMapView);
 			}
 		}
 	}
@@ -504,10 +562,32 @@ class MapViewDockingWindows implements IMapViewChangeListener {
 	}
 
 	private void addMapViews(ArrayList<Component> orderedMapViews, DockingWindow window) {
-		if(window instanceof View)
-			orderedMapViews.add(getContainedMapView((View) window));
+		if(window instanceof View) {
+			final Component mapView = getContainedMapView((View) window);
+			if(! (mapView instanceof MapViewPlaceholder))
+				orderedMapViews.add(mapView);
+		}
 		else
 			for (int windowIndex = 0; windowIndex < window.getChildWindowCount(); windowIndex++)
 				addMapViews(orderedMapViews, window.getChildWindow(windowIndex));
 	}
+
+	private void addMapFiles(List<String> files, DockingWindow window) {
+		if(window instanceof View) {
+			final Component mapView = getContainedMapView((View) window);
+			final URL url;
+			if(mapView instanceof MapView)
+				url = ((MapView) mapView).getModel().getURL();
+			else if(mapView instanceof MapViewPlaceholder)
+				url = ((MapViewPlaceholder) mapView).getURL();
+			else
+				url = null;
+			final File file = url != null ? Compat.urlToFile(url) : null;
+			if(file != null)
+				files.add(file.getPath());
+		}
+		else
+			for (int windowIndex = 0; windowIndex < window.getChildWindowCount(); windowIndex++)
+				addMapFiles(files, window.getChildWindow(windowIndex));
+	}
 }
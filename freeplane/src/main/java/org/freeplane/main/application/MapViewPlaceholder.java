@@ -0,0 +1,71 @@
+package org.freeplane.main.application;
+
+import java.awt.event.HierarchyEvent;
+import java.io.File;
+import java.net.URL;
+
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.util.Compat;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.url.UrlManager;
+
+import net.infonode.docking.View;
+
+/**
+ * Stands for a map restored from the last session until its tab is shown for the first time.
+ * The map is loaded when the placeholder becomes visible, its view then replaces the placeholder.
+ */
+@SuppressWarnings("serial")
+class MapViewPlaceholder extends JPanel {
+	static final String LOAD_LAST_MAPS_ON_DEMAND_PROPERTY = "load_last_maps_on_demand";
+	private final String modeName;
+	private final URL url;
+
+	MapViewPlaceholder(final String modeName, final URL url) {
+		this.modeName = modeName;
+		this.url = url;
+		setName(title(url));
+		addHierarchyListener(e -> {
+			if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && isShowing())
+				SwingUtilities.invokeLater(this::loadMap);
+		});
+	}
+
+	private static String title(final URL url) {
+		final File file = Compat.urlToFile(url);
+		final String path = url.getPath();
+		final String fileName = file != null ? file.getName() : path.substring(path.lastIndexOf('/') + 1);
+		if (fileName.endsWith(UrlManager.FREEPLANE_FILE_EXTENSION))
+			return fileName.substring(0, fileName.length() - UrlManager.FREEPLANE_FILE_EXTENSION.length());
+		return fileName.isEmpty() ? url.toString() : fileName;
+	}
+
+	String getModeName() {
+		return modeName;
+	}
+
+	URL getURL() {
+		return url;
+	}
+
+	private void loadMap() {
+		if (!isShowing())
+			return;
+		final long startTime = System.nanoTime();
+		try {
+			final Controller controller = Controller.getCurrentController();
+			controller.selectMode(modeName);
+			controller.getModeController().getMapController().openMap(url);
+			LogUtils.info("restored map " + url + " in " + (System.nanoTime() - startTime) / 1000000 + " ms");
+		}
+		catch (final Exception e) {
+			LogUtils.warn("can not restore map " + url, e);
+		}
+		final View placeholderView = (View) SwingUtilities.getAncestorOfClass(View.class, this);
+		if (placeholderView != null)
+			placeholderView.close();
+	}
+}
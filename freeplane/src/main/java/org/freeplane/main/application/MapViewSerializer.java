@@ -32,6 +32,7 @@ import javax.swing.JPanel;
 import net.infonode.docking.View;
 import net.infonode.docking.ViewSerializer;
 
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.mindmapmode.DocuMapAttribute;
 import org.freeplane.features.mode.Controller;
@@ -60,6 +61,13 @@ class MapViewSerializer implements ViewSerializer {
     				return;
     			}
             }
+    		else if (component instanceof MapViewPlaceholder) {
+    			MapViewPlaceholder placeholder = (MapViewPlaceholder) component;
+    			out.writeBoolean(true);
+    			out.writeUTF(placeholder.getModeName());
+    			out.writeObject(placeholder.getURL());
+    			return;
+    		}
     	}
     	out.writeBoolean(false);
     }
@@ -71,6 +79,10 @@ class MapViewSerializer implements ViewSerializer {
     			URL mapUrl = (URL) in.readObject();
     			if(mapUrl == null)
     				return newViewToBeRemoved();
+    			if(ResourceController.getResourceController().getBooleanProperty(MapViewPlaceholder.LOAD_LAST_MAPS_ON_DEMAND_PROPERTY)) {
+    				final MapViewPlaceholder placeholder = new MapViewPlaceholder(modeName, mapUrl);
+    				return newDockedView(placeholder, placeholder.getName());
+    			}
     			Controller controller = Controller.getCurrentController();
     			controller.selectMode(modeName);
     			ModeController modeController = Controller.getCurrentModeController();
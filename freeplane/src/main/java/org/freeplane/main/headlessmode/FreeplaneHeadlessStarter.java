@@ -23,6 +23,7 @@ import java.util.Set;
 
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
+import org.freeplane.core.util.StartupTimeline;
 import org.freeplane.core.util.logging.internal.LogInitializer;
 import org.freeplane.features.attribute.ModelessAttributeController;
 import org.freeplane.features.filter.FilterController;
@@ -111,6 +112,7 @@ public class FreeplaneHeadlessStarter implements FreeplaneStarter {
 		ModeController modeController = controller.getModeController(MModeController.MODENAME);
 		controller.selectModeForBuild(modeController);
 		Controller.getCurrentController().fireStartupFinished();
+		StartupTimeline.finish();
 	}
 
 	@Override
@@ -36,6 +36,7 @@ import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.Compat;
 import org.freeplane.core.util.FileUtils;
 import org.freeplane.core.util.LogUtils;
+import org.freeplane.core.util.StartupTimeline;
 import org.freeplane.features.filter.FilterController;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
@@ -110,7 +111,7 @@ class ActivatorImpl implements BundleActivator {
 		final String freeplaneUserDirectory = Compat.getApplicationUserDirectory();
 		loadPlugins(context, new File(freeplaneUserDirectory), loadedPlugins);
 		for(Bundle plugin:loadedPlugins){
-			try{
+			try (StartupTimeline.Phase phase = StartupTimeline.start("plugin", "start " + plugin.getSymbolicName())){
 				plugin.start();
 				System.out.println("Started: " + plugin.getLocation() + " (id#" + plugin.getBundleId() + ")");
 			}
@@ -158,6 +159,9 @@ class ActivatorImpl implements BundleActivator {
 	}
 
 	private void startFramework(final BundleContext context) {
+		final Long launcherStartNanos = Long.getLong(StartupTimeline.LAUNCHER_START_PROPERTY);
+		if(launcherStartNanos != null)
+			StartupTimeline.recordSince("framework", "start OSGi framework and core bundles", launcherStartNanos);
         registerClasspathUrlHandler(context, ResourceController.FREEPLANE_RESOURCE_URL_PROTOCOL, new Handler());
         registerClasspathUrlHandler(context, DataHandler.PROTOCOL, new DataHandler());
 		if (null == System.getProperty("org.freeplane.core.dir.lib", null)) {
@@ -188,10 +192,19 @@ class ActivatorImpl implements BundleActivator {
 		else if (singleInstanceManager.isMasterPresent()) {
 			starter.setDontLoadLastMaps();
 		}
-		loadPlugins(context);
-		final Controller controller = starter.createController();
-		starter.createModeControllers(controller);
-		installControllerExtensions(context, controller);
+		try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "load plugins")) {
+			loadPlugins(context);
+		}
+		final Controller controller;
+		try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "create controller")) {
+			controller = starter.createController();
+		}
+		try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "create mode controllers")) {
+			starter.createModeControllers(controller);
+		}
+		try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "install plugin extensions")) {
+			installControllerExtensions(context, controller);
+		}
 		if ("true".equals(System.getProperty("org.freeplane.exit_on_start", null))) {
 			controller.getViewController().invokeLater(new Runnable() {
 				@Override
@@ -212,7 +225,9 @@ class ActivatorImpl implements BundleActivator {
 						plugins.add(bundle.getSymbolicName());
 				}
 				FilterController.getController(controller).loadDefaultConditions();
-				starter.buildMenus(controller, plugins);
+				try (StartupTimeline.Phase phase = StartupTimeline.start("phase", "build menus")) {
+					starter.buildMenus(controller, plugins);
+				}
 				starter.createFrame();
 			}
 		});
@@ -236,7 +251,10 @@ class ActivatorImpl implements BundleActivator {
 						final ServiceReference controllerProvider = controllerProviders[i];
 						final IControllerExtensionProvider service = (IControllerExtensionProvider) context
 						    .getService(controllerProvider);
-						service.installExtension(controller);
+						try (StartupTimeline.Phase phase = StartupTimeline.start("plugin", "install "
+						        + controllerProvider.getBundle().getSymbolicName())) {
+							service.installExtension(controller);
+						}
 						context.ungetService(controllerProvider);
 					}
 				}
@@ -256,7 +274,10 @@ class ActivatorImpl implements BundleActivator {
 							final ServiceReference modeControllerProvider = modeControllerProviders[i];
 							final IModeControllerExtensionProvider service = (IModeControllerExtensionProvider) context
 							    .getService(modeControllerProvider);
-							service.installExtension(modeController);
+							try (StartupTimeline.Phase phase = StartupTimeline.start("plugin", "install "
+							        + modeControllerProvider.getBundle().getSymbolicName() + " in " + modeName)) {
+								service.installExtension(modeController);
+							}
 							context.ungetService(modeControllerProvider);
 						}
 					}
@@ -476,6 +476,27 @@ public class XMLElement implements Serializable {
 		return attributes.size();
 	}
 
+	/**
+	 * Returns the full name of the attribute at the given index.
+	 */
+	public String getAttributeFullName(final int index) {
+		return attributes.elementAt(index).getFullName();
+	}
+
+	/**
+	 * Returns the namespace of the attribute at the given index.
+	 */
+	public String getAttributeNamespace(final int index) {
+		return attributes.elementAt(index).getNamespace();
+	}
+
+	/**
+	 * Returns the value of the attribute at the given index.
+	 */
+	public String getAttributeValue(final int index) {
+		return attributes.elementAt(index).getValue();
+	}
+
 	/**
 	 * Returns the namespace of an attribute.
 	 * 
@@ -36,6 +36,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.EventListener;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -57,7 +58,7 @@ import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableCellRenderer;
 import javax.swing.text.JTextComponent;
 
@@ -99,7 +100,7 @@ class NodeList {
 
 				@Override
 				public void run() {
-					tableModel.fireTableDataChanged();
+					tableModel.fireChangedRows();
 				}
 			});
 		}
@@ -137,7 +138,7 @@ class NodeList {
 
 		@Override
 		public void nodeChanged(NodeChangeEvent event) {
-			if(hasTableFieldValueChanged(event.getProperty()))
+			if(hasTableFieldValueChanged(event.getProperty()) && tableModel.invalidateRow(event.getNode()))
 				runner.runLater();
         }
 
@@ -147,6 +148,114 @@ class NodeList {
         }
     }
 
+	/**
+	 * Table model backed by the listed nodes. Cell values are created when they are first requested,
+	 * changed nodes only invalidate their own rows.
+	 */
+	final private class NodeTableModel extends AbstractTableModel {
+		private static final long serialVersionUID = 1L;
+		private final List<NodeModel> nodes;
+		private final Map<NodeModel, Integer> rowIndices;
+		private final Object[][] cells;
+		private final String[] columnNames;
+		private int firstChangedRow;
+		private int lastChangedRow;
+
+		NodeTableModel(final List<NodeModel> nodes) {
+			this.nodes = nodes;
+			rowIndices = new HashMap<NodeModel, Integer>(nodes.size() * 4 / 3 + 1);
+			for (int row = 0; row < nodes.size(); row++)
+				rowIndices.put(nodes.get(row), row);
+			cells = new Object[nodes.size()][];
+			columnNames = searchInAllMaps
+					? new String[] {COLUMN_MAP, COLUMN_TEXT, COLUMN_ICONS, COLUMN_DETAILS, COLUMN_NOTES, COLUMN_REMINDER, COLUMN_CREATED, COLUMN_MODIFIED}
+					: new String[] {COLUMN_TEXT, COLUMN_ICONS, COLUMN_DETAILS, COLUMN_NOTES, COLUMN_REMINDER, COLUMN_CREATED, COLUMN_MODIFIED};
+			resetChangedRows();
+		}
+
+		@Override
+		public int getRowCount() {
+			return nodes.size();
+		}
+
+		@Override
+		public int getColumnCount() {
+			return columnNames.length;
+		}
+
+		@Override
+		public String getColumnName(final int column) {
+			return columnNames[column];
+		}
+
+		@Override
+		public Class<?> getColumnClass(final int column) {
+			if (column == nodeReminderColumn || column == nodeCreatedColumn || column == nodeModifiedColumn) {
+				return Date.class;
+			}
+			else if (column == nodeTextColumn || column == nodeNotesColumn || column == nodeDetailsColumn) {
+				return TextHolder.class;
+			}
+			else if (column == nodeMapColumn) {
+				return String.class;
+			}
+			else if (column == nodeIconColumn) {
+				return IconsHolder.class;
+			}
+			else {
+				return Object.class;
+			}
+		}
+
+		@Override
+		public Object getValueAt(final int row, final int column) {
+			final Object[] rowCells = rowCells(row);
+			Object value = rowCells[column];
+			if (value == NOT_CREATED) {
+				value = createCellValue(nodes.get(row), column);
+				rowCells[column] = value;
+			}
+			return value;
+		}
+
+		@Override
+		public void setValueAt(final Object value, final int row, final int column) {
+			rowCells(row)[column] = value;
+			fireTableCellUpdated(row, column);
+		}
+
+		private Object[] rowCells(final int row) {
+			Object[] rowCells = cells[row];
+			if (rowCells == null) {
+				rowCells = new Object[getColumnCount()];
+				Arrays.fill(rowCells, NOT_CREATED);
+				cells[row] = rowCells;
+			}
+			return rowCells;
+		}
+
+		boolean invalidateRow(final NodeModel node) {
+			final Integer row = rowIndices.get(node);
+			if (row == null)
+				return false;
+			cells[row] = null;
+			firstChangedRow = Math.min(firstChangedRow, row);
+			lastChangedRow = Math.max(lastChangedRow, row);
+			return true;
+		}
+
+		void fireChangedRows() {
+			if (firstChangedRow <= lastChangedRow)
+				fireTableRowsUpdated(firstChangedRow, lastChangedRow);
+			resetChangedRows();
+		}
+
+		private void resetChangedRows() {
+			firstChangedRow = Integer.MAX_VALUE;
+			lastChangedRow = -1;
+		}
+	}
+
 	final private class FilterTextDocumentListener implements DocumentListener, ActionListener {
 		private Timer mTypeDelayTimer = null;
 		private String selectedItem = "";
@@ -293,6 +402,7 @@ class NodeList {
 	static final String REMINDER_TEXT_WINDOW_TITLE = "reminder.WindowTitle";
 	public static final String REMINDER_TEXT_WINDOW_TITLE_ALL_NODES = "reminder.WindowTitle_All_Nodes";
 
+	private static final Object NOT_CREATED = new Object();
 	private static String COLUMN_MODIFIED = TextUtils.getText(REMINDER_TEXT_MODIFIED);
 	private static String COLUMN_CREATED = TextUtils.getText(REMINDER_TEXT_CREATED);
 	private static String COLUMN_ICONS = TextUtils.getText(REMINDER_TEXT_ICONS);
@@ -325,7 +435,7 @@ class NodeList {
 	}
 	TableSorter sorter;
 	final protected JTable tableView;
-	private DefaultTableModel tableModel;
+	private NodeTableModel tableModel;
 	private final boolean searchInAllMaps;
 	protected final JCheckBox useRegexInFind;
 	protected final JCheckBox matchCase;
@@ -468,9 +578,9 @@ class NodeList {
 			dialog.toFront();
 			return;
 		}
-		final DefaultTableModel model = createTableModel();
-		fillTableModel(model, nodeFilter);
-		tableModel = model;
+		final List<NodeModel> nodes = new ArrayList<NodeModel>();
+		collectNodes(nodes, nodeFilter);
+		tableModel = new NodeTableModel(nodes);
 		initializeUI();
 	}
 
@@ -479,9 +589,7 @@ class NodeList {
 			dialog.toFront();
 			return;
 		}
-		final DefaultTableModel model = createTableModel();
-		fillTableModel(model, nodes);
-		tableModel = model;
+		tableModel = new NodeTableModel(new ArrayList<NodeModel>(nodes));
 		initializeUI();
 	}
 
@@ -556,6 +664,7 @@ class NodeList {
 		sorter.setTableHeader(tableView.getTableHeader());
 		sorter.setColumnComparator(Date.class, TableSorter.COMPARABLE_COMPARATOR);
 		sorter.setColumnComparator(NodeModel.class, TableSorter.LEXICAL_COMPARATOR);
+		sorter.setColumnComparator(TextHolder.class, TableSorter.LEXICAL_COMPARATOR);
 		sorter.setColumnComparator(IconsHolder.class, TableSorter.COMPARABLE_COMPARATOR);
 		sorter.setSortingStatus(nodeReminderColumn, TableSorter.ASCENDING);
 		final JScrollPane pane = new JScrollPane(tableView);
@@ -691,105 +800,55 @@ class NodeList {
 	protected void createSpecificUI(Container contentPane, GridBagConstraints layoutConstraints) {
 	}
 
-	private void fillTableModel(DefaultTableModel model, List<NodeModel> nodes) {
-		for(NodeModel node : nodes) {
-			final ReminderExtension hook = ReminderExtension.getExtension(node);
-			final Object[] row = createTableRowData(node, hook);
-			model.addRow(row);
-		}
-	}
-
-	private void fillTableModel(final DefaultTableModel model, NodeFilter nodeFilter) {
+	private void collectNodes(final List<NodeModel> nodes, NodeFilter nodeFilter) {
 		if (searchInAllMaps == false) {
 			final MapModel map = Controller.getCurrentController().getMap();
 			if(map != null) {
 				final NodeModel node = map.getRootNode();
-				fillModel(model, node, nodeFilter);
+				collectNodes(nodes, node, nodeFilter);
 			}
 		}
 		else {
 			final Map<String, MapModel> maps = Controller.getCurrentController().getMapViewManager().getMaps(MModeController.MODENAME);
 			for (final MapModel map : maps.values()) {
 				final NodeModel node = map.getRootNode();
-				fillModel(model, node, nodeFilter);
+				collectNodes(nodes, node, nodeFilter);
 			}
 		}
 	}
 
-	private DefaultTableModel createTableModel() {
-		final DefaultTableModel model = new DefaultTableModel() {
-			/**
-			 *
-			 */
-			private static final long serialVersionUID = 1L;
-
-			/*
-			 * (non-Javadoc)
-			 * @see javax.swing.table.AbstractTableModel#getColumnClass(int)
-			 */
-			@Override
-			public Class<?> getColumnClass(final int column) {
-				if (column == nodeReminderColumn || column == nodeCreatedColumn || column == nodeModifiedColumn) {
-					return Date.class;
-				}
-				else if (column == nodeTextColumn || column == nodeNotesColumn || column == nodeDetailsColumn) {
-					return TextHolder.class;
-				}
-				else if (column == nodeMapColumn) {
-					return String.class;
-				}
-				else if (column == nodeIconColumn) {
-					return IconsHolder.class;
-				}
-				else {
-					return Object.class;
-				}
-			}
-		};
-		if(nodeMapColumn >= 0)
-			model.addColumn(COLUMN_MAP);
-		model.addColumn(COLUMN_TEXT);
-		model.addColumn(COLUMN_ICONS);
-		model.addColumn(COLUMN_DETAILS);
-		model.addColumn(COLUMN_NOTES);
-		model.addColumn(COLUMN_REMINDER);
-		model.addColumn(COLUMN_CREATED);
-		model.addColumn(COLUMN_MODIFIED);
-		return model;
-	}
-
-	private void fillModel(final DefaultTableModel model, final NodeModel node, NodeFilter nodeFilter) {
+	private void collectNodes(final List<NodeModel> nodes, final NodeModel node, NodeFilter nodeFilter) {
 		final ReminderExtension hook = ReminderExtension.getExtension(node);
 		if (nodeFilter.showsNode(node, hook)) {
-			final Object[] row = createTableRowData(node, hook);
-			model.addRow(row);
+			nodes.add(node);
 		}
 		for (final NodeModel child : node.getChildren()) {
-			fillModel(model, child, nodeFilter);
+			collectNodes(nodes, child, nodeFilter);
 		}
 	}
 
-	private Object[] createTableRowData(final NodeModel node, final ReminderExtension hook) {
-		final Date date = hook != null ? new Date(hook.getRemindUserAt()) : null;
-		final Object[] row = searchInAllMaps ? new Object[] {
-				node.getMap().getTitle(),
-				new TextHolder(new CoreTextAccessor(node)),
-				new IconsHolder(node),
-				new TextHolder(new DetailTextAccessor(node)) ,
-				new TextHolder(new NoteTextAccessor(node)),
-				date,
-				node.getHistoryInformation().getCreatedAt(),
-				node.getHistoryInformation().getLastModifiedAt()} :
-					new Object[] {
-							new TextHolder(new CoreTextAccessor(node)),
-							new IconsHolder(node),
-							new TextHolder(new DetailTextAccessor(node)) ,
-							new TextHolder(new NoteTextAccessor(node)),
-				date,
-				node.getHistoryInformation().getCreatedAt(),
-				node.getHistoryInformation().getLastModifiedAt()};
-		return row;
+	private Object createCellValue(final NodeModel node, final int column) {
+		if (column == nodeMapColumn)
+			return node.getMap().getTitle();
+		if (column == nodeTextColumn)
+			return new TextHolder(new CoreTextAccessor(node));
+		if (column == nodeIconColumn)
+			return new IconsHolder(node);
+		if (column == nodeDetailsColumn)
+			return new TextHolder(new DetailTextAccessor(node));
+		if (column == nodeNotesColumn)
+			return new TextHolder(new NoteTextAccessor(node));
+		if (column == nodeReminderColumn) {
+			final ReminderExtension hook = ReminderExtension.getExtension(node);
+			return hook != null ? new Date(hook.getRemindUserAt()) : null;
+		}
+		if (column == nodeCreatedColumn)
+			return node.getHistoryInformation().getCreatedAt();
+		if (column == nodeModifiedColumn)
+			return node.getHistoryInformation().getLastModifiedAt();
+		return null;
 	}
+
 	static private HashSet<Object> changeableProperties = new HashSet<Object>(
 			Arrays.asList(NodeModel.NODE_TEXT, NodeModel.NODE_ICON, DetailTextModel.class, NodeModel.NOTE_TEXT)
 			);
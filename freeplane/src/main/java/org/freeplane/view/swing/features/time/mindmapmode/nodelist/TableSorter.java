@@ -160,18 +160,29 @@ class TableSorter extends AbstractTableModel {
 
 	private class Row implements Comparable<Object> {
 		final private int modelIndex;
+		/** values of the sorting columns, taken once before sorting */
+		private Object[] sortKeys;
 
 		public Row(final int index) {
 			modelIndex = index;
 		}
 
+		private void takeSortKeys() {
+			sortKeys = new Object[sortingColumns.size()];
+			for (int i = 0; i < sortKeys.length; i++) {
+				final int column = sortingColumns.get(i).column;
+				final Object value = tableModel.getValueAt(modelIndex, column);
+				sortKeys[i] = value != null && getComparator(column) == TableSorter.LEXICAL_COMPARATOR ? value.toString() : value;
+			}
+		}
+
 		public int compareTo(final Object o) {
-			final int row1 = modelIndex;
-			final int row2 = ((Row) o).modelIndex;
-			for (final Directive directive : sortingColumns) {
+			final Row other = (Row) o;
+			for (int i = 0; i < sortKeys.length; i++) {
+				final Directive directive = sortingColumns.get(i);
 				final int column = directive.column;
-				final Object o1 = tableModel.getValueAt(row1, column);
-				final Object o2 = tableModel.getValueAt(row2, column);
+				final Object o1 = sortKeys[i];
+				final Object o2 = other.sortKeys[i];
 				int comparison = 0;
 				if (o1 == null && o2 == null) {
 					comparison = 0;
@@ -373,7 +384,13 @@ class TableSorter extends AbstractTableModel {
 				viewToModel[row] = new Row(row);
 			}
 			if (isSorting()) {
+				for (final Row row : viewToModel) {
+					row.takeSortKeys();
+				}
 				Arrays.sort(viewToModel);
+				for (final Row row : viewToModel) {
+					row.sortKeys = null;
+				}
 			}
 		}
 		return viewToModel;
@@ -0,0 +1,90 @@
+package org.freeplane.view.swing.map;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounds the memory used by the tiles of all map view layer caches together.
+ * When the estimated size of all tiles exceeds the limit,
+ * the least recently used tiles of any map view are evicted.
+ * Used only on the event dispatch thread.
+ */
+class LayerCacheMemory {
+	private static class Tile {
+		final MapViewLayerCache cache;
+		final long key;
+
+		Tile(MapViewLayerCache cache, long key) {
+			this.cache = cache;
+			this.key = key;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(cache) + Long.hashCode(key);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (! (obj instanceof Tile))
+				return false;
+			final Tile other = (Tile) obj;
+			return cache == other.cache && key == other.key;
+		}
+	}
+
+	private final Map<Tile, Long> tileSizes = new LinkedHashMap<Tile, Long>(16, 0.75f, true);
+	private long maximumBytes;
+	private long usedBytes;
+
+	LayerCacheMemory(long maximumBytes) {
+		this.maximumBytes = maximumBytes;
+	}
+
+	static long estimateSize(BufferedImage tile) {
+		final DataBuffer dataBuffer = tile.getRaster().getDataBuffer();
+		return (long) dataBuffer.getSize() * dataBuffer.getNumBanks() * DataBuffer.getDataTypeSize(dataBuffer.getDataType()) / 8;
+	}
+
+	void setMaximumBytes(long maximumBytes) {
+		this.maximumBytes = maximumBytes;
+		evictTilesExceedingLimit();
+	}
+
+	long getUsedBytes() {
+		return usedBytes;
+	}
+
+	void onTileUsed(MapViewLayerCache cache, long key) {
+		tileSizes.get(new Tile(cache, key));
+	}
+
+	/** evicts least recently used tiles, but never the added one */
+	void onTileAdded(MapViewLayerCache cache, long key, long size) {
+		final Long oldSize = tileSizes.put(new Tile(cache, key), size);
+		if (oldSize != null)
+			usedBytes -= oldSize;
+		usedBytes += size;
+		evictTilesExceedingLimit();
+	}
+
+	void onTileRemoved(MapViewLayerCache cache, long key) {
+		final Long size = tileSizes.remove(new Tile(cache, key));
+		if (size != null)
+			usedBytes -= size;
+	}
+
+	private void evictTilesExceedingLimit() {
+		for (Iterator<Map.Entry<Tile, Long>> iterator = tileSizes.entrySet().iterator();
+				usedBytes > maximumBytes && tileSizes.size() > 1;) {
+			final Map.Entry<Tile, Long> eldest = iterator.next();
+			iterator.remove();
+			usedBytes -= eldest.getValue();
+			final Tile tile = eldest.getKey();
+			tile.cache.onTileEvicted(tile.key);
+		}
+	}
+}
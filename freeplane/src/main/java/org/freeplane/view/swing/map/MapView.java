@@ -52,11 +52,11 @@ import java.net.URISyntaxException;
 import java.util.AbstractList;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -100,6 +100,7 @@ import org.freeplane.features.map.NodeChangeEvent;
 import org.freeplane.features.map.NodeDeletionEvent;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.map.NodeMoveEvent;
+import org.freeplane.features.map.StructureChangeBatch;
 import org.freeplane.features.map.NodeRelativePath;
 import org.freeplane.features.map.NodeSubtrees;
 import org.freeplane.features.map.SummaryNode;
@@ -353,6 +354,26 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
             	MapView.this.replaceSelection(views.toArray(new NodeView[]{}));
         }
 
+		@Override
+		public void addToSelection(final Collection<NodeModel> nodes) {
+			MapView.this.addSelected(nodeViews(nodes));
+		}
+
+		@Override
+		public void removeFromSelection(final Collection<NodeModel> nodes) {
+			MapView.this.deselect(nodeViews(nodes));
+		}
+
+		private List<NodeView> nodeViews(final Collection<NodeModel> nodes) {
+			final ArrayList<NodeView> views = new ArrayList<NodeView>(nodes.size());
+			for(final NodeModel node : nodes) {
+				final NodeView nodeView = getNodeView(node);
+				if (nodeView != null)
+					views.add(nodeView);
+			}
+			return views;
+		}
+
 		@Override
 		public List<String> getOrderedSelectionIds() {
 			final List<NodeModel> orderedSelection = getOrderedSelection();
@@ -375,169 +396,6 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	}
 
-	private class Selection {
-		final private Set<NodeView> selectedSet = new LinkedHashSet<NodeView>();
-		final private List<NodeView> selectedList = new ArrayList<NodeView>();
-		private NodeView selectedNode = null;
-		private NodeView selectionStart = null;
-		private NodeView selectionEnd = null;
-
-		public Selection() {
-		}
-
-		private void select(final NodeView node) {
-			clear();
-			selectedSet.add(node);
-			selectedList.add(node);
-			selectedNode = node;
-			selectionEnd = selectionStart = node;
-			addSelectionForHooks(node);
-			onSelectionChange(node);
-		}
-
-		private boolean add(final NodeView node) {
-			if(selectedNode == null){
-				select(node);
-				return true;
-			}
-			else{
-				if(selectedSet.add(node)){
-					selectedList.add(node);
-					onSelectionChange(node);
-					return true;
-				}
-				return false;
-			}
-		}
-
-		private void addSelectionForHooks(final NodeView node) {
-			if(! isSelected())
-				return;
-			final ModeController modeController = getModeController();
-			final MapController mapController = modeController.getMapController();
-			final NodeModel model = node.getModel();
-			mapController.onSelect(model);
-		}
-
-		private void clear() {
-			if (selectedNode != null) {
-				removeSelectionForHooks(selectedNode);
-				selectedNode = null;
-				selectedSet.clear();
-				selectedList.clear();
-				selectionEnd = selectionStart = null;
-			}
-		}
-
-		private boolean contains(final NodeView node) {
-			return selectedSet.contains(node);
-		}
-
-		public Set<NodeView> getSelection() {
-			return Collections.unmodifiableSet(selectedSet);
-		}
-
-		private boolean deselect(final NodeView node) {
-			if(selectionStart == node)
-				selectionEnd = selectionStart = null;
-			else if (selectionEnd  == node)
-				selectionEnd = selectionStart;
-			final boolean selectedChanged = selectedNode != null && selectedNode.equals(node);
-			if (selectedChanged) {
-				removeSelectionForHooks(node);
-			}
-			if (selectedSet.remove(node)){
-				final int last = selectedList.size() - 1;
-				if(selectedList.get(last) .equals(node))
-					selectedList.remove(last);
-				else
-					selectedList.remove(node);
-				onSelectionChange(node);
-				if(selectedChanged) {
-	                if (size() > 0) {
-	                	selectedNode = selectedSet.iterator().next();
-	                	addSelectionForHooks(selectedNode);
-	                }
-	                else{
-	                	selectedNode = null;
-	                }
-                }
-				return true;
-			}
-			return false;
-		}
-
-		private void removeSelectionForHooks(final NodeView node) {
-			if (node.getModel() == null || ! isSelected()) {
-				return;
-			}
-			getModeController().getMapController().onDeselect(node.getModel());
-		}
-
-		private int size() {
-			return selectedSet.size();
-		}
-
-		private void replace(final NodeView[] newSelection) {
-            if(newSelection.length == 0)
-                return;
-            final boolean selectedChanges = ! newSelection[0].equals(selectedNode);
-            if (selectedChanges) {
-            	if(selectedNode != null)
-            		removeSelectionForHooks(selectedNode);
-            	selectedNode = newSelection[0];
-            }
-            for(final NodeView view : newSelection)
-                if (!selectedSet.contains(view))
-                	onSelectionChange(view);
-            final NodeView[] oldSelection = selectedSet.toArray(new NodeView[selectedSet.size()]);
-            selectedSet.clear();
-            selectedList.clear();
-            for(final NodeView view : newSelection)
-                if (selectedSet.add(view))
-                	selectedList.add(view);
-			if(!selectedSet.contains(selectionStart))
-				selectionEnd = selectionStart = selectedNode;
-			else if (!selectedSet.contains(selectionEnd))
-				selectionEnd = selectionStart;
-
-            if (selectedChanges) {
-                addSelectionForHooks(selectedNode);
-            }
-            for(final NodeView view : oldSelection)
-                if (!selectedSet.contains(view))
-                	onSelectionChange(view);
-        }
-
-		public NodeView[] toArray() {
-	        return selectedList.toArray(new NodeView[selectedList.size()]);
-        }
-
-		private List<NodeView> getSelectedList() {
-	        return selectedList;
-        }
-
-		private Set<NodeView> getSelectedSet() {
-	        return selectedSet;
-        }
-
-		public NodeView getSelectionStart() {
-			return selectionStart;
-		}
-
-		public void setSelectionStart(final NodeView node) {
-			selectionEnd = selectionStart = node;
-		}
-		public NodeView getSelectionEnd() {
-			return selectionEnd;
-		}
-
-		public void setSelectionEnd(final NodeView selectionEnd) {
-			this.selectionEnd = selectionEnd;
-		}
-
-	}
-
 	private static final int margin = 20;
 	static boolean printOnWhiteBackground;
 	static private IFreeplanePropertyListener propertyChangeListener;
@@ -554,6 +412,8 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	private static final String SHOW_ICONS_PROPERTY = "show_icons";
 	private static final String OUTLINE_VIEW_FITS_WINDOW_WIDTH = "outline_view_fits_window_width";
 	private static final String OUTLINE_HGAP_PROPERTY = "outline_hgap";
+	private static final String LAYER_CACHE_PROPERTY = "map_view_layer_cache";
+	private static final String LAYER_CACHE_MEMORY_LIMIT_PROPERTY = "map_view_layer_cache_memory_limit";
 
 	static private final PropertyChangeListener repaintOnClientPropertyChangeListener = new PropertyChangeListener() {
 		@Override
@@ -580,7 +440,30 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	private NodeView rootView = null;
 	private boolean selectedsValid = true;
-	final private Selection selection = new Selection();
+	final private MapViewSelection selection = new MapViewSelection(new MapViewSelection.Listener() {
+		@Override
+		public void onSelect(final NodeView node) {
+			if(! isSelected())
+				return;
+			getModeController().getMapController().onSelect(node.getModel());
+		}
+
+		@Override
+		public void onDeselect(final NodeView node) {
+			if (node.getModel() == null || ! isSelected())
+				return;
+			getModeController().getMapController().onDeselect(node.getModel());
+		}
+
+		@Override
+		public void onSelectionChange(final Collection<NodeView> changedNodes) {
+			if(SHOW_CONNECTORS_FOR_SELECTION == showConnectors)
+				repaint(getVisibleRect());
+			else
+				for(final NodeView node : changedNodes)
+					node.repaintSelected();
+		}
+	});
 	private int siblingMaxLevel;
 	private float zoom = 1F;
 	private Font noteFont;
@@ -600,6 +483,11 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	private static Color spotlightBackgroundColor;
 	private static int outlineHGap;
 	private static boolean outlineViewFitsWindowWidth;
+	private static boolean layerCacheEnabled;
+	private static LayerCacheMemory layerCacheMemory;
+	private final MapViewLayerCache layerCache;
+	private final PaintStatistics paintStatistics;
+	private boolean paintsFromLayerCache;
 
 	final private ComponentAdapter viewportSizeChangeListener;
 	private final INodeChangeListener connectorChangeListener;
@@ -627,15 +515,25 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			showIcons = resourceController.getBooleanProperty(SHOW_ICONS_PROPERTY);
 			outlineHGap = resourceController.getLengthProperty(OUTLINE_HGAP_PROPERTY);
 			outlineViewFitsWindowWidth = resourceController.getBooleanProperty(OUTLINE_VIEW_FITS_WINDOW_WIDTH);
+			layerCacheEnabled = resourceController.getBooleanProperty(LAYER_CACHE_PROPERTY);
+			layerCacheMemory = new LayerCacheMemory(getLayerCacheMemoryLimit());
 
 			createPropertyChangeListener();
 	}
 
+	private static long getLayerCacheMemoryLimit() {
+		return ResourceController.getResourceController().getIntProperty(LAYER_CACHE_MEMORY_LIMIT_PROPERTY, 32) * 1024L * 1024L;
+	}
+
 	public MapView(final MapModel model, final ModeController modeController) {
 		super();
 		this.model = model;
 		this.modeController = modeController;
 		mapScroller = new MapScroller(this);
+		layerCache = new MapViewLayerCache(this, layerCacheMemory);
+		paintStatistics = new PaintStatistics();
+		if(layerCacheEnabled)
+			MapViewRepaintManager.install();
 		filter = Filter.createTransparentFilter();
 		final String name = model.getTitle();
 		setName(name);
@@ -688,7 +586,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	}
 
     public void replaceSelection(final NodeView[] views) {
-        selection.replace(views);
+        selection.changeSelection(() -> selection.replace(views));
         if(views.length > 0)
         	views[0].requestFocusInWindow();
     }
@@ -730,6 +628,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
     public void removeNotify() {
 		modeController.getMapController().removeNodeChangeListener(connectorChangeListener);
 		getParent().removeComponentListener(viewportSizeChangeListener);
+		layerCache.clear();
 	    super.removeNotify();
     }
 
@@ -805,6 +704,19 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 					}
 					return;
 				}
+				if(propertyName.equals(LAYER_CACHE_PROPERTY)) {
+					layerCacheEnabled = ResourceController.getResourceController().getBooleanProperty(LAYER_CACHE_PROPERTY);
+					if(layerCacheEnabled)
+						MapViewRepaintManager.install();
+					else
+						MapViewRepaintManager.uninstall();
+					mapView.repaint();
+					return;
+				}
+				if(propertyName.equals(LAYER_CACHE_MEMORY_LIMIT_PROPERTY)) {
+					layerCacheMemory.setMaximumBytes(getLayerCacheMemoryLimit());
+					return;
+				}
 			}
 		};
 		ResourceController.getResourceController().addPropertyChangeListener(MapView.propertyChangeListener);
@@ -812,15 +724,25 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	public void deselect(final NodeView newSelected) {
 		if (selection.contains(newSelected) && selection.deselect(newSelected) && newSelected.getParent() != null) {
-			onSelectionChange(newSelected);
+			selection.onSelectionChange(newSelected);
 		}
 	}
 
-	private void onSelectionChange(final NodeView node) {
-		if(SHOW_CONNECTORS_FOR_SELECTION == showConnectors)
-			repaint(getVisibleRect());
-		else
-			node.repaintSelected();
+	/**
+	 * Adds the nodes to the selection notifying the selection hooks at most once.
+	 */
+	public void addSelected(final Collection<NodeView> newSelected) {
+		selection.changeSelection(() -> {
+			for(final NodeView node : newSelected)
+				addSelected(node, false);
+		});
+	}
+
+	/**
+	 * Removes the nodes from the selection notifying the selection hooks at most once.
+	 */
+	public void deselect(final Collection<NodeView> nodes) {
+		selection.changeSelection(() -> selection.deselectAll(nodes));
 	}
 
 	public Object detectCollision(final Point p) {
@@ -950,7 +872,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	public NodeView getSelected() {
 		if(! selectedsValid) {
-			final NodeView node = selection.selectedNode;
+			final NodeView node = selection.getSelected();
 	        if (node == null || ! SwingUtilities.isDescendingFrom(node, this))
 		        validateSelecteds();
             else {
@@ -959,7 +881,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	                validateSelecteds();
             }
         }
-		return selection.selectedNode;
+		return selection.getSelected();
 	}
 
 	public Set<NodeModel> getSelectedNodes() {
@@ -1054,7 +976,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 			@Override
             public NodeModel get(final int index) {
-	            return selection.getSelectedList().get(index).getModel();
+	            return selection.get(index).getModel();
             }
 
 			@Override
@@ -1072,8 +994,9 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	ArrayList<NodeModel> getSelectedNodesSortedByY(final boolean differentSubtrees) {
 		validateSelecteds();
 		final TreeSet<NodeModel> sortedNodes = new TreeSet<NodeModel>(NodeRelativePath.comparator());
+		final Set<NodeModel> selectedNodesWithClones = differentSubtrees ? selectedNodesWithClones() : null;
 		for (final NodeView view : selection.getSelectedSet()) {
-			if (! ( differentSubtrees  && viewBelongsToSelectedSubtreeOrItsClone(view))) {
+			if (! ( differentSubtrees  && viewBelongsToSelectedSubtreeOrItsClone(view, selectedNodesWithClones))) {
 				sortedNodes.add(view.getModel());
 			}
 		}
@@ -1084,12 +1007,15 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			return new ArrayList<NodeModel>(sortedNodes);
 	}
 
-	private boolean viewBelongsToSelectedSubtreeOrItsClone(final NodeView view) {
+	private Set<NodeModel> selectedNodesWithClones() {
 		final HashSet<NodeModel> selectedNodesWithClones = new HashSet<NodeModel>();
-		for (final NodeView selectedView : selection.getSelectedList())
+		for (final NodeView selectedView : selection.getSelectedSet())
 			for(final NodeModel clone : selectedView.getModel().subtreeClones())
 				selectedNodesWithClones.add(clone);
+		return selectedNodesWithClones;
+	}
 
+	private boolean viewBelongsToSelectedSubtreeOrItsClone(final NodeView view, final Set<NodeModel> selectedNodesWithClones) {
 	    for (Component parent = view.getParent(); parent instanceof NodeView; parent = parent.getParent()) {
 	    	if (selectedNodesWithClones.contains(((NodeView)parent).getModel())) {
 	    		return true;
@@ -1245,7 +1171,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	public boolean isSelected(final NodeView n) {
 		if(isPrinting || (! selectedsValid &&
-				(selection.selectedNode == null || ! SwingUtilities.isDescendingFrom(selection.selectedNode, this)  || ! selection.selectedNode.getContent().isVisible())))
+				(selection.getSelected() == null || ! SwingUtilities.isDescendingFrom(selection.getSelected(), this)  || ! selection.getSelected().getContent().isVisible())))
 			return false;
 		return selection.contains(n);
 	}
@@ -1476,11 +1402,14 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			selectAsTheOnlyOneSelected(selectionStart);
 			final Boolean selectsDown = selectsDown(selectionStart, nextSelected);
 			if(selectsDown != null){
-				NodeView node = selectionStart;
-				do{
-					node = getNextVisibleSibling(node, selectsDown);
-					addSelected(node, false);
-				}while(node != nextSelected);
+				final NodeView lastSelected = nextSelected;
+				selection.changeSelection(() -> {
+					NodeView node = selectionStart;
+					do{
+						node = getNextVisibleSibling(node, selectsDown);
+						addSelected(node, false);
+					}while(node != lastSelected);
+				});
 				selection.setSelectionEnd(nextSelected);
 				mapScroller.scrollNodeToVisible(nextSelected);
 			}
@@ -1539,6 +1468,15 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	public void onPreNodeDelete(final NodeDeletionEvent nodeDeletionEvent) {
 	}
 
+	@Override
+	public void onStructureChangeBatchFinished(final StructureChangeBatch batch) {
+		for (final NodeModel parent : batch.getChangedParents()) {
+			final NodeView parentView = getNodeView(parent);
+			if (parentView != null)
+				parentView.onStructureChangeBatchFinished(batch.getFirstChangedIndex(parent));
+		}
+	}
+
 	/*****************************************************************
 	 ** P A I N T I N G **
 	 *****************************************************************/
@@ -1560,6 +1498,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			return;
 		}
 
+		final long paintStartTime = System.nanoTime();
 		final Graphics2D g2 = (Graphics2D) g.create();
 		try {
 			g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
@@ -1578,22 +1517,47 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 				paintConnectorsBehind = ResourceController.getResourceController().getBooleanProperty(
 						"paint_connectors_behind");
 			}
+			paintsFromLayerCache = layerCacheEnabled && ! isPrinting && layerCache.canPaint(g2);
+			if(! paintsFromLayerCache)
+				layerCache.clear();
 			super.paint(g2);
 		}
 		finally {
 			paintingMode = null;
+			paintsFromLayerCache = false;
 			g2.dispose();
 		}
+		if(! isPrinting)
+			paintStatistics.addFrame(System.nanoTime() - paintStartTime);
 	}
 
 	@Override
 	protected void paintComponent(final Graphics g) {
+		if(! paintsFromLayerCache)
+			paintMapBackground(g);
+	}
+
+	private void paintMapBackground(final Graphics g) {
 		super.paintComponent(g);
 		if (backgroundComponent != null && ! fitToViewport) {
 			paintBackgroundComponent(g);
 		}
 	}
 
+	void invalidateLayerCache(final Rectangle area) {
+		layerCache.invalidate(area);
+	}
+
+	@Override
+	public void paintImmediately(final int x, final int y, final int w, final int h) {
+		layerCache.invalidate(new Rectangle(x, y, w, h));
+		super.paintImmediately(x, y, w, h);
+	}
+
+	public PaintStatistics getPaintStatistics() {
+		return paintStatistics;
+	}
+
 	private void paintBackgroundComponent(final Graphics g) {
 	    final Graphics backgroundGraphics = g.create();
 	    try {
@@ -1640,7 +1604,10 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	    		PaintingMode.NODES, PaintingMode.SELECTED_NODES, PaintingMode.LINKS
 	    		};
 	    final Graphics2D g2 = (Graphics2D) g;
-	    paintChildren(g2, paintModes);
+	    if(paintsFromLayerCache)
+	    	paintChildrenUsingLayerCache(g2, paintModes);
+	    else
+	    	paintChildren(g2, paintModes);
 	    if(isSpotlightEnabled())
 	    	paintDimmer(g2, paintModes);
 		paintSelecteds(g2);
@@ -1666,6 +1633,17 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
     }
 
 
+	private void paintChildrenUsingLayerCache(final Graphics2D g2, final PaintingMode[] paintModes) {
+		final int firstModePaintedOverCache = Arrays.asList(paintModes).indexOf(PaintingMode.SELECTED_NODES);
+		final PaintingMode[] cachedModes = Arrays.copyOfRange(paintModes, 0, firstModePaintedOverCache);
+		final PaintingMode[] modesPaintedOverCache = Arrays.copyOfRange(paintModes, firstModePaintedOverCache, paintModes.length);
+		layerCache.paint(g2, tileGraphics -> {
+			paintMapBackground(tileGraphics);
+			paintChildren(tileGraphics, cachedModes);
+		}, paintStatistics);
+		paintChildren(g2, modesPaintedOverCache);
+	}
+
 	private void paintDimmer(final Graphics2D g2, final PaintingMode[] paintModes) {
 		final Color color = g2.getColor();
 		try{
@@ -1981,7 +1959,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	private void repaintSelecteds() {
 		for (final NodeView selected : getSelection()) {
-			onSelectionChange(selected);
+			selection.onSelectionChange(selected);
 		}
 	}
 
@@ -2021,16 +1999,18 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			return;
 		}
 		final NodeView[] oldSelecteds = selection.toArray();
-		selection.select(newSelected);
-		if (newSelected.getModel().getParentNode() != null) {
-			((NodeView) newSelected.getParent()).setPreferredChild(newSelected);
-		}
-		onSelectionChange(newSelected);
-		for (final NodeView oldSelected : oldSelecteds) {
-			if (oldSelected != null) {
-				onSelectionChange(oldSelected);
+		selection.changeSelection(() -> {
+			selection.select(newSelected);
+			if (newSelected.getModel().getParentNode() != null) {
+				((NodeView) newSelected.getParent()).setPreferredChild(newSelected);
 			}
-		}
+			selection.onSelectionChange(newSelected);
+			for (final NodeView oldSelected : oldSelecteds) {
+				if (oldSelected != null) {
+					selection.onSelectionChange(oldSelected);
+				}
+			}
+		});
 	}
 
 	/**
@@ -2039,11 +2019,15 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	 * if yes, the selection will extended with this node and its children
 	 */
 	private void addBranchToSelection(final NodeView newlySelectedNodeView) {
+		selection.changeSelection(() -> addBranchToPendingSelection(newlySelectedNodeView));
+	}
+
+	private void addBranchToPendingSelection(final NodeView newlySelectedNodeView) {
 		if (newlySelectedNodeView.isContentVisible()) {
 			addSelected(newlySelectedNodeView, false);
 		}
 		for (final NodeView target : newlySelectedNodeView.getChildrenViews()) {
-			addBranchToSelection(target);
+			addBranchToPendingSelection(target);
 		}
 	}
 
@@ -2063,6 +2047,16 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			return;
 		}
 
+		selection.changeSelection(() -> changeContinuousSelection(newSelected, selectionStart, selectionEnd));
+		selection.setSelectionEnd(newSelected);
+		mapScroller.scrollNodeToVisible(newSelected);
+
+	}
+
+	private void changeContinuousSelection(final NodeView newSelected, final NodeView selectionStart,
+	                                       final NodeView selectionEnd) {
+		final NodeView parentView = newSelected.getParentView();
+		final boolean left = newSelected.isLeft();
 		boolean selectionFound = false;
 		boolean selectionRequired = false;
 		for (final NodeView child : parentView.getChildrenViews()){
@@ -2086,9 +2080,6 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 					selectionRequired = false;
 			}
 		}
-		selection.setSelectionEnd(newSelected);
-		mapScroller.scrollNodeToVisible(newSelected);
-
 	}
 
 	public void setMoveCursor(final boolean isHand) {
@@ -2159,12 +2150,14 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 				selectedNodes.add(nodeView);
 			}
 		}
-		selection.clear();
-		for (final NodeView nodeView : selectedNodes) {
-			if (nodeView.isContentVisible()) {
-				selection.add(nodeView);
+		selection.changeSelection(() -> {
+			selection.clear();
+			for (final NodeView nodeView : selectedNodes) {
+				if (nodeView.isContentVisible()) {
+					selection.add(nodeView);
+				}
 			}
-		}
+		});
 		if (getSelected() != null) {
 			return;
         }
@@ -2249,7 +2242,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
     }
 
 	void selectIfSelectionIsEmpty(final NodeView nodeView) {
-		if(selection.selectedNode == null)
+		if(selection.getSelected() == null)
 			selectAsTheOnlyOneSelected(nodeView);
     }
 
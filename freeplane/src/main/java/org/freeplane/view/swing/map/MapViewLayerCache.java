@@ -0,0 +1,184 @@
+package org.freeplane.view.swing.map;
+
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Rectangle;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+
+/**
+ * Retains offscreen tiles of the static map layers (background, clouds, edges and not selected nodes).
+ * Tiles are invalidated by every dirty region reported to the repaint manager,
+ * so repainting after scrolling or selection changes blits tiles instead of painting the node tree.
+ * All tiles are dropped when the size or the zoom of the map view changes.
+ * The memory used by the tiles of all map views is bounded by a shared {@link LayerCacheMemory}.
+ */
+class MapViewLayerCache {
+	static final int TILE_SIZE = 256;
+
+	private final JComponent mapView;
+	private final LayerCacheMemory memory;
+	private final Map<Long, BufferedImage> tiles = new HashMap<Long, BufferedImage>();
+	private int mapWidth;
+	private int mapHeight;
+	private double scaleX;
+	private double scaleY;
+
+	MapViewLayerCache(JComponent mapView, LayerCacheMemory memory) {
+		this.mapView = mapView;
+		this.memory = memory;
+	}
+
+	boolean canPaint(Graphics2D g) {
+		if(! (RepaintManager.currentManager(mapView) instanceof MapViewRepaintManager))
+			return false;
+		final AffineTransform transform = g.getTransform();
+		if((transform.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_UNIFORM_SCALE | AffineTransform.TYPE_GENERAL_SCALE)) != 0)
+			return false;
+		return isIntegral(transform.getTranslateX()) && isIntegral(transform.getTranslateY())
+				&& isIntegral(TILE_SIZE * transform.getScaleX()) && isIntegral(TILE_SIZE * transform.getScaleY());
+	}
+
+	private static boolean isIntegral(double value) {
+		return Math.abs(value - Math.rint(value)) < 1e-6;
+	}
+
+	void paint(Graphics2D g, Consumer<Graphics2D> layerPainter, PaintStatistics statistics) {
+		final AffineTransform transform = g.getTransform();
+		if(mapWidth != mapView.getWidth() || mapHeight != mapView.getHeight()
+				|| scaleX != transform.getScaleX() || scaleY != transform.getScaleY()) {
+			clear();
+			mapWidth = mapView.getWidth();
+			mapHeight = mapView.getHeight();
+			scaleX = transform.getScaleX();
+			scaleY = transform.getScaleY();
+		}
+		final Rectangle clip = g.getClipBounds();
+		if(clip == null)
+			return;
+		final Rectangle paintedArea = clip.intersection(new Rectangle(0, 0, mapWidth, mapHeight));
+		if(paintedArea.isEmpty())
+			return;
+		final int firstColumn = paintedArea.x / TILE_SIZE;
+		final int lastColumn = (paintedArea.x + paintedArea.width - 1) / TILE_SIZE;
+		final int firstRow = paintedArea.y / TILE_SIZE;
+		final int lastRow = (paintedArea.y + paintedArea.height - 1) / TILE_SIZE;
+		for(int row = firstRow; row <= lastRow; row++) {
+			for(int column = firstColumn; column <= lastColumn; column++) {
+				final Long key = key(column, row);
+				BufferedImage tile = tiles.get(key);
+				if(tile == null) {
+					tile = renderTile(g, column, row, layerPainter);
+					tiles.put(key, tile);
+					memory.onTileAdded(this, key, LayerCacheMemory.estimateSize(tile));
+					statistics.addRenderedTile();
+				}
+				else {
+					memory.onTileUsed(this, key);
+					statistics.addCachedTile();
+				}
+				g.drawImage(tile, column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE, null);
+			}
+		}
+	}
+
+	private BufferedImage renderTile(Graphics2D g, int column, int row, Consumer<Graphics2D> layerPainter) {
+		final int width = (int) Math.rint(TILE_SIZE * scaleX);
+		final int height = (int) Math.rint(TILE_SIZE * scaleY);
+		final GraphicsConfiguration graphicsConfiguration = g.getDeviceConfiguration();
+		final BufferedImage tile = graphicsConfiguration != null
+				? graphicsConfiguration.createCompatibleImage(width, height, Transparency.OPAQUE)
+				: new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D tileGraphics = tile.createGraphics();
+		try {
+			tileGraphics.setRenderingHints(g.getRenderingHints());
+			tileGraphics.setFont(g.getFont());
+			tileGraphics.setColor(g.getColor());
+			tileGraphics.scale(scaleX, scaleY);
+			tileGraphics.translate(-column * TILE_SIZE, -row * TILE_SIZE);
+			tileGraphics.clipRect(column * TILE_SIZE, row * TILE_SIZE, TILE_SIZE, TILE_SIZE);
+			layerPainter.accept(tileGraphics);
+		}
+		finally {
+			tileGraphics.dispose();
+		}
+		return tile;
+	}
+
+	void invalidate(Rectangle area) {
+		if(tiles.isEmpty() || area.width <= 0 || area.height <= 0)
+			return;
+		final int firstColumn = Math.max(0, area.x) / TILE_SIZE;
+		final int lastColumn = Math.max(0, area.x + area.width - 1) / TILE_SIZE;
+		final int firstRow = Math.max(0, area.y) / TILE_SIZE;
+		final int lastRow = Math.max(0, area.y + area.height - 1) / TILE_SIZE;
+		final long invalidatedTileCount = (long)(lastColumn - firstColumn + 1) * (lastRow - firstRow + 1);
+		if(invalidatedTileCount >= tiles.size()) {
+			for(Iterator<Long> iterator = tiles.keySet().iterator(); iterator.hasNext();) {
+				final long key = iterator.next();
+				final int column = (int) (key >> 32);
+				final int row = (int) key;
+				if(column >= firstColumn && column <= lastColumn && row >= firstRow && row <= lastRow) {
+					iterator.remove();
+					memory.onTileRemoved(this, key);
+				}
+			}
+		}
+		else {
+			for(int row = firstRow; row <= lastRow; row++) {
+				for(int column = firstColumn; column <= lastColumn; column++) {
+					final Long key = key(column, row);
+					if(tiles.remove(key) != null)
+						memory.onTileRemoved(this, key);
+				}
+			}
+		}
+	}
+
+	void clear() {
+		for(final Long key : tiles.keySet())
+			memory.onTileRemoved(this, key);
+		tiles.clear();
+	}
+
+	void onTileEvicted(long key) {
+		tiles.remove(key);
+	}
+
+	int getTileCount() {
+		return tiles.size();
+	}
+
+	private static Long key(int column, int row) {
+		return Long.valueOf(((long)column << 32) | (row & 0xFFFFFFFFL));
+	}
+
+	static void invalidate(JComponent component, int x, int y, int width, int height) {
+		if(width <= 0 || height <= 0)
+			return;
+		if(! SwingUtilities.isEventDispatchThread()) {
+			SwingUtilities.invokeLater(() -> invalidate(component, x, y, width, height));
+			return;
+		}
+		int mapX = x;
+		int mapY = y;
+		for(Component c = component; c != null; c = c.getParent()) {
+			if(c instanceof MapView) {
+				((MapView)c).invalidateLayerCache(new Rectangle(mapX, mapY, width, height));
+				return;
+			}
+			mapX += c.getX();
+			mapY += c.getY();
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package org.freeplane.view.swing.map;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+
+/**
+ * Reports dirty regions of map view components to their {@link MapViewLayerCache}.
+ *
+ * It replaces only the default repaint manager, managers installed by look and feels or plugins are kept.
+ * The replaced manager is restored by {@link #uninstall()}.
+ */
+class MapViewRepaintManager extends RepaintManager {
+	private static RepaintManager replacedManager = null;
+
+	static void install() {
+		final RepaintManager currentManager = RepaintManager.currentManager(null);
+		if(currentManager.getClass().equals(RepaintManager.class)) {
+			replacedManager = currentManager;
+			RepaintManager.setCurrentManager(new MapViewRepaintManager());
+		}
+	}
+
+	static void uninstall() {
+		if(replacedManager != null && RepaintManager.currentManager(null) instanceof MapViewRepaintManager)
+			RepaintManager.setCurrentManager(replacedManager);
+		replacedManager = null;
+	}
+
+	@Override
+	public void addDirtyRegion(JComponent c, int x, int y, int w, int h) {
+		MapViewLayerCache.invalidate(c, x, y, w, h);
+		super.addDirtyRegion(c, x, y, w, h);
+	}
+}
@@ -0,0 +1,303 @@
+package org.freeplane.view.swing.map;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Selected node views of a map view in the order of their selection.
+ *
+ * The views are kept in a list together with their list positions,
+ * so that both index based access and removal do not need to search or copy the list.
+ * Removed views leave holes in the list which are compacted before the next index based access.
+ */
+class MapViewSelection {
+	interface Listener {
+		/** called for the selected node which gets the focus of the selection hooks */
+		void onSelect(NodeView node);
+		/** called for the selected node which loses the focus of the selection hooks */
+		void onDeselect(NodeView node);
+		/** called for every selection change, or once for all changes made by {@link MapViewSelection#changeSelection(Runnable)} */
+		void onSelectionChange(Collection<NodeView> changedNodes);
+	}
+
+	private final Listener listener;
+	private final ArrayList<NodeView> selectedList = new ArrayList<NodeView>();
+	private final Map<NodeView, Integer> selectedPositions = new HashMap<NodeView, Integer>();
+	private final Set<NodeView> selectedSet = new SelectedSet();
+	private int removedCount = 0;
+	private NodeView selectedNode = null;
+	private NodeView selectionStart = null;
+	private NodeView selectionEnd = null;
+	private Set<NodeView> pendingSelectionChanges = null;
+
+	MapViewSelection(final Listener listener) {
+		this.listener = listener;
+	}
+
+	private class SelectedSet extends AbstractSet<NodeView> {
+		@Override
+		public boolean contains(final Object o) {
+			return selectedPositions.containsKey(o);
+		}
+
+		@Override
+		public int size() {
+			return selectedPositions.size();
+		}
+
+		@Override
+		public Iterator<NodeView> iterator() {
+			return new Iterator<NodeView>() {
+				private int nextPosition = skipRemoved(0);
+				private NodeView last = null;
+
+				private int skipRemoved(int position) {
+					while (position < selectedList.size() && selectedList.get(position) == null)
+						position++;
+					return position;
+				}
+
+				@Override
+				public boolean hasNext() {
+					return nextPosition < selectedList.size();
+				}
+
+				@Override
+				public NodeView next() {
+					if (! hasNext())
+						throw new NoSuchElementException();
+					last = selectedList.get(nextPosition);
+					nextPosition = skipRemoved(nextPosition + 1);
+					return last;
+				}
+
+				@Override
+				public void remove() {
+					if (last == null)
+						throw new IllegalStateException();
+					removeFromList(last);
+					last = null;
+				}
+			};
+		}
+	}
+
+	private boolean addToList(final NodeView node) {
+		if (selectedPositions.containsKey(node))
+			return false;
+		if (removedCount > selectedPositions.size())
+			compactList();
+		selectedPositions.put(node, selectedList.size());
+		selectedList.add(node);
+		return true;
+	}
+
+	private boolean removeFromList(final NodeView node) {
+		final Integer position = selectedPositions.remove(node);
+		if (position == null)
+			return false;
+		selectedList.set(position, null);
+		removedCount++;
+		int last = selectedList.size() - 1;
+		while (last >= 0 && selectedList.get(last) == null) {
+			selectedList.remove(last--);
+			removedCount--;
+		}
+		return true;
+	}
+
+	private void clearList() {
+		selectedList.clear();
+		selectedPositions.clear();
+		removedCount = 0;
+	}
+
+	private void compactList() {
+		int size = 0;
+		for (final NodeView node : selectedList) {
+			if (node != null) {
+				selectedPositions.put(node, size);
+				selectedList.set(size++, node);
+			}
+		}
+		selectedList.subList(size, selectedList.size()).clear();
+		removedCount = 0;
+	}
+
+	void select(final NodeView node) {
+		clear();
+		addToList(node);
+		selectedNode = node;
+		selectionEnd = selectionStart = node;
+		listener.onSelect(node);
+		onSelectionChange(node);
+	}
+
+	boolean add(final NodeView node) {
+		if(selectedNode == null){
+			select(node);
+			return true;
+		}
+		else{
+			if(addToList(node)){
+				onSelectionChange(node);
+				return true;
+			}
+			return false;
+		}
+	}
+
+	void clear() {
+		if (selectedNode != null) {
+			listener.onDeselect(selectedNode);
+			selectedNode = null;
+			clearList();
+			selectionEnd = selectionStart = null;
+		}
+	}
+
+	boolean contains(final NodeView node) {
+		return selectedPositions.containsKey(node);
+	}
+
+	Set<NodeView> getSelection() {
+		return Collections.unmodifiableSet(selectedSet);
+	}
+
+	/** modifiable view of the selected nodes, removing nodes using its iterator does not notify the listener */
+	Set<NodeView> getSelectedSet() {
+		return selectedSet;
+	}
+
+	NodeView get(final int index) {
+		if (removedCount > 0)
+			compactList();
+		return selectedList.get(index);
+	}
+
+	NodeView getSelected() {
+		return selectedNode;
+	}
+
+	boolean deselect(final NodeView node) {
+		return deselectAll(Collections.singleton(node));
+	}
+
+	/** the selection hooks are notified at most once even if the selected node and its successors are removed */
+	boolean deselectAll(final Collection<NodeView> nodes) {
+		boolean selectionChanged = false;
+		boolean selectedChanged = false;
+		for(final NodeView node : nodes) {
+			if(selectionStart == node)
+				selectionEnd = selectionStart = null;
+			else if (selectionEnd  == node)
+				selectionEnd = selectionStart;
+			if (removeFromList(node)){
+				selectionChanged = true;
+				selectedChanged = selectedChanged || node.equals(selectedNode);
+				onSelectionChange(node);
+			}
+		}
+		if(! selectionChanged)
+			return false;
+		if(selectedChanged) {
+			listener.onDeselect(selectedNode);
+			if (size() > 0) {
+				selectedNode = selectedSet.iterator().next();
+				listener.onSelect(selectedNode);
+			}
+			else{
+				selectedNode = null;
+			}
+		}
+		return true;
+	}
+
+	int size() {
+		return selectedPositions.size();
+	}
+
+	void replace(final NodeView[] newSelection) {
+		if(newSelection.length == 0)
+			return;
+		final boolean selectedChanges = ! newSelection[0].equals(selectedNode);
+		if (selectedChanges) {
+			if(selectedNode != null)
+				listener.onDeselect(selectedNode);
+			selectedNode = newSelection[0];
+		}
+		for(final NodeView view : newSelection)
+			if (!contains(view))
+				onSelectionChange(view);
+		final NodeView[] oldSelection = toArray();
+		clearList();
+		for(final NodeView view : newSelection)
+			addToList(view);
+		if(!contains(selectionStart))
+			selectionEnd = selectionStart = selectedNode;
+		else if (!contains(selectionEnd))
+			selectionEnd = selectionStart;
+
+		if (selectedChanges) {
+			listener.onSelect(selectedNode);
+		}
+		for(final NodeView view : oldSelection)
+			if (!contains(view))
+				onSelectionChange(view);
+	}
+
+	NodeView[] toArray() {
+		return selectedSet.toArray(new NodeView[size()]);
+	}
+
+	NodeView getSelectionStart() {
+		return selectionStart;
+	}
+
+	void setSelectionStart(final NodeView node) {
+		selectionEnd = selectionStart = node;
+	}
+
+	NodeView getSelectionEnd() {
+		return selectionEnd;
+	}
+
+	void setSelectionEnd(final NodeView selectionEnd) {
+		this.selectionEnd = selectionEnd;
+	}
+
+	void onSelectionChange(final NodeView node) {
+		if(pendingSelectionChanges != null)
+			pendingSelectionChanges.add(node);
+		else
+			listener.onSelectionChange(Collections.singleton(node));
+	}
+
+	/**
+	 * Runs selection changes of many nodes and notifies the listener about each changed node once afterwards.
+	 */
+	void changeSelection(final Runnable changes) {
+		if(pendingSelectionChanges != null) {
+			changes.run();
+			return;
+		}
+		final Set<NodeView> changedNodes = new LinkedHashSet<NodeView>();
+		pendingSelectionChanges = changedNodes;
+		try {
+			changes.run();
+		}
+		finally {
+			pendingSelectionChanges = null;
+			if(! changedNodes.isEmpty())
+				listener.onSelectionChange(changedNodes);
+		}
+	}
+}
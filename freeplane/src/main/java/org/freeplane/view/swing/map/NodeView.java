@@ -869,6 +869,11 @@ public class NodeView extends JComponent implements INodeView {
 		return getParentView() == myNodeView.getParentView();
 	}
 
+	@Override
+	public boolean receivesChangesOnCommit() {
+		return true;
+	}
+
 	@Override
 	public void nodeChanged(final NodeChangeEvent event) {
 		final NodeModel node = event.getNode();
@@ -977,16 +982,23 @@ public class NodeView extends JComponent implements INodeView {
 				}
 			}
 		}
-		numberingChanged(nodeDeletionEvent.index+1);
+		if(! isStructureChangeBatchRunning())
+			numberingChanged(nodeDeletionEvent.index+1);
 		map.preserveRootNodeLocationOnScreen();
 		node.remove();
+		revalidate();
+		if(! isStructureChangeBatchRunning())
+			selectPreferredVisibleChildIfSelectionIsEmpty(preferredChildIsLeft);
+	}
+
+	private void selectPreferredVisibleChildIfSelectionIsEmpty(final boolean preferredChildIsLeft) {
+		if(getMap().getSelected() !=  null)
+			return;
 		NodeView preferred = getPreferredVisibleChild(false, preferredChildIsLeft);
 		if (preferred == null) {
 			preferred = this;
 		}
-		revalidate();
-		if(getMap().getSelected() ==  null)
-			getMap().selectVisibleAncestorOrSelf(preferred);
+		getMap().selectVisibleAncestorOrSelf(preferred);
 	}
 
 	@Override
@@ -996,10 +1008,23 @@ public class NodeView extends JComponent implements INodeView {
 			return;
 		}
 		addChildView(child, index);
-		numberingChanged(index + 1);
+		if(! isStructureChangeBatchRunning())
+			numberingChanged(index + 1);
 		revalidate();
 	}
 
+	private boolean isStructureChangeBatchRunning() {
+		return map.getModeController().getMapController().isStructureChangeBatchRunning(model.getMap());
+	}
+
+	void onStructureChangeBatchFinished(final int firstChangedIndex) {
+		if (! isFolded) {
+			numberingChanged(firstChangedIndex);
+			revalidate();
+		}
+		selectPreferredVisibleChildIfSelectionIsEmpty(preferredChild != null && preferredChild.isLeft());
+	}
+
 	// updates children, starting from firstChangedIndex, if necessary.
 	private void numberingChanged(int firstChangedIndex) {
 		final TextController textController = TextController.getController(getMap().getModeController());
@@ -0,0 +1,62 @@
+package org.freeplane.view.swing.map;
+
+/**
+ * Frame time and layer cache counters of a map view,
+ * used for measuring scroll and selection repaint performance.
+ */
+public class PaintStatistics {
+	private long frameCount;
+	private long totalFrameNanos;
+	private long maxFrameNanos;
+	private long cachedTileCount;
+	private long renderedTileCount;
+
+	void addFrame(long frameNanos) {
+		frameCount++;
+		totalFrameNanos += frameNanos;
+		if(frameNanos > maxFrameNanos)
+			maxFrameNanos = frameNanos;
+	}
+
+	void addCachedTile() {
+		cachedTileCount++;
+	}
+
+	void addRenderedTile() {
+		renderedTileCount++;
+	}
+
+	public long getFrameCount() {
+		return frameCount;
+	}
+
+	public double getAverageFrameMillis() {
+		return frameCount == 0 ? 0 : totalFrameNanos / 1e6 / frameCount;
+	}
+
+	public double getMaxFrameMillis() {
+		return maxFrameNanos / 1e6;
+	}
+
+	public long getCachedTileCount() {
+		return cachedTileCount;
+	}
+
+	public long getRenderedTileCount() {
+		return renderedTileCount;
+	}
+
+	public void reset() {
+		frameCount = 0;
+		totalFrameNanos = 0;
+		maxFrameNanos = 0;
+		cachedTileCount = 0;
+		renderedTileCount = 0;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("frames=%d, average=%.2f ms, max=%.2f ms, cached tiles=%d, rendered tiles=%d",
+		    frameCount, getAverageFrameMillis(), getMaxFrameMillis(), cachedTileCount, renderedTileCount);
+	}
+}
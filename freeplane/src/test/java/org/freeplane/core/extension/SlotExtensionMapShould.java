@@ -0,0 +1,65 @@
+package org.freeplane.core.extension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Iterator;
+
+import org.junit.Test;
+
+public class SlotExtensionMapShould {
+	static class FirstExtension implements IExtension {}
+	static class SecondExtension implements IExtension {}
+	static class SubExtension extends FirstExtension {}
+
+	private final SlotExtensionMap map = new SlotExtensionMap();
+
+	@Test
+	public void returnPutExtension() throws Exception {
+		final FirstExtension extension = new FirstExtension();
+		map.put(FirstExtension.class, extension);
+		assertThat(map.get(FirstExtension.class)).isSameAs(extension);
+		assertThat(map.containsKey(FirstExtension.class)).isTrue();
+		assertThat(map.get(SecondExtension.class)).isNull();
+	}
+
+	@Test
+	public void storeExtensionUnderSuperclassKey() throws Exception {
+		final SubExtension extension = new SubExtension();
+		map.put(FirstExtension.class, extension);
+		assertThat(map.get(FirstExtension.class)).isSameAs(extension);
+		assertThat(map.get(SubExtension.class)).isNull();
+	}
+
+	@Test
+	public void replaceAndRemoveExtension() throws Exception {
+		final FirstExtension first = new FirstExtension();
+		final FirstExtension second = new FirstExtension();
+		map.put(FirstExtension.class, first);
+		assertThat(map.put(FirstExtension.class, second)).isSameAs(first);
+		assertThat(map.size()).isEqualTo(1);
+		assertThat(map.remove(FirstExtension.class)).isSameAs(second);
+		assertThat(map.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void iterateOverAllExtensions() throws Exception {
+		final FirstExtension first = new FirstExtension();
+		final SecondExtension second = new SecondExtension();
+		map.put(SecondExtension.class, second);
+		map.put(FirstExtension.class, first);
+		assertThat(map.values()).containsExactlyInAnyOrder(first, second);
+		assertThat(map.keySet()).containsExactlyInAnyOrder(FirstExtension.class, SecondExtension.class);
+	}
+
+	@Test
+	public void removeExtensionsByIterator() throws Exception {
+		map.put(FirstExtension.class, new FirstExtension());
+		map.put(SecondExtension.class, new SecondExtension());
+		for(Iterator<IExtension> iterator = map.values().iterator(); iterator.hasNext();) {
+			iterator.next();
+			iterator.remove();
+		}
+		assertThat(map.isEmpty()).isTrue();
+		assertThat(map.get(FirstExtension.class)).isNull();
+	}
+}
@@ -0,0 +1,98 @@
+package org.freeplane.core.extension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class SmallExtensionMapShould {
+	static class FirstExtension implements IExtension {}
+	static class SecondExtension implements IExtension {}
+	static class ThirdExtension implements IExtension {}
+	static class FourthExtension implements IExtension {}
+	static class FifthExtension implements IExtension {}
+	static class SixthExtension implements IExtension {}
+	static class SeventhExtension implements IExtension {}
+	static class EighthExtension implements IExtension {}
+	static class SubExtension extends FirstExtension {}
+
+	private static final List<Class<? extends IExtension>> EXTENSION_CLASSES = new ArrayList<>();
+	static {
+		EXTENSION_CLASSES.add(FirstExtension.class);
+		EXTENSION_CLASSES.add(SecondExtension.class);
+		EXTENSION_CLASSES.add(ThirdExtension.class);
+		EXTENSION_CLASSES.add(FourthExtension.class);
+		EXTENSION_CLASSES.add(FifthExtension.class);
+		EXTENSION_CLASSES.add(SixthExtension.class);
+		EXTENSION_CLASSES.add(SeventhExtension.class);
+		EXTENSION_CLASSES.add(EighthExtension.class);
+	}
+
+	private final SmallExtensionMap map = new SmallExtensionMap();
+
+	@Test
+	public void returnPutExtension() throws Exception {
+		final FirstExtension extension = new FirstExtension();
+		map.put(FirstExtension.class, extension);
+		assertThat(map.get(FirstExtension.class)).isSameAs(extension);
+		assertThat(map.containsKey(FirstExtension.class)).isTrue();
+		assertThat(map.get(SecondExtension.class)).isNull();
+		assertThat(map.get(SubExtension.class)).isNull();
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void rejectExtensionUnderOtherClass() throws Exception {
+		map.put(FirstExtension.class, new SubExtension());
+	}
+
+	@Test
+	public void keepInsertionOrder() throws Exception {
+		final ThirdExtension third = new ThirdExtension();
+		final FirstExtension first = new FirstExtension();
+		final SecondExtension second = new SecondExtension();
+		map.put(ThirdExtension.class, third);
+		map.put(FirstExtension.class, first);
+		map.put(SecondExtension.class, second);
+		assertThat(map.values()).containsExactly(third, first, second);
+
+		map.remove(FirstExtension.class);
+
+		assertThat(map.values()).containsExactly(third, second);
+		assertThat(map.get(SecondExtension.class)).isSameAs(second);
+	}
+
+	@Test
+	public void removeExtensionsWhileIteratingOverValues() throws Exception {
+		for (final Class<? extends IExtension> extensionClass : EXTENSION_CLASSES)
+			map.put(extensionClass, extensionClass.newInstance());
+		for (final IExtension extension : map.values())
+			map.remove(extension.getClass());
+		assertThat(map.isEmpty()).isTrue();
+		assertThat(map.values()).isEmpty();
+	}
+
+	@Test
+	public void behaveLikeLinkedHashMapForRandomChanges() throws Exception {
+		final Map<Class<? extends IExtension>, IExtension> expected = new LinkedHashMap<>();
+		final Random random = new Random(1);
+		for (int i = 0; i < 10000; i++) {
+			final Class<? extends IExtension> extensionClass = EXTENSION_CLASSES.get(random.nextInt(EXTENSION_CLASSES.size()));
+			if (random.nextInt(3) == 0) {
+				assertThat(map.remove(extensionClass)).isSameAs(expected.remove(extensionClass));
+			}
+			else {
+				final IExtension extension = extensionClass.newInstance();
+				assertThat(map.put(extensionClass, extension)).isSameAs(expected.put(extensionClass, extension));
+			}
+			assertThat(map.size()).isEqualTo(expected.size());
+			for (final Class<? extends IExtension> key : EXTENSION_CLASSES)
+				assertThat(map.get(key)).isSameAs(expected.get(key));
+			assertThat(map.values()).containsExactlyElementsOf(expected.values());
+		}
+	}
+}
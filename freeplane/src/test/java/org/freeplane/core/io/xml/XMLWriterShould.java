@@ -0,0 +1,84 @@
+package org.freeplane.core.io.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.junit.Test;
+
+public class XMLWriterShould {
+	private static final String NL = System.lineSeparator();
+	private static final String TEXT = "a<b>&'\"\n\t\u0001z ä€😀~\u007f";
+
+	private static XMLElement element() {
+		final XMLElement element = new XMLElement("node");
+		element.setAttribute("TEXT", TEXT);
+		element.setAttribute("ID", "ID_1");
+		element.setAttribute("x:attr", "urn:x", "v");
+		final XMLElement child = new XMLElement("child");
+		child.setAttribute("empty", "");
+		element.addChild(child);
+		final XMLElement content = new XMLElement("content");
+		content.setContent(TEXT);
+		element.addChild(content);
+		final XMLElement pcData = new XMLElement();
+		pcData.setContent("  pc data  ");
+		element.addChild(pcData);
+		return element;
+	}
+
+	private static String write(final boolean restrictedCharset, final boolean prettyPrint, final boolean endElement)
+	        throws IOException {
+		final StringWriter stringWriter = new StringWriter();
+		final XMLWriter writer = new XMLWriter(stringWriter, restrictedCharset);
+		writer.write(element(), prettyPrint, 2, true, endElement);
+		writer.write("<!-- " + TEXT + " -->");
+		writer.endElement("node", prettyPrint);
+		writer.flush();
+		return stringWriter.toString();
+	}
+
+	@Test
+	public void writeElementsWithUnrestrictedCharset() throws IOException {
+		assertThat(write(false, false, true)).isEqualTo(
+			"<node xmlns:x=\"urn:x\" TEXT=\"a&lt;b&gt;&amp;&apos;&quot;&#xa;&#x9;&#x1;z ä€😀~\u007f\" ID=\"ID_1\" x:attr=\"v\">"
+			+ "<child empty=\"\"/>"
+			+ "<content>a&lt;b&gt;&amp;&apos;&quot;\n&#x9;&#x1;z ä€😀~\u007f</content>"
+			+ "  pc data  "
+			+ "</node>"
+			+ "<!-- " + TEXT + " -->"
+			+ "</node>");
+	}
+
+	@Test
+	public void writeElementsWithRestrictedCharset() throws IOException {
+		assertThat(write(true, true, false)).isEqualTo(
+			"  <node xmlns:x=\"urn:x\" TEXT=\"a&lt;b&gt;&amp;&apos;&quot;&#xa;&#x9;&#x1;z &#xe4;&#x20ac;&#xd83d;&#xde00;~&#x7f;\" ID=\"ID_1\" x:attr=\"v\">" + NL
+			+ "      <child empty=\"\"/>" + NL
+			+ "      <content>a&lt;b&gt;&amp;&apos;&quot;\n&#x9;&#x1;z &#xe4;&#x20ac;&#xd83d;&#xde00;~&#x7f;</content>" + NL
+			+ "      pc data" + NL
+			+ "  "
+			+ "<!-- a<b>&'\"\n\t\u0001z &#xe4;&#x20ac;&#xd83d;&#xde00;~&#x7f; -->"
+			+ "</node>" + NL);
+	}
+
+	@Test
+	public void writeLongTextsBeyondBufferSize() throws IOException {
+		final StringBuilder text = new StringBuilder();
+		final StringBuilder encodedText = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			text.append(i % 7 == 0 ? "<" : "x");
+			encodedText.append(i % 7 == 0 ? "&lt;" : "x");
+		}
+		final XMLElement element = new XMLElement("node");
+		element.setAttribute("TEXT", text.toString());
+		final StringWriter stringWriter = new StringWriter();
+		final XMLWriter writer = new XMLWriter(stringWriter, false);
+		writer.write(element);
+		writer.write(text.toString());
+		writer.flush();
+		assertThat(stringWriter.toString()).isEqualTo("<node TEXT=\"" + encodedText + "\"/>" + text);
+	}
+}
@@ -0,0 +1,46 @@
+package org.freeplane.core.undo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+public class CompoundActorShould {
+	private static IActor actorOfSize(final long size) {
+		return new IActor() {
+			public void act() {
+			}
+
+			public String getDescription() {
+				return "";
+			}
+
+			public void undo() {
+			}
+
+			@Override
+			public long getEstimatedSize() {
+				return size;
+			}
+		};
+	}
+
+	@Test
+	public void sumEstimatedSizesOfAddedActors() {
+		final CompoundActor compoundActor = new CompoundActor();
+		compoundActor.add(actorOfSize(100));
+		compoundActor.add(actorOfSize(20));
+		assertThat(compoundActor.getEstimatedSize()).isEqualTo(120);
+	}
+
+	@Test
+	public void sumEstimatedSizesOfInitialActors() {
+		final LinkedList<IActor> actors = new LinkedList<IActor>();
+		actors.add(actorOfSize(7));
+		actors.add(actorOfSize(5));
+		final CompoundActor compoundActor = new CompoundActor(actors);
+		compoundActor.add(new CompoundActor(new LinkedList<IActor>(actors)));
+		assertThat(compoundActor.getEstimatedSize()).isEqualTo(24);
+	}
+}
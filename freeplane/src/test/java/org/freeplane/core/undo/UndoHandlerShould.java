@@ -0,0 +1,153 @@
+package org.freeplane.core.undo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.ui.ViewController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UndoHandlerShould {
+	private static final long MB = 1024L * 1024L;
+	private final ResourceController resourceController = mock(ResourceController.class);
+	private final List<String> undoneActors = new ArrayList<>();
+	private UndoHandler undoHandler;
+
+	@Before
+	public void setup() {
+		final Controller controller = mock(Controller.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(controller.getViewController()).thenReturn(mock(ViewController.class));
+		when(resourceController.getIntProperty(eq("undo_levels"), anyInt())).thenReturn(100);
+		when(resourceController.getIntProperty(eq("undo_memory_limit"), anyInt())).thenReturn(64);
+		Controller.setCurrentController(controller);
+		undoHandler = new UndoHandler(mock(MapModel.class));
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private IActor actorOfSize(final String name, final long size) {
+		return new IActor() {
+			public void act() {
+			}
+
+			public String getDescription() {
+				return name;
+			}
+
+			public void undo() {
+				undoneActors.add(name);
+			}
+
+			@Override
+			public long getEstimatedSize() {
+				return size;
+			}
+		};
+	}
+
+	private void addEntry(final String name, final long size) {
+		undoHandler.forceNewTransaction();
+		undoHandler.addActor(actorOfSize(name, size));
+	}
+
+	private void undoAll() {
+		while (undoHandler.canUndo())
+			undoHandler.undo();
+	}
+
+	@Test
+	public void evictOldestEntriesExceedingMemoryLimit() {
+		addEntry("first", 30 * MB);
+		addEntry("second", 30 * MB);
+		addEntry("third", 30 * MB);
+
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(60 * MB);
+		undoAll();
+		assertThat(undoneActors).containsExactly("third", "second");
+	}
+
+	@Test
+	public void keepLastEntryExceedingMemoryLimit() {
+		addEntry("small", 10 * MB);
+		addEntry("huge", 100 * MB);
+
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(100 * MB);
+		undoAll();
+		assertThat(undoneActors).containsExactly("huge");
+	}
+
+	@Test
+	public void notEvictEntriesWhileTransactionIsRunning() {
+		addEntry("before", 30 * MB);
+		undoHandler.startTransaction();
+		addEntry("first in transaction", 30 * MB);
+		addEntry("second in transaction", 30 * MB);
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(90 * MB);
+
+		undoHandler.commit();
+
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(60 * MB);
+		undoAll();
+		assertThat(undoneActors).containsExactly("second in transaction", "first in transaction");
+	}
+
+	@Test
+	public void estimateSizesOnlyWhenTransactionIsCommitted() {
+		final int[] estimationCount = { 0 };
+		final IActor actor = new IActor() {
+			public void act() {
+			}
+
+			public String getDescription() {
+				return "counted";
+			}
+
+			public void undo() {
+			}
+
+			@Override
+			public long getEstimatedSize() {
+				estimationCount[0]++;
+				return 1;
+			}
+		};
+		undoHandler.startTransaction();
+		undoHandler.forceNewTransaction();
+		undoHandler.addActor(actor);
+		undoHandler.forceNewTransaction();
+		undoHandler.addActor(actor);
+		assertThat(estimationCount[0]).isEqualTo(0);
+
+		undoHandler.commit();
+
+		assertThat(estimationCount[0]).isEqualTo(2);
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(2);
+		assertThat(estimationCount[0]).isEqualTo(2);
+	}
+
+	@Test
+	public void keepConfiguredNumberOfUndoLevels() {
+		when(resourceController.getIntProperty(eq("undo_levels"), anyInt())).thenReturn(2);
+		addEntry("first", 1);
+		addEntry("second", 1);
+		addEntry("third", 1);
+
+		assertThat(undoHandler.getEstimatedSize()).isEqualTo(2);
+		undoAll();
+		assertThat(undoneActors).containsExactly("third", "second");
+	}
+}
@@ -0,0 +1,68 @@
+package org.freeplane.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HtmlToPlainConverterShould {
+	private static final String[] CORPUS = {
+			"<html><head></head><body><p>simple text</p></body></html>",
+			"<html>\n  <head>\n\n  </head>\n  <body>\n    <p>\n      first line\n    </p>\n    <p>\n      second &amp; third\n    </p>\n  </body>\n</html>\n",
+			"<html><body><ul><li>one</li><li>two <b>bold</b></li></ul><ol><li>three</li></ol></body></html>",
+			"<html><body><table><tr><td>a</td><td>b</td></tr><tr><td>c</td></tr></table></body></html>",
+			"<html><body><dl><dt>term</dt><dd>definition</dd></dl></body></html>",
+			"<html><body><div><p>nested<br>break</p><br/><br /></div></body></html>",
+			"<html><body><p style=\"text-align: center\">&lt;tag&gt; &quot;quoted&quot;&nbsp;&nbsp;x</p></body></html>",
+			"<html><body>&#65;&#x42;&#9;tab &#10;line&#160;nbsp &amp;lt; &unknown;</body></html>",
+			"<HTML><BODY><P>UPPER<BR>CASE</P></BODY></HTML>",
+			"<html><body>  spaces   before </b>  and <i> after  </body></html>",
+			"<html><body><pre>\n  keep\tthis\n</pre></body></html>",
+			"<html><body>a < b and c > d</body></html>",
+			"<html><body><!-- comment > with gt --><p>x</p></body></html>",
+	};
+
+	private static final String[] TOKENS = {
+			"<p>", "<P class=x>", "</p>", "<br>", "<br/>", "<BR >", "<div>", "</div>", "<tr>", "</tr>", "<td>", "</td>",
+			"<dt>", "<dd>", "<ul>", "<OL>", "</ul>", "<li>", "</li>", "<b>", "</b>", "<html>", "<body>", "<pre>",
+			"<", ">", "<>", "</>", "< p>", "<\np>", "<dıv>",
+			" ", "  ", "\n", "\t", "\r", "\f", " ", "\n \t",
+			"a", "Text", "*", ";", "&lt;", "&LT;", "&gt;", "&quot;", "&nbsp;", "&amp;", "&amp;lt;", "&#65;", "&#x20;", "&#10;",
+			"&#38;lt;", "&unknown;", "&nbſp;"
+	};
+
+	private static void assertSameAsPatterns(final String html, final boolean removeNewLines) {
+		final String plainText = HtmlToPlainConverter.convert(html, removeNewLines);
+		if (plainText != null)
+			assertThat(plainText).as("%s, removeNewLines=%s", html, removeNewLines)
+			    .isEqualTo(HtmlUtils.htmlToPlainUsingPatterns(html, removeNewLines));
+	}
+
+	@Test
+	public void produceSameTextAsPatternsForTypicalNodeHtml() {
+		for (final String html : CORPUS) {
+			assertThat(HtmlToPlainConverter.convert(html, true)).isNotNull();
+			assertSameAsPatterns(html, true);
+			assertSameAsPatterns(html, false);
+		}
+	}
+
+	@Test
+	public void produceSameTextAsPatternsForRandomMarkup() {
+		final Random random = new Random(42);
+		for (int i = 0; i < 50000; i++) {
+			final StringBuilder html = new StringBuilder();
+			final int tokenCount = random.nextInt(24);
+			for (int j = 0; j < tokenCount; j++)
+				html.append(TOKENS[random.nextInt(TOKENS.length)]);
+			assertSameAsPatterns(html.toString(), random.nextBoolean());
+		}
+	}
+
+	@Test
+	public void leaveTagsContainingLessThanToPatterns() {
+		assertThat(HtmlToPlainConverter.convert("<td <br>>", true)).isNull();
+		assertThat(HtmlUtils.htmlToPlain("<td <br>>", false, true)).isEqualTo(HtmlUtils.htmlToPlainUsingPatterns("<td <br>>", true));
+	}
+}
@@ -0,0 +1,71 @@
+package org.freeplane.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+public class ParallelGZIPOutputStreamShould {
+	private static byte[] compress(byte[] data, int chunkSize) throws IOException {
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(compressed)) {
+			for (int offset = 0; offset < data.length; offset += chunkSize)
+				out.write(data, offset, Math.min(chunkSize, data.length - offset));
+		}
+		return compressed.toByteArray();
+	}
+
+	private static byte[] uncompress(byte[] compressed) throws IOException {
+		try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+			final byte[] buffer = new byte[4096];
+			for (int length = in.read(buffer); length >= 0; length = in.read(buffer))
+				uncompressed.write(buffer, 0, length);
+			return uncompressed.toByteArray();
+		}
+	}
+
+	private static byte[] createData(int length) {
+		final Random random = new Random(1);
+		final byte[] data = new byte[length];
+		for (int i = 0; i < length; i++)
+			data[i] = (byte) ('a' + random.nextInt(8));
+		return data;
+	}
+
+	@Test
+	public void writeValidGzipForEmptyInput() throws Exception {
+		assertThat(uncompress(compress(new byte[0], 1))).isEmpty();
+	}
+
+	@Test
+	public void writeDataSmallerThanBlock() throws Exception {
+		final byte[] data = createData(1000);
+		assertThat(uncompress(compress(data, 7))).isEqualTo(data);
+	}
+
+	@Test
+	public void writeDataOfSeveralBlocksInOrder() throws Exception {
+		final byte[] data = createData(ParallelGZIPOutputStream.BLOCK_SIZE * 5 / 2);
+		final byte[] compressed = compress(data, 100000);
+		assertThat(compressed.length).isLessThan(data.length / 2);
+		assertThat(uncompress(compressed)).isEqualTo(data);
+	}
+
+	@Test
+	public void writeSingleBytes() throws Exception {
+		final byte[] data = createData(ParallelGZIPOutputStream.BLOCK_SIZE + 10);
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(compressed)) {
+			for (byte b : data)
+				out.write(b);
+		}
+		assertThat(uncompress(compressed.toByteArray())).isEqualTo(data);
+	}
+}
@@ -0,0 +1,47 @@
+package org.freeplane.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.freeplane.core.util.StartupTimeline.Phase;
+import org.junit.Test;
+
+public class StartupTimelineShould {
+	private static List<Phase> phases(String category) {
+		return StartupTimeline.phases().stream()
+		    .filter(phase -> phase.getCategory().equals(category))
+		    .collect(Collectors.toList());
+	}
+
+	@Test
+	public void writeClosedPhasesAsCompleteTraceEvents() throws Exception {
+		try (Phase outer = StartupTimeline.start("test-trace", "outer \"phase\"")) {
+			try (Phase inner = StartupTimeline.start("test-trace", "inner\\phase")) {
+				Thread.sleep(2);
+			}
+		}
+		final StringWriter trace = new StringWriter();
+
+		StartupTimeline.writeTrace(phases("test-trace"), trace);
+
+		assertThat(trace.toString())
+		    .startsWith("{\"traceEvents\":[")
+		    .contains("{\"name\":\"outer \\\"phase\\\"\",\"cat\":\"test-trace\",\"ph\":\"X\",\"ts\":0,")
+		    .contains("{\"name\":\"inner\\\\phase\",\"cat\":\"test-trace\",\"ph\":\"X\",")
+		    .endsWith("\n]}\n");
+	}
+
+	@Test
+	public void recordPhasesStartedBefore() throws Exception {
+		final long startNanos = System.nanoTime() - 5000000;
+
+		StartupTimeline.recordSince("test-since", "framework", startNanos);
+
+		final StringWriter trace = new StringWriter();
+		StartupTimeline.writeTrace(phases("test-since"), trace);
+		assertThat(trace.toString()).containsPattern("\"dur\":[0-9]{4,}");
+	}
+}
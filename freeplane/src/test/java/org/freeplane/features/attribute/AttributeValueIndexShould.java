@@ -0,0 +1,125 @@
+package org.freeplane.features.attribute;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+
+import org.freeplane.features.map.MapFake;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class AttributeValueIndexShould {
+	private final MapFake mapFake = new MapFake();
+	private final AttributeValueIndex index = new AttributeValueIndex(mapFake.getRoot().getMap(),
+	    (value, node) -> value.toString().startsWith("="),
+	    (value, node) -> value.toString().startsWith("=") ? value.toString().substring(1) : value);
+
+	private NodeModel addNodeWithAttributes(String... namesAndValues) {
+		final NodeModel node = mapFake.addNode("node");
+		setAttributes(node, namesAndValues);
+		return node;
+	}
+
+	private void setAttributes(final NodeModel node, String... namesAndValues) {
+		final NodeAttributeTableModel attributes = new NodeAttributeTableModel();
+		for (int i = 0; i < namesAndValues.length; i += 2)
+			attributes.getAttributes().add(new Attribute(namesAndValues[i], namesAndValues[i + 1]));
+		node.putExtension(attributes);
+	}
+
+	@Test
+	public void findNodesByAttributeValue() {
+		final NodeModel first = addNodeWithAttributes("cost", "10", "owner", "a");
+		final NodeModel second = addNodeWithAttributes("cost", "10");
+		final NodeModel third = addNodeWithAttributes("cost", "20");
+
+		assertThat(index.getNodes("cost", "10")).containsExactlyInAnyOrder(first, second);
+		assertThat(index.getValues("cost")).containsExactlyInAnyOrder("10", "20");
+		assertThat(index.getMatchingNodes("cost", (value, node) -> value.equals("20"))).containsExactly(third);
+		assertThat(index.getNodes("owner", "a")).containsExactly(first);
+	}
+
+	@Test
+	public void notIndexNodeDependentValues() {
+		final NodeModel node = addNodeWithAttributes("cost", "=1+1", "owner", "a");
+
+		assertThat(index.isIndexed(node, "cost")).isFalse();
+		assertThat(index.isIndexed(node, "owner")).isTrue();
+		assertThat(index.getValues("cost")).isEmpty();
+	}
+
+	@Test
+	public void updateChangedAttributes() {
+		final NodeModel node = addNodeWithAttributes("cost", "10");
+		assertThat(index.getNodes("cost", "10")).containsExactly(node);
+		final int generation = index.getGeneration();
+
+		setAttributes(node, "cost", "20");
+		index.onAttributesChanged(node);
+
+		assertThat(index.getGeneration()).isNotEqualTo(generation);
+		assertThat(index.getNodes("cost", "10")).isEmpty();
+		assertThat(index.getNodes("cost", "20")).containsExactly(node);
+	}
+
+	@Test
+	public void updateInsertedAndDeletedSubtrees() {
+		final NodeModel parent = addNodeWithAttributes("cost", "10");
+		assertThat(index.getValues("cost")).containsExactly("10");
+
+		final NodeModel child = mapFake.createNode("child");
+		setAttributes(child, "cost", "20");
+		parent.insert(child);
+		index.onSubtreeChanged(child);
+		assertThat(index.getNodes("cost", "20")).containsExactly(child);
+		assertThat(index.isIndexed(child, "cost")).isTrue();
+
+		mapFake.getRoot().remove(parent.getIndex());
+		index.onSubtreeChanged(parent);
+		assertThat(index.getValues("cost")).isEmpty();
+		assertThat(index.isIndexed(child, "cost")).isFalse();
+	}
+
+	@Test
+	public void findNodesByNumberRange() {
+		final NodeModel cheap = addNodeWithAttributes("cost", "5");
+		final NodeModel medium = addNodeWithAttributes("cost", "20.5");
+		final NodeModel expensive = addNodeWithAttributes("cost", "100");
+		addNodeWithAttributes("cost", "unknown");
+		final NodeModel formula = addNodeWithAttributes("cost", "=10");
+
+		final TypedAttributeValues typedValues = index.getTypedValues("cost");
+		assertThat(typedValues.getNodesWithNumbersBetween(5, false, 100, true)).containsExactly(medium, expensive);
+		assertThat(typedValues.getNodesWithNumbersBetween(Double.NEGATIVE_INFINITY, true, 20.5, false)).containsExactly(cheap);
+		assertThat(typedValues.containsOtherObjects()).isFalse();
+		assertThat(index.getNodesWithNumbersBetween("cost", 5, 20.5)).containsExactly(cheap, medium, formula);
+	}
+
+	@Test
+	public void updateTypedValuesOfChangedAttributes() {
+		final NodeModel node = addNodeWithAttributes("cost", "10");
+		assertThat(index.getNodesWithNumbersBetween("cost", 0, 50)).containsExactly(node);
+
+		setAttributes(node, "cost", "70");
+		index.onAttributesChanged(node);
+
+		assertThat(index.getNodesWithNumbersBetween("cost", 0, 50)).isEmpty();
+		assertThat(index.getNodesWithNumbersBetween("cost", 50, 100)).containsExactly(node);
+	}
+
+	@Test
+	public void findNodesByDateRange() {
+		final NodeModel early = mapFake.addNode("early");
+		final NodeModel late = mapFake.addNode("late");
+		final NodeAttributeTableModel earlyAttributes = new NodeAttributeTableModel();
+		earlyAttributes.getAttributes().add(new Attribute("due", new Date(1000)));
+		early.putExtension(earlyAttributes);
+		final NodeAttributeTableModel lateAttributes = new NodeAttributeTableModel();
+		lateAttributes.getAttributes().add(new Attribute("due", new Date(5000)));
+		late.putExtension(lateAttributes);
+
+		assertThat(index.getNodesWithDatesBetween("due", 1000, 4999)).containsExactly(early);
+		assertThat(index.getNodesWithDatesBetween("due", 0, Long.MAX_VALUE)).containsExactly(early, late);
+		assertThat(index.getTypedValues("due").containsOtherObjects()).isTrue();
+	}
+}
@@ -0,0 +1,22 @@
+package org.freeplane.features.icon.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class LeastRecentlyUsedCacheShould {
+	@Test
+	public void evictLeastRecentlyUsedValue() throws Exception {
+		final LeastRecentlyUsedCache<String, String> uut = new LeastRecentlyUsedCache<>(2);
+		uut.put("a", "A");
+		uut.put("b", "B");
+		uut.get("a");
+
+		uut.put("c", "C");
+
+		assertThat(uut.size()).isEqualTo(2);
+		assertThat(uut.get("a")).isEqualTo("A");
+		assertThat(uut.get("b")).isNull();
+		assertThat(uut.get("c")).isEqualTo("C");
+	}
+}
@@ -24,7 +24,15 @@ import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.features.map.NodeModel.CloneType;
 import org.hamcrest.collection.IsEmptyIterable;
 import org.junit.Test;
 
@@ -33,6 +41,7 @@ import org.junit.Test;
  * 16.02.2014
  */
 public class ClonesTest {
+	private static final int CLONE_COUNT = 500;
 	MapModel map = null;
 
 	private NodeModel root() {
@@ -129,4 +138,88 @@ public class ClonesTest {
 		assertThat(clone.subtreeContainsCloneOf(child), is(true));
 	}
 
+	@Test
+	public void notifiesEachCloneOncePerCloneTypeWhenCloneIsAdded() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel clone = node.cloneTree();
+		parent.insert(clone);
+		final INodeView nodeView = mock(INodeView.class);
+		node.addViewer(nodeView);
+		final INodeView cloneView = mock(INodeView.class);
+		clone.addViewer(cloneView);
+
+		parent.insert(node.cloneTree());
+
+		verify(nodeView, times(CloneType.values().length)).nodeChanged(any(NodeChangeEvent.class));
+		verify(cloneView, times(CloneType.values().length)).nodeChanged(any(NodeChangeEvent.class));
+	}
+
+	@Test
+	public void notifiesUnclonedNodeOnceWhenItIsAttached() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		final INodeView nodeView = mock(INodeView.class);
+		node.addViewer(nodeView);
+
+		parent.insert(node);
+
+		verify(nodeView, times(1)).nodeChanged(any(NodeChangeEvent.class));
+	}
+
+	private static class CountingView implements INodeView {
+		private int changeCount = 0;
+
+		@Override
+		public void nodeChanged(NodeChangeEvent event) {
+			changeCount++;
+		}
+	}
+
+	@Test
+	public void editSubtreeWith500ClonesInStructureChangeBatch() {
+		final MapModel batchMap = new MapModel(null, null);
+		final NodeModel parent = new NodeModel("parent", batchMap);
+		parent.setClones(new SingleNodeList(parent, TREE));
+		final NodeModel template = new NodeModel("template", batchMap);
+		for (int i = 0; i < 10; i++) {
+			final NodeModel child = new NodeModel("child " + i, batchMap);
+			child.insert(new NodeModel("grandchild", batchMap));
+			template.insert(child);
+		}
+		parent.insert(template);
+		final List<NodeModel> clones = new ArrayList<>(CLONE_COUNT);
+		final List<CountingView> views = new ArrayList<>(CLONE_COUNT);
+		batchMap.startCollectingCloneChanges();
+		for (int i = 0; i < CLONE_COUNT; i++) {
+			final NodeModel clone = template.cloneTree();
+			final CountingView view = new CountingView();
+			clone.addViewer(view);
+			views.add(view);
+			parent.insert(clone);
+			clones.add(clone);
+		}
+		batchMap.fireCollectedCloneChanges();
+		for (final CountingView view : views)
+			assertThat(view.changeCount, is(1));
+
+		final NodeModel newChild = new NodeModel("new child", batchMap);
+		template.insert(newChild);
+		batchMap.startCollectingCloneChanges();
+		for (final NodeModel clone : clones)
+			clone.insert(newChild.cloneTree());
+		batchMap.fireCollectedCloneChanges();
+		assertThat(newChild.subtreeClones().size(), is(CLONE_COUNT + 1));
+
+		batchMap.startCollectingCloneChanges();
+		for (final NodeModel clone : clones)
+			clone.remove(0);
+		for (final NodeModel clone : clones)
+			parent.remove(parent.getIndex(clone));
+		batchMap.fireCollectedCloneChanges();
+
+		assertThat(template.subtreeClones(), contains(template));
+		assertThat(newChild.subtreeClones(), contains(newChild));
+	}
 }
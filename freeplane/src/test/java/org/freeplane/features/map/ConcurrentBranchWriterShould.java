@@ -0,0 +1,187 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.freeplane.core.io.IAttributeWriter;
+import org.freeplane.core.io.IThreadSafeWriter;
+import org.freeplane.core.io.ITreeWriter;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.io.WriteManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.link.NodeLinks;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.text.NodeTextBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentBranchWriterShould {
+	private static final int BRANCH_COUNT = 8;
+	private final WriteManager writeManager = new WriteManager();
+	private final ResourceController resourceController = mock(ResourceController.class);
+	private final MapController mapController = mock(MapController.class);
+	private final Set<Thread> threadsWritingBranches = ConcurrentHashMap.newKeySet();
+	private MapWriter mapWriter;
+
+	private class TextWriter implements IAttributeWriter {
+		@Override
+		public void writeAttributes(ITreeWriter writer, Object userObject, String tag) {
+			final NodeModel node = (NodeModel) userObject;
+			if (!node.isRoot())
+				threadsWritingBranches.add(Thread.currentThread());
+			writer.addAttribute("TEXT", node.getText());
+		}
+	}
+
+	private class ThreadSafeTextWriter extends TextWriter implements IThreadSafeWriter {
+	}
+
+	private class ThreadRecordingWriter implements IAttributeWriter, IThreadSafeWriter {
+		@Override
+		public void writeAttributes(ITreeWriter writer, Object userObject, String tag) {
+			if (!((NodeModel) userObject).isRoot())
+				threadsWritingBranches.add(Thread.currentThread());
+		}
+	}
+
+	@Before
+	public void setup() {
+		final Controller controller = mock(Controller.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		Controller.setCurrentController(controller);
+		when(mapController.getWriteManager()).thenReturn(writeManager);
+		when(mapController.getModeController()).thenReturn(mock(ModeController.class));
+		mapWriter = new MapWriter(mapController);
+		when(mapController.getMapWriter()).thenReturn(mapWriter);
+		writeManager.addElementWriter("map", mapWriter);
+		writeManager.addAttributeWriter("map", mapWriter);
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private MapModel createMap(int nodesPerBranch) {
+		final MapModel map = new MapModel(null, null);
+		final NodeModel root = new NodeModel("root", map);
+		map.setRoot(root);
+		root.createID();
+		for (int branchIndex = 0; branchIndex < BRANCH_COUNT; branchIndex++) {
+			final NodeModel branch = createNode(map, root, "branch " + branchIndex);
+			for (int nodeIndex = 1; nodeIndex < nodesPerBranch; nodeIndex += 2) {
+				final NodeModel child = createNode(map, branch, "child " + nodeIndex + " <&>");
+				createNode(map, child, "grandchild " + nodeIndex + " ä");
+			}
+		}
+		return map;
+	}
+
+	private NodeModel createNode(MapModel map, NodeModel parent, String text) {
+		final NodeModel node = new NodeModel(text, map);
+		parent.insert(node);
+		node.createID();
+		return node;
+	}
+
+	private String save(MapModel map, boolean concurrently) throws IOException {
+		when(resourceController.getBooleanProperty(ConcurrentBranchWriter.SAVE_BRANCHES_CONCURRENTLY_PROPERTY))
+		    .thenReturn(concurrently);
+		threadsWritingBranches.clear();
+		final StringWriter writer = new StringWriter();
+		mapWriter.writeMapAsXml(map, writer, Mode.FILE, true, false);
+		return writer.toString();
+	}
+
+	@Test
+	public void writeSameXmlConcurrentlyAsSequentially() throws Exception {
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new ThreadSafeTextWriter());
+		final MapModel map = createMap(ConcurrentBranchWriter.MINIMUM_NODE_COUNT / BRANCH_COUNT + 1);
+		final String sequentiallyWrittenXml = save(map, false);
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+
+		final String concurrentlyWrittenXml = save(map, true);
+
+		assertThat(threadsWritingBranches).isNotEmpty().doesNotContain(Thread.currentThread());
+		assertThat(concurrentlyWrittenXml).isEqualTo(sequentiallyWrittenXml);
+	}
+
+	@Test
+	public void writeSameXmlOfNodesWithTextAndLinksConcurrentlyAsSequentially() throws Exception {
+		new NodeTextBuilder().registerBy(new ReadManager(), writeManager);
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new ThreadRecordingWriter());
+		final MapModel map = createMap(ConcurrentBranchWriter.MINIMUM_NODE_COUNT / BRANCH_COUNT + 1);
+		final NodeModel root = map.getRootNode();
+		for (int branchIndex = 0; branchIndex < BRANCH_COUNT; branchIndex++) {
+			final NodeModel branch = root.getChildAt(branchIndex);
+			branch.setXmlText("<html><body><p>branch <b>" + branchIndex + "</b></p></body></html>");
+			final NodeModel linkedNode = root.getChildAt((branchIndex + 1) % BRANCH_COUNT).getChildAt(branchIndex);
+			NodeLinks.createLinkExtension(branch.getChildAt(0)).setLocalHyperlink(branch.getChildAt(0), linkedNode.getID());
+		}
+		final String sequentiallyWrittenXml = save(map, false);
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+
+		final String concurrentlyWrittenXml = save(map, true);
+
+		assertThat(threadsWritingBranches).isNotEmpty().doesNotContain(Thread.currentThread());
+		assertThat(concurrentlyWrittenXml).isEqualTo(sequentiallyWrittenXml).contains("LINK=\"#ID_", "<richcontent");
+	}
+
+	@Test
+	public void writeSequentiallyIfMapHasUnloadedChildNodes() throws Exception {
+		when(resourceController.getProperty(NodeBuilder.RESOURCES_SAVE_FOLDING))
+		    .thenReturn(NodeBuilder.RESOURCES_ALWAYS_SAVE_FOLDING);
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new ThreadSafeTextWriter());
+		final MapModel map = createMap(ConcurrentBranchWriter.MINIMUM_NODE_COUNT / BRANCH_COUNT + 1);
+		final NodeModel folded = createNode(map, map.getRootNode().getChildAt(0), "folded");
+		UnloadedChildNodes.add(folded, new MapReader(new ReadManager()), "<node ID=\"ID_UNLOADED\"/>");
+
+		final String xml = save(map, true);
+
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+		assertThat(UnloadedChildNodes.isUnloaded(folded)).isTrue();
+		assertThat(xml).contains("<node ID=\"ID_UNLOADED\"/>");
+	}
+
+	@Test
+	public void writeSequentiallyIfWriterIsNotMarkedAsThreadSafe() throws Exception {
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new TextWriter());
+		final MapModel map = createMap(ConcurrentBranchWriter.MINIMUM_NODE_COUNT / BRANCH_COUNT + 1);
+
+		save(map, true);
+
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+	}
+
+	@Test
+	public void writeSmallMapsSequentially() throws Exception {
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new ThreadSafeTextWriter());
+		final MapModel map = createMap(10);
+
+		save(map, true);
+
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+	}
+
+	@Test
+	public void writeSequentiallyIfNodeHasNoId() throws Exception {
+		writeManager.addAttributeWriter(NodeBuilder.XML_NODE, new ThreadSafeTextWriter());
+		final MapModel map = createMap(ConcurrentBranchWriter.MINIMUM_NODE_COUNT / BRANCH_COUNT + 1);
+		map.getRootNode().getChildAt(0).insert(new NodeModel("without id", map));
+
+		save(map, true);
+
+		assertThat(threadsWritingBranches).containsOnly(Thread.currentThread());
+	}
+}
@@ -0,0 +1,132 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.core.resources.ResourceBundles;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.clipboard.ClipboardControllers;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.ui.ViewController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NodeChangeDispatchShould {
+	private final List<NodeChangeEvent> immediateEvents = new ArrayList<>();
+	private final List<NodeChangeEvent> committedEvents = new ArrayList<>();
+	private final List<NodeChangeEvent> viewEvents = new ArrayList<>();
+	private MapController mapController;
+	private NodeModel node;
+
+	@Before
+	public void setup() {
+		final Controller controller = mock(Controller.class);
+		final ResourceController resourceController = mock(ResourceController.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		when(resourceController.getResources()).thenReturn(mock(ResourceBundles.class));
+		when(controller.getViewController()).thenReturn(mock(ViewController.class));
+		final ModeController modeController = mock(ModeController.class);
+		when(controller.getModeController()).thenReturn(modeController);
+		when(modeController.getController()).thenReturn(controller);
+		when(modeController.getExtension(ClipboardControllers.class)).thenReturn(mock(ClipboardControllers.class));
+		Controller.setCurrentController(controller);
+		mapController = new MapController(modeController);
+		mapController.addNodeChangeListener(immediateEvents::add);
+		mapController.addNodeChangeListener(new INodeChangeListener() {
+			@Override
+			public void nodeChanged(NodeChangeEvent event) {
+				committedEvents.add(event);
+			}
+
+			@Override
+			public boolean receivesChangesOnCommit() {
+				return true;
+			}
+		});
+		final MapModel map = new MapModel(null, null);
+		node = new NodeModel(map);
+		map.setRoot(node);
+		node.addViewer(new INodeView() {
+			@Override
+			public void nodeChanged(NodeChangeEvent event) {
+				viewEvents.add(event);
+			}
+
+			@Override
+			public boolean receivesChangesOnCommit() {
+				return true;
+			}
+		});
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private void changeText(String oldText, String newText) {
+		mapController.nodeRefresh(node, NodeModel.NODE_TEXT, oldText, newText);
+	}
+
+	@Test
+	public void notifyAllListenersImmediatelyOutsideOfTransactions() {
+		changeText("a", "b");
+
+		assertThat(immediateEvents).hasSize(1);
+		assertThat(committedEvents).hasSize(1);
+		assertThat(viewEvents).hasSize(1);
+	}
+
+	@Test
+	public void notifyListenersReceivingChangesOnCommitAfterCommit() {
+		mapController.startNodeChangeTransaction();
+		changeText("a", "b");
+		changeText("b", "c");
+
+		assertThat(immediateEvents).extracting(NodeChangeEvent::getNewValue).containsExactly("b", "c");
+		assertThat(committedEvents).isEmpty();
+		assertThat(viewEvents).isEmpty();
+
+		mapController.commitNodeChangeTransaction();
+
+		assertThat(immediateEvents).hasSize(2);
+		assertThat(committedEvents).extracting(NodeChangeEvent::getOldValue, NodeChangeEvent::getNewValue)
+		    .containsExactly(tuple("a", "c"));
+		assertThat(viewEvents).hasSize(1);
+	}
+
+	@Test
+	public void notifyListenersReceivingChangesOnCommitAfterOutermostCommit() {
+		mapController.executeNodeChangeTransaction(() -> {
+			changeText("a", "b");
+			mapController.executeNodeChangeTransaction(() -> changeText("b", "c"));
+			assertThat(committedEvents).isEmpty();
+			assertThat(viewEvents).isEmpty();
+			changeText("c", "d");
+		});
+
+		assertThat(immediateEvents).hasSize(3);
+		assertThat(committedEvents).extracting(NodeChangeEvent::getOldValue, NodeChangeEvent::getNewValue)
+		    .containsExactly(tuple("a", "d"));
+		assertThat(viewEvents).hasSize(1);
+	}
+
+	@Test
+	public void notifyListenersImmediatelyAgainAfterCommit() {
+		mapController.executeNodeChangeTransaction(() -> changeText("a", "b"));
+		committedEvents.clear();
+
+		changeText("b", "c");
+
+		assertThat(committedEvents).hasSize(1);
+	}
+}
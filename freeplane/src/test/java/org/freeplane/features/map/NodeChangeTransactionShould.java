@@ -0,0 +1,57 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class NodeChangeTransactionShould {
+	private final MapFake map = new MapFake();
+	private final NodeChangeTransaction uut = new NodeChangeTransaction();
+
+	@Test
+	public void mergeChangesOfSameNodeAndProperty() throws Exception {
+		final NodeModel node = map.createNode("node");
+		uut.start();
+
+		uut.add(new NodeChangeEvent(node, NodeModel.NODE_TEXT, "a", "b", false, false));
+		uut.add(new NodeChangeEvent(node, NodeModel.NODE_TEXT, "b", "c", true, false));
+
+		final List<NodeChangeEvent> events = new ArrayList<>(uut.getEvents());
+		assertThat(events).hasSize(1);
+		final NodeChangeEvent event = events.get(0);
+		assertThat(event.getOldValue()).isEqualTo("a");
+		assertThat(event.getNewValue()).isEqualTo("c");
+		assertThat(event.setsDirtyFlag()).isTrue();
+	}
+
+	@Test
+	public void keepChangesOfDifferentNodesAndPropertiesInOrder() throws Exception {
+		final NodeModel first = map.createNode("first");
+		final NodeModel second = map.createNode("second");
+		uut.start();
+
+		uut.add(new NodeChangeEvent(second, NodeModel.NODE_TEXT, null, null, false, false));
+		uut.add(new NodeChangeEvent(first, NodeModel.NODE_TEXT, null, null, false, false));
+		uut.add(new NodeChangeEvent(first, NodeModel.NOTE_TEXT, null, null, false, false));
+		uut.add(new NodeChangeEvent(second, NodeModel.NODE_TEXT, null, null, false, false));
+
+		assertThat(uut.getEvents()).extracting(NodeChangeEvent::getNode, NodeChangeEvent::getProperty)
+		    .containsExactly(
+		        tuple(second, NodeModel.NODE_TEXT),
+		        tuple(first, NodeModel.NODE_TEXT),
+		        tuple(first, NodeModel.NOTE_TEXT));
+	}
+
+	@Test
+	public void commitOnlyOutermostTransaction() throws Exception {
+		uut.start();
+		uut.start();
+
+		assertThat(uut.commit()).isFalse();
+		assertThat(uut.commit()).isTrue();
+	}
+}
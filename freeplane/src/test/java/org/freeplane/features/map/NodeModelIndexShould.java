@@ -0,0 +1,117 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class NodeModelIndexShould {
+	private static final int CHILD_COUNT = 50000;
+	private final MapFake map = new MapFake();
+	private final NodeModel root = map.getRoot();
+
+	@Test
+	public void returnIndexOfInsertedNodes() throws Exception {
+		final NodeModel second = map.addNode("second");
+		final NodeModel first = map.createNode("first");
+		root.insert(first, 0);
+
+		assertThat(root.getIndex(first)).isEqualTo(0);
+		assertThat(root.getIndex(second)).isEqualTo(1);
+		assertThat(second.getIndex()).isEqualTo(1);
+	}
+
+	@Test
+	public void returnIndexAfterRemoval() throws Exception {
+		final NodeModel first = map.addNode("first");
+		final NodeModel second = map.addNode("second");
+		final NodeModel third = map.addNode("third");
+		assertThat(root.getIndex(third)).isEqualTo(2);
+
+		root.remove(0);
+
+		assertThat(root.getIndex(first)).isEqualTo(-1);
+		assertThat(root.getIndex(second)).isEqualTo(0);
+		assertThat(root.getIndex(third)).isEqualTo(1);
+	}
+
+	@Test
+	public void returnIndexOfNodeMovedToOtherParent() throws Exception {
+		final NodeModel parent = map.addNode("parent");
+		final NodeModel child = map.addNode("child");
+		root.remove(root.getIndex(child));
+
+		parent.insert(child, 0);
+
+		assertThat(parent.getIndex(child)).isEqualTo(0);
+		assertThat(root.getIndex(child)).isEqualTo(-1);
+	}
+
+	@Test
+	public void returnIndicesWhileRemovingChildrenFromFront() throws Exception {
+		final List<NodeModel> children = new ArrayList<>(CHILD_COUNT);
+		for (int i = 0; i < CHILD_COUNT; i++)
+			children.add(map.addNode(Integer.toString(i)));
+		for (int i = 0; i < CHILD_COUNT; i++) {
+			final NodeModel child = children.get(i);
+			assertThat(root.getIndex(child)).isEqualTo(0);
+			root.remove(0);
+		}
+		assertThat(root.getChildCount()).isEqualTo(0);
+		assertThat(root.getIndex(children.get(0))).isEqualTo(-1);
+	}
+
+	@Test
+	public void returnIndicesWhileSortingChildrenByMoves() throws Exception {
+		final int childCount = CHILD_COUNT / 10;
+		final List<NodeModel> children = new ArrayList<>(childCount);
+		for (int i = 0; i < childCount; i++)
+			children.add(map.addNode(Integer.toString(i)));
+		final List<NodeModel> sortedChildren = new ArrayList<>(children);
+		Collections.shuffle(sortedChildren, new Random(1));
+		for (int i = 0; i < childCount; i++) {
+			final NodeModel child = sortedChildren.get(i);
+			root.remove(root.getIndex(child));
+			root.insert(child, i);
+			assertThat(root.getIndex(child)).isEqualTo(i);
+		}
+		for (int i = 0; i < childCount; i++) {
+			assertThat(root.getChildAt(i)).isSameAs(sortedChildren.get(i));
+			assertThat(sortedChildren.get(i).getIndex()).isEqualTo(i);
+		}
+	}
+
+	@Test
+	public void returnIndicesAfterInsertionInTheMiddle() throws Exception {
+		final NodeModel first = map.addNode("first");
+		final NodeModel third = map.addNode("third");
+		assertThat(root.getIndex(third)).isEqualTo(1);
+		final NodeModel second = map.createNode("second");
+
+		root.insert(second, 1);
+
+		assertThat(root.getIndex(first)).isEqualTo(0);
+		assertThat(root.getIndex(second)).isEqualTo(1);
+		assertThat(root.getIndex(third)).isEqualTo(2);
+	}
+
+	@Test
+	public void buildSortAndNavigateManyChildren() throws Exception {
+		final List<NodeModel> children = new ArrayList<>(CHILD_COUNT);
+		for (int i = 0; i < CHILD_COUNT; i++)
+			children.add(map.addNode(Integer.toString(i)));
+		for (int i = 0; i < CHILD_COUNT; i++)
+			assertThat(children.get(i).getIndex()).isEqualTo(i);
+		Collections.reverse(children);
+		for (int i = 0; i < CHILD_COUNT; i++)
+			root.remove(root.getIndex(children.get(i)));
+		for (final NodeModel child : children)
+			root.insert(child, root.getChildCount());
+		for (int i = 0; i < CHILD_COUNT; i++)
+			assertThat(root.getIndex(children.get(i))).isEqualTo(i);
+	}
+}
@@ -0,0 +1,97 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.freeplane.features.map.NodeModel.CloneType.CONTENT;
+import static org.freeplane.features.map.NodeModel.CloneType.TREE;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class NodeModelLayoutShould {
+	private final MapModel map = null;
+
+	private NodeModel attachedRoot() {
+		final NodeModel root = new NodeModel("root", map);
+		root.setClones(new SingleNodeList(root, TREE));
+		root.setClones(new SingleNodeList(root, CONTENT));
+		return root;
+	}
+
+	@Test
+	public void shareEmptyChildListBetweenLeaves() {
+		final NodeModel first = new NodeModel("first", map);
+		final NodeModel second = new NodeModel("second", map);
+		assertThat(first.getChildrenInternal()).isEmpty();
+		assertThat(first.getChildrenInternal()).isSameAs(second.getChildrenInternal());
+	}
+
+	@Test
+	public void allocateChildListOnFirstInsert() {
+		final NodeModel parent = new NodeModel("parent", map);
+		final NodeModel leaf = new NodeModel("leaf", map);
+		final NodeModel child = new NodeModel("child", map);
+		parent.insert(child);
+		assertThat(parent.getChildrenInternal()).containsExactly(child);
+		assertThat(leaf.getChildrenInternal()).isEmpty();
+	}
+
+	@Test
+	public void keepAttachmentStateOfNodesWithoutClones() {
+		final NodeModel root = attachedRoot();
+		final NodeModel node = new NodeModel("node", map);
+		root.insert(node);
+		assertThat(node.isAttached()).isTrue();
+		assertThat(node.subtreeClones()).containsExactly(node);
+		assertThat(node.allClones()).containsExactly(node);
+		root.remove(0);
+		assertThat(node.isAttached()).isFalse();
+		assertThat(node.subtreeClones()).isEmpty();
+		assertThat(node.allClones()).isEmpty();
+	}
+
+	@Test
+	public void returnToCompactStateAfterLastCloneIsRemoved() {
+		final NodeModel root = attachedRoot();
+		final NodeModel node = new NodeModel("node", map);
+		root.insert(node);
+		final NodeModel clone = node.cloneTree();
+		root.insert(clone);
+		assertThat(node.subtreeClones()).containsExactlyInAnyOrder(node, clone);
+		root.remove(root.getIndex(clone));
+		assertThat(node.subtreeClones()).containsExactly(node);
+		assertThat(node.allClones()).containsExactly(node);
+		assertThat(node.isCloneTreeRoot()).isFalse();
+	}
+
+	@Test
+	public void keepLargeMapCompact() {
+		final NodeModel root = attachedRoot();
+		final List<NodeModel> nodes = new ArrayList<>();
+		nodes.add(root);
+		for (int i = 0; nodes.size() < 20000; i++) {
+			final NodeModel child = new NodeModel("node " + nodes.size(), map);
+			nodes.get(i / 10).insert(child);
+			nodes.add(child);
+		}
+		final NodeModel clonedNode = nodes.get(1);
+		final NodeModel clone = clonedNode.cloneTree();
+		root.insert(clone);
+		root.remove(root.getIndex(clone));
+
+		final Set<List<NodeModel>> childLists = Collections.newSetFromMap(new IdentityHashMap<>());
+		int leafCount = 0;
+		for (final NodeModel node : nodes) {
+			assertThat(node.keepsCloneLists()).isFalse();
+			if (node.getChildCount() == 0)
+				leafCount++;
+			childLists.add(node.getChildrenInternal());
+		}
+		assertThat(leafCount).isGreaterThan(nodes.size() / 2);
+		assertThat(childLists).hasSize(nodes.size() - leafCount + 1);
+	}
+}
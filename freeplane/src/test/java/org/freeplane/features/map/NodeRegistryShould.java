@@ -0,0 +1,69 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class NodeRegistryShould {
+	private final NodeRegistry registry = new NodeRegistry();
+	private final MapModel map = null;
+
+	@Test
+	public void findNodesByNumericId() {
+		final NodeModel node = new NodeModel("node", map);
+		registry.put("ID_1234567890", node);
+		assertThat(registry.get("ID_1234567890")).isSameAs(node);
+		assertThat(registry.get("ID_123456789")).isNull();
+	}
+
+	@Test
+	public void findNodesByLegacyId() {
+		final NodeModel node = new NodeModel("node", map);
+		final NodeModel other = new NodeModel("other", map);
+		registry.put("Freemind_Link_12", node);
+		registry.put("ID_0012", other);
+		assertThat(registry.get("Freemind_Link_12")).isSameAs(node);
+		assertThat(registry.get("ID_0012")).isSameAs(other);
+		assertThat(registry.get("ID_12")).isNull();
+	}
+
+	@Test
+	public void returnPreviouslyRegisteredNode() {
+		final NodeModel node = new NodeModel("node", map);
+		assertThat(registry.put("ID_7", node)).isNull();
+		assertThat(registry.put("ID_7", node)).isSameAs(node);
+	}
+
+	@Test
+	public void keepRemovedIdsReserved() {
+		final NodeModel node = new NodeModel("node", map);
+		registry.put("ID_7", node);
+		registry.put("ID_7", null);
+		assertThat(registry.get("ID_7")).isNull();
+		assertThat(registry.contains("ID_7")).isTrue();
+		assertThat(registry.contains(7)).isTrue();
+		assertThat(registry.contains(8)).isFalse();
+	}
+
+	@Test
+	public void parseOnlyCanonicalNumericIds() {
+		assertThat(NodeRegistry.parseNumber("ID_0")).isEqualTo(0);
+		assertThat(NodeRegistry.parseNumber("ID_2147483647")).isEqualTo(Integer.MAX_VALUE);
+		assertThat(NodeRegistry.parseNumber("ID_2147483648")).isEqualTo(-1);
+		assertThat(NodeRegistry.parseNumber("ID_01")).isEqualTo(-1);
+		assertThat(NodeRegistry.parseNumber("ID_")).isEqualTo(-1);
+		assertThat(NodeRegistry.parseNumber("ID_-1")).isEqualTo(-1);
+		assertThat(NodeRegistry.parseNumber("id_1")).isEqualTo(-1);
+	}
+
+	@Test
+	public void keepAllNodesWhenGrowing() {
+		final NodeModel[] nodes = new NodeModel[5000];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = new NodeModel("node", map);
+			registry.put(NodeRegistry.formatId(i * 7919), nodes[i]);
+		}
+		for (int i = 0; i < nodes.length; i++)
+			assertThat(registry.get(NodeRegistry.formatId(i * 7919))).isSameAs(nodes[i]);
+	}
+}
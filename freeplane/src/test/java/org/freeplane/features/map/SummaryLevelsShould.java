@@ -181,4 +181,38 @@ public class SummaryLevelsShould {
 			assertThat(summaryLevels.findGroupBeginNode(node.getIndex()), equalTo(node));
 		}
 	}
+
+	public static class ScaleToManyChildren extends SummaryLevelsShould{
+		private static final int CHILD_COUNT = 50000;
+
+		@Test
+		public void findGroupsOfManySummarizedNodes() throws Exception {
+			final NodeModel groupBeginNode = mapFake.addGroupBeginNode();
+			for (int i = 1; i < CHILD_COUNT; i++)
+				mapFake.addNode(Integer.toString(i));
+			final NodeModel summaryNode = mapFake.addSummaryNode();
+			final SummaryLevels summaryLevels = new SummaryLevels(mapFake.getRoot());
+			for (int i = 0; i < CHILD_COUNT; i++) {
+				assertThat(summaryLevels.findSummaryNodeIndex(i), equalTo(summaryNode.getIndex()));
+				assertThat(summaryLevels.findGroupBeginNodeIndex(i), equalTo(groupBeginNode.getIndex()));
+			}
+		}
+
+		@Test
+		public void findGroupsOfManySmallGroupsOnBothSides() throws Exception {
+			final int groupCount = CHILD_COUNT / 3;
+			for (int i = 0; i < groupCount; i++) {
+				final boolean isLeft = i % 2 == 0;
+				mapFake.addGroupBeginNode().setLeft(isLeft);
+				mapFake.addNode(Integer.toString(i)).setLeft(isLeft);
+				mapFake.addSummaryNode().setLeft(isLeft);
+			}
+			final SummaryLevels summaryLevels = new SummaryLevels(mapFake.getRoot());
+			for (int i = 0; i < groupCount; i++) {
+				final int groupBeginNodeIndex = 3 * i;
+				assertThat(summaryLevels.findSummaryNodeIndex(groupBeginNodeIndex + 1), equalTo(groupBeginNodeIndex + 2));
+				assertThat(summaryLevels.findGroupBeginNodeIndex(groupBeginNodeIndex + 1), equalTo(groupBeginNodeIndex));
+			}
+		}
+	}
 }
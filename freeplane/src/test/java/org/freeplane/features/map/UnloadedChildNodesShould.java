@@ -0,0 +1,223 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.io.WriteManager;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class UnloadedChildNodesShould {
+	private static final String MAP = "<map version=\"freeplane 1.9.0\">\n"
+			+ "<node ID=\"ID_1\">\n"
+			+ "<node ID=\"ID_2\" FOLDED=\"true\">\n"
+			+ "<node ID=\"ID_3\">\n"
+			+ "<node ID=\"ID_4\"/>\n"
+			+ "</node>\n"
+			+ "<node ID=\"ID_5\" FOLDED=\"true\">\n"
+			+ "<node ID=\"ID_6\"/>\n"
+			+ "</node>\n"
+			+ "</node>\n"
+			+ "<node ID=\"ID_7\"/>\n"
+			+ "</node>\n"
+			+ "</map>\n";
+	private final ResourceController resourceController = mock(ResourceController.class);
+	private final MapController mapController = mock(MapController.class);
+	private final ReadManager readManager = new ReadManager();
+	private final WriteManager writeManager = new WriteManager();
+	private MapReader mapReader;
+	private MapWriter mapWriter;
+
+	@Before
+	public void setup() {
+		final Controller controller = mock(Controller.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		when(resourceController.getProperty(NodeBuilder.RESOURCES_SAVE_FOLDING))
+		    .thenReturn(NodeBuilder.RESOURCES_ALWAYS_SAVE_FOLDING);
+		Controller.setCurrentController(controller);
+		mapReader = new MapReader(readManager);
+		readManager.addElementHandler("map", mapReader);
+		when(mapController.getWriteManager()).thenReturn(writeManager);
+		when(mapController.getModeController()).thenReturn(mock(ModeController.class));
+		when(mapController.isFolded(any())).thenAnswer(invocation -> ((NodeModel) invocation.getArgument(0)).isFolded());
+		mapWriter = new MapWriter(mapController);
+		when(mapController.getMapWriter()).thenReturn(mapWriter);
+		writeManager.addElementWriter("map", mapWriter);
+		writeManager.addAttributeWriter("map", mapWriter);
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private MapModel load(String xml, boolean lazily) throws Exception {
+		when(resourceController.getBooleanProperty(UnloadedChildNodes.LOAD_FOLDED_BRANCHES_LAZILY_PROPERTY))
+		    .thenReturn(lazily);
+		final MapModel map = new MapModel(null, null);
+		mapReader.createNodeTreeFromXml(map, new StringReader(xml), Mode.FILE);
+		return map;
+	}
+
+	private String save(MapModel map) throws Exception {
+		final StringWriter writer = new StringWriter();
+		mapWriter.writeMapAsXml(map, writer, Mode.FILE, true, false);
+		return writer.toString();
+	}
+
+	@Test
+	public void keepChildNodesOfFoldedNodesUnloaded() throws Exception {
+		final MapModel map = load(MAP, true);
+
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+
+		assertThat(foldedNode.getChildCount()).isEqualTo(2);
+		assertThat(UnloadedChildNodes.isUnloaded(foldedNode)).isTrue();
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode())).isFalse();
+	}
+
+	@Test
+	public void loadChildNodesOnAccess() throws Exception {
+		final MapModel map = load(MAP, true);
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+
+		final NodeModel child = foldedNode.getChildAt(0);
+
+		assertThat(UnloadedChildNodes.isUnloaded(foldedNode)).isFalse();
+		assertThat(child.getID()).isEqualTo("ID_3");
+		assertThat(child.getParentNode()).isSameAs(foldedNode);
+		assertThat(child.getChildAt(0).getID()).isEqualTo("ID_4");
+		assertThat(map.getNodeForID("ID_3")).isSameAs(child);
+		assertThat(UnloadedChildNodes.isUnloaded(foldedNode.getChildAt(1))).isTrue();
+	}
+
+	@Test
+	public void loadChildNodesWhenTheirIdIsLookedUp() throws Exception {
+		final MapModel map = load(MAP, true);
+
+		final NodeModel node = map.getNodeForID("ID_6");
+
+		assertThat(node.getParentNode().getID()).isEqualTo("ID_5");
+		assertThat(node.getParentNode().getParentNode()).isSameAs(map.getRootNode().getChildAt(0));
+	}
+
+	@Test
+	public void notGenerateIdsOfUnloadedNodes() throws Exception {
+		final MapModel map = load(MAP, true);
+
+		assertThat(map.generateNodeID("ID_4")).isNotEqualTo("ID_4");
+	}
+
+	@Test
+	public void estimateSubtreeSizeWithoutLoadingChildNodes() throws Exception {
+		final MapModel map = load(MAP, true);
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+
+		final long estimatedSize = new SubtreeSizeEstimator(100).estimate(map.getRootNode());
+
+		assertThat(UnloadedChildNodes.isUnloaded(foldedNode)).isTrue();
+		assertThat(estimatedSize).isEqualTo(3 * 100 + 2 * UnloadedChildNodes.unloadedXmlLength(foldedNode));
+	}
+
+	@Test
+	public void loadAllChildNodesIfDisabled() throws Exception {
+		final MapModel map = load(MAP, false);
+
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(0))).isFalse();
+	}
+
+	@Test
+	public void saveUnloadedChildNodesAsTheyWereRead() throws Exception {
+		final String savedXml = save(load(MAP, false));
+		final MapModel map = load(savedXml, true);
+
+		final String savedUnloadedXml = save(map);
+
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(0))).isTrue();
+		assertThat(savedUnloadedXml).isEqualTo(savedXml);
+	}
+
+	private static String mapWithFoldedBranch(String childXml) {
+		return "<map version=\"freeplane 1.9.0\">\n"
+				+ "<node ID=\"ID_1\">\n"
+				+ "<node ID=\"ID_2\" FOLDED=\"true\">\n"
+				+ childXml
+				+ "</node>\n"
+				+ "<node ID=\"ID_5\" FOLDED=\"true\">\n"
+				+ "<node ID=\"ID_6\"/>\n"
+				+ "</node>\n"
+				+ "</node>\n"
+				+ "</map>\n";
+	}
+
+	@Test
+	public void keepChildNodesWhichCanNotBeParsed() throws Exception {
+		final String brokenChildXml = "<node ID=\"ID_3\"><a></b></node>\n";
+		final MapModel map = load(mapWithFoldedBranch(brokenChildXml), true);
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+
+		assertThat(foldedNode.getChildren()).isEmpty();
+		assertThat(UnloadedChildNodes.hasFailedToLoad(foldedNode)).isTrue();
+		assertThat(map.getNodeForID("ID_3")).isNull();
+		assertThat(map.generateNodeID("ID_3")).isNotEqualTo("ID_3");
+		assertThat(save(map)).contains(brokenChildXml.trim());
+	}
+
+	@Test
+	public void saveNodesAddedToChildNodesWhichCanNotBeParsed() throws Exception {
+		final MapModel map = load(mapWithFoldedBranch("<node ID=\"ID_3\"><a></b></node>\n"), true);
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+		final NodeModel addedNode = new NodeModel(map);
+		addedNode.setID("ID_8");
+		foldedNode.insert(addedNode);
+
+		final String savedXml = save(map);
+
+		assertThat(savedXml).contains("<node ID=\"ID_3\"><a></b></node>");
+		assertThat(savedXml).contains("ID=\"ID_8\"");
+	}
+
+	@Test
+	public void loadChildNodesWithConnectorsWhenMapIsRead() throws Exception {
+		final MapModel map = load(mapWithFoldedBranch(
+		    "<node ID=\"ID_3\">\n<arrowlink DESTINATION=\"ID_6\"/>\n</node>\n"), true);
+
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(0))).isFalse();
+		assertThat(map.getRootNode().getChildAt(0).getChildAt(0).getID()).isEqualTo("ID_3");
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(1))).isTrue();
+	}
+
+	@Test
+	public void loadChildNodesWithAttributesWhenMapIsRead() throws Exception {
+		final MapModel map = load(mapWithFoldedBranch(
+		    "<node ID=\"ID_3\">\n<node ID=\"ID_4\">\n<attribute NAME=\"cost\" VALUE=\"10\"/>\n</node>\n</node>\n"), true);
+
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(0))).isFalse();
+		assertThat(UnloadedChildNodes.isUnloaded(map.getRootNode().getChildAt(1))).isTrue();
+	}
+
+	@Test
+	public void keepCDataInChildNodesUnloaded() throws Exception {
+		final String childXml = "<node ID=\"ID_3\">\n<text><![CDATA[a </node> <b> ]] c]]></text>\n</node>\n";
+		final MapModel map = load(mapWithFoldedBranch(childXml), true);
+		final NodeModel foldedNode = map.getRootNode().getChildAt(0);
+
+		assertThat(UnloadedChildNodes.isUnloaded(foldedNode)).isTrue();
+		assertThat(save(map)).contains(childXml.trim());
+		assertThat(foldedNode.getChildAt(0).getID()).isEqualTo("ID_3");
+		assertThat(UnloadedChildNodes.hasFailedToLoad(foldedNode)).isFalse();
+	}
+}
@@ -0,0 +1,211 @@
+package org.freeplane.features.map.mindmapmode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.freeplane.core.resources.ResourceBundles;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.undo.IActor;
+import org.freeplane.core.undo.IUndoHandler;
+import org.freeplane.core.undo.UndoHandler;
+import org.freeplane.features.clipboard.ClipboardControllers;
+import org.freeplane.features.clipboard.mindmapmode.MClipboardControllers;
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.StructureChangeBatch;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.ui.IMapViewManager;
+import org.freeplane.features.ui.ViewController;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StructureChangeBatchShould {
+	private final List<StructureChangeBatch> finishedBatches = new ArrayList<>();
+	private int insertedNodeCount;
+	private MMapController mapController;
+	private MapModel map;
+	private NodeModel root;
+	private UndoHandler undoHandler;
+
+	@Before
+	public void setup() {
+		final Controller controller = mock(Controller.class);
+		final ResourceController resourceController = mock(ResourceController.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(resourceController.getProperty(anyString())).thenReturn("");
+		when(resourceController.getResources()).thenReturn(mock(ResourceBundles.class));
+		when(resourceController.getIntProperty(eq("undo_levels"), anyInt())).thenReturn(100);
+		when(resourceController.getIntProperty(eq("undo_memory_limit"), anyInt())).thenReturn(64);
+		when(controller.getViewController()).thenReturn(mock(ViewController.class));
+		when(controller.getMapViewManager()).thenReturn(mock(IMapViewManager.class));
+		final ModeController modeController = mock(ModeController.class);
+		when(controller.getModeController()).thenReturn(modeController);
+		when(modeController.getController()).thenReturn(controller);
+		when(modeController.getExtension(ClipboardControllers.class)).thenReturn(mock(MClipboardControllers.class));
+		doAnswer(invocation -> {
+			final IActor actor = invocation.getArgument(0);
+			final MapModel map = invocation.getArgument(1);
+			map.getExtension(IUndoHandler.class).addActor(actor);
+			actor.act();
+			return null;
+		}).when(modeController).execute(any(), any());
+		Controller.setCurrentController(controller);
+		mapController = new MMapController(modeController);
+		when(modeController.getMapController()).thenReturn(mapController);
+		mapController.addMapChangeListener(new IMapChangeListener() {
+			@Override
+			public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
+				insertedNodeCount++;
+			}
+
+			@Override
+			public void onStructureChangeBatchFinished(StructureChangeBatch batch) {
+				finishedBatches.add(batch);
+			}
+		});
+		map = new MapModel(null, null);
+		root = new NodeModel(map);
+		map.setRoot(root);
+		undoHandler = new UndoHandler(map);
+		map.addExtension(IUndoHandler.class, undoHandler);
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private NodeModel createNode() {
+		return new NodeModel(map);
+	}
+
+	private void startNewUndoEntry() {
+		undoHandler.forceNewTransaction();
+	}
+
+	@Test
+	public void undoAndRedoInsertedNodesAsOneUnit() {
+		mapController.insertNode(createNode(), root, 0);
+		startNewUndoEntry();
+		mapController.insertNodes(Arrays.asList(createNode(), createNode(), createNode()), root, 1);
+
+		undoHandler.undo();
+		assertThat(root.getChildCount()).isEqualTo(1);
+		undoHandler.redo();
+		assertThat(root.getChildCount()).isEqualTo(4);
+	}
+
+	@Test
+	public void undoAndRedoDeletedNodesAsOneUnit() {
+		mapController.insertNodes(Arrays.asList(createNode(), createNode(), createNode()), root, 0);
+		final List<NodeModel> children = new ArrayList<>(root.getChildren());
+		startNewUndoEntry();
+		mapController.deleteNodes(children.subList(0, 2));
+		assertThat(root.getChildren()).containsExactly(children.get(2));
+
+		undoHandler.undo();
+		assertThat(root.getChildren()).containsExactlyElementsOf(children);
+		undoHandler.redo();
+		assertThat(root.getChildren()).containsExactly(children.get(2));
+	}
+
+	@Test
+	public void notifyListenersOnceAfterAllChanges() {
+		final NodeModel first = createNode();
+		mapController.insertNode(first, root, 0);
+		finishedBatches.clear();
+		insertedNodeCount = 0;
+
+		mapController.insertNodes(Arrays.asList(createNode(), createNode(), createNode()), root, 1);
+
+		assertThat(insertedNodeCount).isEqualTo(3);
+		assertThat(finishedBatches).hasSize(1);
+		final StructureChangeBatch batch = finishedBatches.get(0);
+		assertThat(batch.getChangedParents()).containsExactly(root);
+		assertThat(batch.getFirstChangedIndex(root)).isEqualTo(1);
+	}
+
+	@Test
+	public void notifyListenersOnceOnUndoAndRedo() {
+		startNewUndoEntry();
+		mapController.insertNodes(Arrays.asList(createNode(), createNode()), root, 0);
+		finishedBatches.clear();
+
+		undoHandler.undo();
+		assertThat(finishedBatches).hasSize(1);
+		assertThat(mapController.isStructureChangeBatchRunning(map)).isFalse();
+
+		undoHandler.redo();
+		assertThat(finishedBatches).hasSize(2);
+		assertThat(mapController.isStructureChangeBatchRunning(map)).isFalse();
+	}
+
+	@Test
+	public void notifyListenersOnceAfterNestedBatches() {
+		final NodeModel parent = createNode();
+		mapController.insertNode(parent, root, 0);
+		startNewUndoEntry();
+		finishedBatches.clear();
+
+		mapController.executeStructureChangeBatch(map, () -> {
+			mapController.insertNodes(Arrays.asList(createNode(), createNode()), root, 1);
+			assertThat(finishedBatches).isEmpty();
+			mapController.executeStructureChangeBatch(map,
+				() -> mapController.insertNodes(Arrays.asList(createNode(), createNode()), parent, 0));
+			assertThat(finishedBatches).isEmpty();
+		});
+
+		assertThat(finishedBatches).hasSize(1);
+		assertThat(finishedBatches.get(0).getChangedParents()).containsExactlyInAnyOrder(root, parent);
+		finishedBatches.clear();
+
+		undoHandler.undo();
+		assertThat(root.getChildren()).containsExactly(parent);
+		assertThat(parent.hasChildren()).isFalse();
+		assertThat(finishedBatches).hasSize(1);
+	}
+
+	@Test
+	public void notifyListenersOnceAfterChangingAllClones() {
+		final NodeModel parent = createNode();
+		mapController.insertNode(parent, root, 0);
+		final NodeModel parentClone = parent.cloneTree();
+		mapController.insertNode(parentClone, root, 1);
+		startNewUndoEntry();
+		finishedBatches.clear();
+		insertedNodeCount = 0;
+
+		mapController.insertNode(createNode(), parent, 0);
+
+		assertThat(parentClone.getChildCount()).isEqualTo(1);
+		assertThat(insertedNodeCount).isEqualTo(2);
+		assertThat(finishedBatches).hasSize(1);
+		assertThat(finishedBatches.get(0).getChangedParents()).containsExactlyInAnyOrder(parent, parentClone);
+
+		undoHandler.undo();
+		assertThat(parent.hasChildren()).isFalse();
+		assertThat(parentClone.hasChildren()).isFalse();
+		assertThat(finishedBatches).hasSize(2);
+	}
+
+	@Test
+	public void notNotifyListenersAboutSingleNodeChanges() {
+		mapController.insertNode(createNode(), root, 0);
+
+		assertThat(insertedNodeCount).isEqualTo(1);
+		assertThat(finishedBatches).isEmpty();
+	}
+}
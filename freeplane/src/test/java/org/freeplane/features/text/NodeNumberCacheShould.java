@@ -0,0 +1,90 @@
+package org.freeplane.features.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.freeplane.features.map.MapFake;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class NodeNumberCacheShould {
+	private final MapFake mapFake = new MapFake();
+	private final Set<NodeModel> unnumberedNodes = new HashSet<>();
+	private boolean numberingEnabled = true;
+	private final NodeNumberCache cache = new NodeNumberCache(node -> !unnumberedNodes.contains(node), () -> numberingEnabled);
+
+	private NodeModel addChild(NodeModel parent) {
+		final NodeModel child = mapFake.createNode("child");
+		parent.insert(child);
+		return child;
+	}
+
+	@Test
+	public void numberNodesHierarchically() {
+		final NodeModel first = mapFake.addNode("1");
+		final NodeModel second = mapFake.addNode("2");
+		addChild(second);
+		final NodeModel secondChild = addChild(second);
+
+		assertThat(cache.getNumber(mapFake.getRoot())).isEmpty();
+		assertThat(cache.getNumber(first)).isEqualTo("1");
+		assertThat(cache.getNumber(secondChild)).isEqualTo("2.2");
+		assertThat(cache.getLevel(secondChild)).isEqualTo(2);
+		assertThat(cache.getIndexPath(secondChild)).containsExactly(1, 1);
+	}
+
+	@Test
+	public void skipUnnumberedSiblingsAndAncestors() {
+		final NodeModel unnumbered = mapFake.addNode("1");
+		final NodeModel second = mapFake.addNode("2");
+		final NodeModel child = addChild(unnumbered);
+		unnumberedNodes.add(unnumbered);
+
+		assertThat(cache.getNumber(unnumbered)).isEmpty();
+		assertThat(cache.getNumber(second)).isEqualTo("1");
+		assertThat(cache.getNumber(child)).isEqualTo("1");
+	}
+
+	@Test
+	public void skipSummaryNodesInNumbersOfTheirChildren() {
+		mapFake.addNode("1");
+		final NodeModel summaryNode = mapFake.addSummaryNode();
+		final NodeModel summaryChild = addChild(summaryNode);
+
+		assertThat(cache.getNumber(summaryNode)).isEqualTo("2");
+		assertThat(cache.getNumber(summaryChild)).isEqualTo("1");
+	}
+
+	@Test
+	public void renumberAfterMapChanges() {
+		final NodeModel first = mapFake.addNode("1");
+		final NodeModel second = mapFake.addNode("2");
+		assertThat(cache.getNumber(second)).isEqualTo("2");
+
+		unnumberedNodes.add(first);
+		cache.onMapChanged();
+		assertThat(cache.getNumber(second)).isEqualTo("1");
+
+		mapFake.getRoot().insert(mapFake.createNode("0"), 0);
+		assertThat(cache.getNumber(second)).isEqualTo("2");
+		assertThat(cache.getIndexPath(second)).containsExactly(2);
+	}
+
+	@Test
+	public void returnNoNumbersWhileNumberingIsDisabled() {
+		mapFake.addNode("1");
+		final NodeModel second = mapFake.addNode("2");
+		final NodeModel child = addChild(second);
+
+		numberingEnabled = false;
+		assertThat(cache.getNumber(second)).isEmpty();
+		assertThat(cache.getNumber(child)).isEmpty();
+		assertThat(cache.getIndexPath(child)).containsExactly(1, 0);
+
+		numberingEnabled = true;
+		assertThat(cache.getNumber(second)).isEqualTo("2");
+		assertThat(cache.getNumber(child)).isEqualTo("2.1");
+	}
+}
@@ -0,0 +1,132 @@
+package org.freeplane.features.url;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class MapFilePrefetcherShould {
+	private static final long READ_TIME_MILLIS = 300;
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private File createMapFile(String name, String content) throws IOException {
+		final File file = temporaryFolder.newFile(name);
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return file;
+	}
+
+	private static String read(byte[] content) {
+		return new String(content, StandardCharsets.UTF_8);
+	}
+
+	private static String read(InputStream in) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[16];
+		for (int length = in.read(buffer); length >= 0; length = in.read(buffer))
+			content.write(buffer, 0, length);
+		return read(content.toByteArray());
+	}
+
+	@Test
+	public void readFilesConcurrently() throws Exception {
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < MapFilePrefetcher.THREAD_COUNT; i++)
+			files.add(createMapFile("map" + i + ".mm", "<map/>"));
+		final long startTime = System.nanoTime();
+		try (MapFilePrefetcher prefetcher = new MapFilePrefetcher(files, file -> {
+			try {
+				Thread.sleep(READ_TIME_MILLIS);
+			}
+			catch (InterruptedException e) {
+				throw new IOException(e);
+			}
+			return Files.readAllBytes(file.toPath());
+		}, MapFilePrefetcher.MAX_PREFETCHED_LENGTH)) {
+			for (File file : files)
+				assertThat(read(prefetcher.take(file.getCanonicalFile()))).isEqualTo("<map/>");
+		}
+		final long elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+
+		assertThat(elapsedMillis).isLessThan(files.size() * READ_TIME_MILLIS / 2);
+	}
+
+	@Test
+	public void openPrefetchedFiles() throws Exception {
+		final File first = createMapFile("first.mm", "first");
+		final File second = createMapFile("second.mm", "second");
+		try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(Arrays.asList(first, second))) {
+			assertThat(read(MapFilePrefetcher.openUncompressed(second))).isEqualTo("second");
+			assertThat(read(MapFilePrefetcher.openUncompressed(first))).isEqualTo("first");
+		}
+	}
+
+	@Test
+	public void prefetchOnlyNextFiles() throws Exception {
+		final List<File> files = new ArrayList<>();
+		for (int i = 0; i < MapFilePrefetcher.THREAD_COUNT + 2; i++)
+			files.add(createMapFile("map" + i + ".mm", "map" + i));
+		try (MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(files)) {
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(MapFilePrefetcher.THREAD_COUNT);
+
+			assertThat(read(prefetcher.take(files.get(0).getCanonicalFile()))).isEqualTo("map0");
+
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(MapFilePrefetcher.THREAD_COUNT);
+			for (int i = 1; i < files.size(); i++)
+				assertThat(read(prefetcher.take(files.get(i).getCanonicalFile()))).isEqualTo("map" + i);
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(0);
+		}
+	}
+
+	@Test
+	public void limitLengthOfPrefetchedFiles() throws Exception {
+		final File first = createMapFile("first.mm", "first");
+		final File second = createMapFile("second.mm", "second");
+		final File third = createMapFile("third.mm", "third");
+		final long maxPrefetchedLength = first.length() + second.length();
+		try (MapFilePrefetcher prefetcher = new MapFilePrefetcher(Arrays.asList(first, second, third),
+		    file -> Files.readAllBytes(file.toPath()), maxPrefetchedLength)) {
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(2);
+
+			assertThat(read(prefetcher.take(first.getCanonicalFile()))).isEqualTo("first");
+
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(2);
+			assertThat(read(prefetcher.take(third.getCanonicalFile()))).isEqualTo("third");
+		}
+	}
+
+	@Test
+	public void prefetchSingleFileExceedingLengthLimit() throws Exception {
+		final File first = createMapFile("first.mm", "first");
+		final File second = createMapFile("second.mm", "second");
+		try (MapFilePrefetcher prefetcher = new MapFilePrefetcher(Arrays.asList(first, second),
+		    file -> Files.readAllBytes(file.toPath()), 1)) {
+			assertThat(prefetcher.prefetchedFileCount()).isEqualTo(1);
+
+			assertThat(prefetcher.take(second.getCanonicalFile())).isNull();
+			assertThat(read(prefetcher.take(first.getCanonicalFile()))).isEqualTo("first");
+		}
+	}
+
+	@Test
+	public void discardContentOnClose() throws Exception {
+		final File first = createMapFile("first.mm", "first");
+		final File second = createMapFile("second.mm", "second");
+		final MapFilePrefetcher prefetcher = MapFilePrefetcher.prefetch(Arrays.asList(first, second));
+
+		prefetcher.close();
+
+		assertThat(prefetcher.take(first.getCanonicalFile())).isNull();
+	}
+}
@@ -0,0 +1,45 @@
+package org.freeplane.features.url;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.freeplane.core.util.ParallelGZIPOutputStream;
+import org.junit.Test;
+
+public class MapStreamsShould {
+	private static final String MAP = "<map version=\"freeplane 1.7.0\">\n<node TEXT=\"ä\"/>\n</map>\n";
+
+	private static String read(InputStream in) throws IOException {
+		final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[16];
+		for (int length = in.read(buffer); length >= 0; length = in.read(buffer))
+			content.write(buffer, 0, length);
+		return new String(content.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void readUncompressedMaps() throws Exception {
+		final InputStream in = new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8));
+		assertThat(read(MapStreams.uncompressed(in))).isEqualTo(MAP);
+	}
+
+	@Test
+	public void readCompressedMaps() throws Exception {
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		try (ParallelGZIPOutputStream out = new ParallelGZIPOutputStream(compressed)) {
+			out.write(MAP.getBytes(StandardCharsets.UTF_8));
+		}
+		final InputStream in = new ByteArrayInputStream(compressed.toByteArray());
+		assertThat(read(MapStreams.uncompressed(in))).isEqualTo(MAP);
+	}
+
+	@Test
+	public void readEmptyStreams() throws Exception {
+		assertThat(read(MapStreams.uncompressed(new ByteArrayInputStream(new byte[0])))).isEmpty();
+	}
+}
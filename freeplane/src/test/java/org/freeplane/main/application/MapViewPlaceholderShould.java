@@ -0,0 +1,140 @@
+package org.freeplane.main.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.awt.Component;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.URL;
+
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.util.Compat;
+import org.freeplane.features.mode.Controller;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import net.infonode.docking.DockingWindow;
+import net.infonode.docking.RootWindow;
+import net.infonode.docking.TabWindow;
+import net.infonode.docking.View;
+
+public class MapViewPlaceholderShould {
+	private static final String MODE_NAME = "MindMap";
+	private final MapViewSerializer serializer = new MapViewSerializer();
+	private Controller controller;
+
+	@Before
+	public void setup() {
+		controller = mock(Controller.class);
+		final ResourceController resourceController = mock(ResourceController.class);
+		when(controller.getResourceController()).thenReturn(resourceController);
+		when(resourceController.getBooleanProperty(MapViewPlaceholder.LOAD_LAST_MAPS_ON_DEMAND_PROPERTY)).thenReturn(true);
+		Controller.setCurrentController(controller);
+	}
+
+	@After
+	public void tearDown() {
+		Controller.setCurrentController(null);
+	}
+
+	private static URL mapUrl(String fileName) throws IOException {
+		return Compat.fileToUrl(new File(new File("maps").getAbsoluteFile(), fileName));
+	}
+
+	private View restoreView(URL url) throws IOException {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeBoolean(true);
+			out.writeUTF(MODE_NAME);
+			out.writeObject(url);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			return serializer.readView(in);
+		}
+	}
+
+	private View placeholderView(String fileName) throws IOException {
+		final MapViewPlaceholder placeholder = new MapViewPlaceholder(MODE_NAME, mapUrl(fileName));
+		return new View(placeholder.getName(), null, new JScrollPane(placeholder));
+	}
+
+	private TabWindow tabs(DockingWindow... views) {
+		final TabWindow tabWindow = new TabWindow(views);
+		new RootWindow(serializer).setWindow(tabWindow);
+		return tabWindow;
+	}
+
+	@Test
+	public void restorePlaceholderWithoutOpeningTheMap() throws IOException {
+		final URL url = mapUrl("my map.mm");
+
+		final View view = restoreView(url);
+
+		final Component component = MapViewDockingWindows.getContainedMapView(view);
+		assertThat(component).isInstanceOf(MapViewPlaceholder.class);
+		final MapViewPlaceholder placeholder = (MapViewPlaceholder) component;
+		assertThat(placeholder.getURL()).isEqualTo(url);
+		assertThat(placeholder.getModeName()).isEqualTo(MODE_NAME);
+		verify(controller, never()).selectMode(MODE_NAME);
+	}
+
+	@Test
+	public void titlePlaceholderWithMapFileName() throws IOException {
+		final View view = restoreView(mapUrl("my map.mm"));
+
+		assertThat(view.getTitle()).isEqualTo("my map");
+	}
+
+	@Test
+	public void keepExtensionOfOtherFilesInTitle() throws IOException {
+		final View view = restoreView(mapUrl("notes.txt"));
+
+		assertThat(view.getTitle()).isEqualTo("notes.txt");
+	}
+
+	@Test
+	public void replacePlaceholderByMapViewInTheSameTab() throws IOException {
+		final View first = placeholderView("first.mm");
+		final View second = placeholderView("second.mm");
+		final View third = placeholderView("third.mm");
+		final TabWindow tabWindow = tabs(first, second, third);
+		final JPanel mapView = new JPanel();
+
+		final boolean replaced = MapViewDockingWindows.replacePlaceholder(tabWindow.getRootWindow(), mapUrl("second.mm"), mapView, "second map");
+
+		assertThat(replaced).isTrue();
+		assertThat(tabWindow.getChildWindowCount()).isEqualTo(3);
+		assertThat(tabWindow.getChildWindow(0)).isSameAs(first);
+		assertThat(tabWindow.getChildWindow(1)).isSameAs(second);
+		assertThat(tabWindow.getChildWindow(2)).isSameAs(third);
+		assertThat(MapViewDockingWindows.getContainedMapView(second)).isSameAs(mapView);
+		assertThat(second.getTitle()).isEqualTo("second map");
+	}
+
+	@Test
+	public void notReplacePlaceholdersOfOtherMaps() throws IOException {
+		final View first = placeholderView("first.mm");
+		final View second = placeholderView("second.mm");
+		final TabWindow tabWindow = tabs(first, second);
+
+		final boolean replaced = MapViewDockingWindows.replacePlaceholder(tabWindow.getRootWindow(), mapUrl("other.mm"), new JPanel(), "other");
+
+		assertThat(replaced).isFalse();
+		assertThat(MapViewDockingWindows.getContainedMapView(first)).isInstanceOf(MapViewPlaceholder.class);
+		assertThat(MapViewDockingWindows.getContainedMapView(second)).isInstanceOf(MapViewPlaceholder.class);
+		assertThat(first.getTitle()).isEqualTo("first");
+		assertThat(second.getTitle()).isEqualTo("second");
+	}
+}
@@ -0,0 +1,134 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+
+import javax.swing.JComponent;
+import javax.swing.JPanel;
+
+import org.junit.Test;
+
+public class MapViewLayerCacheShould {
+	private static final int TILE_SIZE = MapViewLayerCache.TILE_SIZE;
+	private static final long TILE_BYTES = TILE_SIZE * TILE_SIZE * 4L;
+	private final LayerCacheMemory memory = new LayerCacheMemory(100 * TILE_BYTES);
+	private final PaintStatistics statistics = new PaintStatistics();
+	private int paintedLayerCount;
+
+	private static JComponent mapView() {
+		final JPanel mapView = new JPanel();
+		mapView.setSize(4 * TILE_SIZE, 4 * TILE_SIZE);
+		return mapView;
+	}
+
+	private void paint(MapViewLayerCache cache, double scale, Rectangle clip) {
+		final BufferedImage screen = new BufferedImage(4 * TILE_SIZE, 4 * TILE_SIZE, BufferedImage.TYPE_INT_RGB);
+		final Graphics2D g = screen.createGraphics();
+		try {
+			g.scale(scale, scale);
+			g.clip(clip);
+			statistics.reset();
+			cache.paint(g, tileGraphics -> paintedLayerCount++, statistics);
+		}
+		finally {
+			g.dispose();
+		}
+	}
+
+	private void paint(MapViewLayerCache cache, Rectangle clip) {
+		paint(cache, 1, clip);
+	}
+
+	@Test
+	public void reuseTilesWhenRepaintedWithoutChanges() {
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+		assertThat(statistics.getRenderedTileCount()).isEqualTo(4);
+
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		assertThat(statistics.getRenderedTileCount()).isZero();
+		assertThat(statistics.getCachedTileCount()).isEqualTo(4);
+		assertThat(paintedLayerCount).isEqualTo(4);
+	}
+
+	@Test
+	public void renderTilesAgainAfterRepaintIsRequested() {
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		cache.invalidate(new Rectangle(TILE_SIZE - 5, 10, 10, 10));
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		assertThat(statistics.getRenderedTileCount()).isEqualTo(2);
+		assertThat(statistics.getCachedTileCount()).isEqualTo(2);
+		assertThat(memory.getUsedBytes()).isEqualTo(4 * TILE_BYTES);
+	}
+
+	@Test
+	public void dropAllTilesAfterZoomChange() {
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		paint(cache, 2, new Rectangle(0, 0, TILE_SIZE, TILE_SIZE));
+
+		assertThat(statistics.getRenderedTileCount()).isEqualTo(1);
+		assertThat(statistics.getCachedTileCount()).isZero();
+		assertThat(cache.getTileCount()).isEqualTo(1);
+		assertThat(memory.getUsedBytes()).isEqualTo(4 * TILE_BYTES);
+	}
+
+	@Test
+	public void reuseVisibleTilesAfterScrolling() {
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		paint(cache, new Rectangle(TILE_SIZE, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		assertThat(statistics.getCachedTileCount()).isEqualTo(2);
+		assertThat(statistics.getRenderedTileCount()).isEqualTo(2);
+		assertThat(cache.getTileCount()).isEqualTo(6);
+	}
+
+	@Test
+	public void evictLeastRecentlyUsedTilesOfAllMapViews() {
+		memory.setMaximumBytes(3 * TILE_BYTES);
+		final MapViewLayerCache first = new MapViewLayerCache(mapView(), memory);
+		final MapViewLayerCache second = new MapViewLayerCache(mapView(), memory);
+
+		paint(first, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+		assertThat(first.getTileCount()).isEqualTo(3);
+		paint(second, new Rectangle(0, 0, 2 * TILE_SIZE, TILE_SIZE));
+
+		assertThat(first.getTileCount()).isEqualTo(1);
+		assertThat(second.getTileCount()).isEqualTo(2);
+		assertThat(memory.getUsedBytes()).isEqualTo(3 * TILE_BYTES);
+	}
+
+	@Test
+	public void keepRecentlyUsedTilesWhenEvicting() {
+		memory.setMaximumBytes(2 * TILE_BYTES);
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, TILE_SIZE));
+		paint(cache, new Rectangle(0, 0, TILE_SIZE, TILE_SIZE));
+
+		paint(cache, new Rectangle(0, TILE_SIZE, TILE_SIZE, TILE_SIZE));
+		paint(cache, new Rectangle(0, 0, TILE_SIZE, TILE_SIZE));
+
+		assertThat(statistics.getCachedTileCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void releaseMemoryOfClearedCache() {
+		final MapViewLayerCache cache = new MapViewLayerCache(mapView(), memory);
+		paint(cache, new Rectangle(0, 0, 2 * TILE_SIZE, 2 * TILE_SIZE));
+
+		cache.clear();
+
+		assertThat(cache.getTileCount()).isZero();
+		assertThat(memory.getUsedBytes()).isZero();
+	}
+}
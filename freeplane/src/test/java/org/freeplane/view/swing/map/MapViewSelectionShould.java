@@ -0,0 +1,212 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MapViewSelectionShould {
+	private final List<String> events = new ArrayList<>();
+	private final List<List<NodeView>> selectionChanges = new ArrayList<>();
+	private final MapViewSelection selection = new MapViewSelection(new MapViewSelection.Listener() {
+		@Override
+		public void onSelect(NodeView node) {
+			events.add("select " + node);
+		}
+
+		@Override
+		public void onDeselect(NodeView node) {
+			events.add("deselect " + node);
+		}
+
+		@Override
+		public void onSelectionChange(Collection<NodeView> changedNodes) {
+			selectionChanges.add(new ArrayList<>(changedNodes));
+		}
+	});
+
+	private static NodeView[] views(int count) {
+		final NodeView[] views = new NodeView[count];
+		for (int i = 0; i < count; i++)
+			views[i] = mock(NodeView.class, "view" + i);
+		return views;
+	}
+
+	private List<NodeView> selectedByIndex() {
+		final List<NodeView> selected = new ArrayList<>();
+		for (int i = 0; i < selection.size(); i++)
+			selected.add(selection.get(i));
+		return selected;
+	}
+
+	@Test
+	public void keepNodesInSelectionOrder() {
+		final NodeView[] views = views(3);
+		selection.add(views[2]);
+		selection.add(views[0]);
+		selection.add(views[1]);
+
+		assertThat(selection.getSelection()).containsExactly(views[2], views[0], views[1]);
+		assertThat(selectedByIndex()).containsExactly(views[2], views[0], views[1]);
+		assertThat(selection.getSelected()).isSameAs(views[2]);
+	}
+
+	@Test
+	public void notAddSelectedNodeTwice() {
+		final NodeView[] views = views(2);
+		selection.add(views[0]);
+		selection.add(views[1]);
+
+		assertThat(selection.add(views[0])).isFalse();
+		assertThat(selectedByIndex()).containsExactly(views[0], views[1]);
+	}
+
+	@Test
+	public void keepIndicesAfterDeselectingNodes() {
+		final NodeView[] views = views(5);
+		for (NodeView view : views)
+			selection.add(view);
+
+		selection.deselectAll(Arrays.asList(views[1], views[3]));
+
+		assertThat(selection.size()).isEqualTo(3);
+		assertThat(selectedByIndex()).containsExactly(views[0], views[2], views[4]);
+		selection.add(views[1]);
+		assertThat(selectedByIndex()).containsExactly(views[0], views[2], views[4], views[1]);
+		assertThat(selection.getSelection()).containsExactly(views[0], views[2], views[4], views[1]);
+	}
+
+	@Test
+	public void removeNodesWhileIterating() {
+		final NodeView[] views = views(4);
+		for (NodeView view : views)
+			selection.add(view);
+
+		for (Iterator<NodeView> iterator = selection.getSelectedSet().iterator(); iterator.hasNext();) {
+			final NodeView view = iterator.next();
+			if (view == views[0] || view == views[3])
+				iterator.remove();
+		}
+
+		assertThat(selection.getSelection()).containsExactly(views[1], views[2]);
+		assertThat(selectedByIndex()).containsExactly(views[1], views[2]);
+		assertThat(selection.contains(views[3])).isFalse();
+	}
+
+	@Test
+	public void keepOrderOfRandomChanges() {
+		final NodeView[] views = views(50);
+		final List<NodeView> expected = new ArrayList<>();
+		final Random random = new Random(1);
+		for (int step = 0; step < 2000; step++) {
+			final NodeView view = views[random.nextInt(views.length)];
+			if (random.nextBoolean()) {
+				assertThat(selection.add(view)).isEqualTo(! expected.contains(view));
+				if (! expected.contains(view))
+					expected.add(view);
+			}
+			else {
+				assertThat(selection.deselect(view)).isEqualTo(expected.remove(view));
+			}
+			if (step % 7 == 0)
+				assertThat(selectedByIndex()).isEqualTo(expected);
+			assertThat(selection.getSelection()).containsExactlyElementsOf(expected);
+			assertThat(selection.getSelected()).isSameAs(expected.isEmpty() ? null : expected.get(0));
+		}
+	}
+
+	@Test
+	public void moveHookSelectionToNextNodeOnceAfterDeselectingSelectedNodes() {
+		final NodeView[] views = views(3);
+		for (NodeView view : views)
+			selection.add(view);
+
+		selection.deselectAll(Arrays.asList(views[0], views[1]));
+
+		assertThat(events).containsExactly("select view0", "deselect view0", "select view2");
+		assertThat(selection.getSelected()).isSameAs(views[2]);
+	}
+
+	@Test
+	public void resetSelectionStartAndEndOfDeselectedNodes() {
+		final NodeView[] views = views(3);
+		for (NodeView view : views)
+			selection.add(view);
+		selection.setSelectionStart(views[0]);
+		selection.setSelectionEnd(views[2]);
+
+		selection.deselect(views[2]);
+
+		assertThat(selection.getSelectionEnd()).isSameAs(views[0]);
+		selection.deselect(views[0]);
+		assertThat(selection.getSelectionStart()).isNull();
+		assertThat(selection.getSelectionEnd()).isNull();
+	}
+
+	@Test
+	public void reportEachChangeOutsideOfChangeSelection() {
+		final NodeView[] views = views(2);
+
+		selection.add(views[0]);
+		selection.add(views[1]);
+		selection.deselect(views[0]);
+
+		assertThat(selectionChanges).containsExactly(
+			Arrays.asList(views[0]), Arrays.asList(views[1]), Arrays.asList(views[0]));
+	}
+
+	@Test
+	public void reportPendingChangesOnceAfterChangeSelection() {
+		final NodeView[] views = views(3);
+
+		selection.changeSelection(() -> {
+			selection.add(views[0]);
+			selection.add(views[1]);
+			selection.changeSelection(() -> selection.add(views[2]));
+			selection.deselect(views[0]);
+			assertThat(selectionChanges).isEmpty();
+		});
+
+		assertThat(selectionChanges).containsExactly(Arrays.asList(views[0], views[1], views[2]));
+	}
+
+	@Test
+	public void notReportUnchangedSelection() {
+		final NodeView[] views = views(1);
+		selection.add(views[0]);
+		selectionChanges.clear();
+
+		selection.changeSelection(() -> selection.add(views[0]));
+
+		assertThat(selectionChanges).isEmpty();
+	}
+
+	@Test
+	public void replaceSelectionKeepingOrderOfNewSelection() {
+		final NodeView[] views = views(4);
+		selection.add(views[0]);
+		selection.add(views[1]);
+		selection.add(views[2]);
+		selection.setSelectionStart(views[1]);
+		selection.setSelectionEnd(views[2]);
+		selectionChanges.clear();
+		events.clear();
+
+		selection.changeSelection(() -> selection.replace(new NodeView[] {views[3], views[1]}));
+
+		assertThat(selectedByIndex()).containsExactly(views[3], views[1]);
+		assertThat(selection.getSelected()).isSameAs(views[3]);
+		assertThat(selection.getSelectionStart()).isSameAs(views[1]);
+		assertThat(selection.getSelectionEnd()).isSameAs(views[1]);
+		assertThat(events).containsExactly("deselect view0", "select view3");
+		assertThat(selectionChanges).hasSize(1);
+		assertThat(selectionChanges.get(0)).containsExactlyInAnyOrder(views[3], views[0], views[2]);
+	}
+}
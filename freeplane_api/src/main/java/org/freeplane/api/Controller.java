@@ -164,4 +164,16 @@ public interface Controller extends ControllerRO, HeadlessMapCreator {
 	 */
 	ExecutorService getMainThreadExecutorService();
 
+	/**
+	 * Executes the changes and updates the map view once per changed node and property after all changes are done.
+	 * Formulas depending on the changed nodes are invalidated immediately, so they can be evaluated within the changes:
+	 * <pre>
+	 * c.batchNodeChanges {
+	 *     node.map.root.findAll().each { it.text = it.text.trim() }
+	 * }
+	 * </pre>
+	 * @since 1.8.12
+	 */
+	void batchNodeChanges(Runnable changes);
+
 }
\ No newline at end of file
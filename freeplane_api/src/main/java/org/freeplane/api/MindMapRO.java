@@ -2,6 +2,8 @@ package org.freeplane.api;
 
 import java.awt.Color;
 import java.io.File;
+import java.util.Date;
+import java.util.List;
 
 /** The map a node belongs to: <code>node.map</code> - read-only. 
  * 
@@ -35,4 +37,18 @@ public interface MindMapRO {
     /** returns HTML color spec like #ff0000 (red) or #222222 (darkgray).
      *  @since 1.2 */
     String getBackgroundColorCode();
+
+    /** returns the nodes having a value of the given attribute which is a number between min and max, both included.
+     * Numeric texts count as numbers. The nodes are looked up in a sorted index of the attribute values, so this is much
+     * faster than a filter closure on large maps. Nodes are ordered by their values, nodes with formula values come last.
+     * <pre>
+     * map.findByAttributeRange('cost', 100, 500).each { println it.text }
+     * </pre>
+     * @since 1.8.12 */
+    List<? extends Node> findByAttributeRange(String attributeName, Number min, Number max);
+
+    /** returns the nodes having a value of the given attribute which is a date between from and to, both included.
+     * See {@link #findByAttributeRange(String, Number, Number)}.
+     * @since 1.8.12 */
+    List<? extends Node> findByAttributeRange(String attributeName, Date from, Date to);
 }
\ No newline at end of file
@@ -231,6 +231,16 @@ public interface NodeRO {
      * @since 1.3.3 */
     List<? extends Node> getPathToRoot();
 
+    /** returns the child indices on the path from the root to this node, e.g. [0, 2] for the third child of the first child of the root.
+     * Positions are cached per map.
+     * @since 1.8.12 */
+    int[] getIndexPath();
+
+    /** returns the number like "1.2.3" shown for this node if node numbering is enabled for it, or an empty string otherwise.
+     * Numbers are cached per map, so this is cheap even for many nodes.
+     * @since 1.8.12 */
+    String getNodeNumber();
+
     /** returns the next node with respect to this node in depth-first order.
      * Returns null if this node is the only one in the map. */
     Node getNext();
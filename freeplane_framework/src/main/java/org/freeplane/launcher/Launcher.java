@@ -73,6 +73,7 @@ public class Launcher {
 	private static final String DISABLE_SECURITY_MANAGER_PROPERTY = "org.freeplane.main.application.FreeplaneSecurityManager.disable";
 	private static final String JAVA_HEADLESS_PROPERTY = "java.awt.headless";
 	private static final String BASEDIRECTORY_PROPERTY = "org.freeplane.basedirectory";
+	private static final String LAUNCHER_START_PROPERTY = "org.freeplane.launcher.start_nanos";
 	private static final String JAVA_VERSION = System.getProperty("java.version");
 	private final File freeplaneInstallationDirectory;
 	private int argCount;
@@ -311,6 +312,7 @@ public class Launcher {
 				getAbsolutePath("init.xargs"),
 				"-bg"
 		};
+		System.setProperty(LAUNCHER_START_PROPERTY, Long.toString(System.nanoTime()));
 		Main main = new Main();
 
 		System.out.println(main.bootText);
@@ -1,5 +1,6 @@
 package org.freeplane.plugin.formula;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.freeplane.features.attribute.NodeAttributeTableModel;
@@ -13,6 +14,7 @@ import org.freeplane.features.map.NodeChangeEvent;
 import org.freeplane.features.map.NodeDeletionEvent;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.map.NodeMoveEvent;
+import org.freeplane.features.map.StructureChangeBatch;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.styles.LogicalStyleModel;
@@ -22,7 +24,11 @@ import org.freeplane.plugin.script.FormulaCache;
 import org.freeplane.plugin.script.FormulaDependencies;
 import org.freeplane.plugin.script.FormulaUtils;
 
-/** cares for updating formula nodes on change of other nodes. */
+/**
+ * cares for updating formula nodes on change of other nodes.
+ * Node changes are handled immediately also inside of node change transactions,
+ * so that formulas evaluated by the transaction itself do not use outdated cached values.
+ */
 public class FormulaUpdateChangeListener implements INodeChangeListener, IMapChangeListener, IMapLifeCycleListener{
 	@Override
 	public void nodeChanged(NodeChangeEvent event) {
@@ -39,20 +45,33 @@ public class FormulaUpdateChangeListener implements INodeChangeListener, IMapCha
 
 	@Override
 	public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
-		nodeChangedImpl(true, nodeDeletionEvent.parent);
+		if (! isStructureChangeBatchRunning(nodeDeletionEvent.parent))
+			nodeChangedImpl(true, nodeDeletionEvent.parent);
 	}
 
 	@Override
 	public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
 		// all formulas dependent on the child via getChildren() are also dependent on its parent
-		nodeChangedImpl(true, parent);
+		if (! isStructureChangeBatchRunning(parent))
+			nodeChangedImpl(true, parent);
 	}
 
 	@Override
 	public void onNodeMoved(NodeMoveEvent nodeMoveEvent) {
 		// - all formulas dependent on the child via getChildren() are also dependent on its parent
 		// FIXME: is child updated or do we have to force that here?
-		nodeChangedImpl(true, nodeMoveEvent.oldParent, nodeMoveEvent.newParent);
+		if (! isStructureChangeBatchRunning(nodeMoveEvent.newParent))
+			nodeChangedImpl(true, nodeMoveEvent.oldParent, nodeMoveEvent.newParent);
+	}
+
+	@Override
+	public void onStructureChangeBatchFinished(StructureChangeBatch batch) {
+		final Collection<NodeModel> changedParents = batch.getChangedParents();
+		nodeChangedImpl(true, changedParents.toArray(new NodeModel[changedParents.size()]));
+	}
+
+	private boolean isStructureChangeBatchRunning(NodeModel parent) {
+		return Controller.getCurrentModeController().getMapController().isStructureChangeBatchRunning(parent.getMap());
 	}
 
 	@Override
@@ -27,6 +27,16 @@ class ClasspathScriptCompiler {
 	private static final String LAST_JAVA_COMPILER_VERSION = "last_java_compiler_version";
 	private static final String COMPILE_ONLY_CHANGED_SCRIPT_FILES = "compile_only_changed_script_files";
 
+	private static boolean scriptsOnPathCompiled = false;
+
+	/** compiles the scripts on the script classpath before the first script class loader is used */
+	static synchronized void compileScriptsOnPathOnce() {
+		if (scriptsOnPathCompiled)
+			return;
+		scriptsOnPathCompiled = true;
+		new ClasspathScriptCompiler().compileScriptsOnPath(ScriptResources.getClasspath());
+	}
+
 	private static boolean isCurrentJavaVersionCompatibleWithCachedClassFiles() {
 	    String lastJavaVersion = ResourceController.getResourceController().getProperty(LAST_JAVA_COMPILER_VERSION, null);
 	    return lastJavaVersion != null && Compat.JAVA_VERSION.compareTo(lastJavaVersion) >= 0;
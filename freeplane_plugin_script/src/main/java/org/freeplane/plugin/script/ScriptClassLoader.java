@@ -22,6 +22,7 @@ public final class ScriptClassLoader extends GroovyClassLoader {
 	private ScriptingSecurityManager securityManager = null;
 
 	public static ScriptClassLoader createClassLoader() {
+		ClasspathScriptCompiler.compileScriptsOnPathOnce();
 		final List<String> classpath = ScriptResources.getClasspath();
 		final List<URL> urls = new ArrayList<URL>();
 		for (String path : classpath) {
@@ -66,6 +66,7 @@ import org.freeplane.plugin.script.filter.ScriptConditionController;
 import org.freeplane.plugin.script.help.OpenApiDocumentationAction;
 
 class ScriptingRegistration {
+	private static final String INITIALIZE_PLUGINS_LAZILY = "initialize_plugins_lazily";
 	final private class ScriptModel implements IScriptModel {
 		final private String mOriginalScript;
 		private String mScript;
@@ -172,8 +173,8 @@ class ScriptingRegistration {
 		});
 		registerScriptAddOns();
 		new ScriptingConfiguration();
-		ClasspathScriptCompiler scriptCompiler = new ClasspathScriptCompiler();
-        scriptCompiler.compileScriptsOnPath(ScriptResources.getClasspath());
+		if (! ResourceController.getResourceController().getBooleanProperty(INITIALIZE_PLUGINS_LAZILY))
+			ClasspathScriptCompiler.compileScriptsOnPathOnce();
 		if(! GraphicsEnvironment.isHeadless()){
 			registerGuiStuff(modeController);
 			createUserScriptsDirectory();
@@ -381,4 +381,9 @@ class ControllerProxy implements Proxy.Controller {
 		return Controller.getCurrentController().getMainThreadExecutorService();
 	}
 
+	@Override
+	public void batchNodeChanges(final Runnable changes) {
+		Controller.getCurrentModeController().getMapController().executeNodeChangeTransaction(changes);
+	}
+
 }
@@ -5,6 +5,8 @@ import org.freeplane.api.NodeChangeListener;
 import org.freeplane.api.NodeCondition;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.ColorUtils;
+import org.freeplane.features.attribute.AttributeRegistry;
+import org.freeplane.features.attribute.AttributeValueIndex;
 import org.freeplane.features.filter.Filter;
 import org.freeplane.features.filter.FilterController;
 import org.freeplane.features.filter.condition.ICondition;
@@ -23,6 +25,9 @@ import org.freeplane.plugin.script.proxy.Proxy.Node;
 
 import java.awt.*;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import java.util.Map.Entry;
 
 public class MapProxy extends AbstractProxy<MapModel> implements MindMap, Map {
@@ -287,4 +292,25 @@ public class MapProxy extends AbstractProxy<MapModel> implements MindMap, Map {
 	public void removeListener(NodeChangeListener listener) {
 		NodeChangeListeners.of(Controller.getCurrentModeController(), getDelegate()).remove(listener);
 	}
+
+	@Override
+	public List<? extends org.freeplane.api.Node> findByAttributeRange(String attributeName, Number min, Number max) {
+		return ProxyUtils.createNodeList(new ArrayList<>(
+		    getValueIndex().getNodesWithNumbersBetween(attributeName, min.doubleValue(), max.doubleValue())),
+		    getScriptContext());
+	}
+
+	@Override
+	public List<? extends org.freeplane.api.Node> findByAttributeRange(String attributeName, Date from, Date to) {
+		return ProxyUtils.createNodeList(new ArrayList<>(
+		    getValueIndex().getNodesWithDatesBetween(attributeName, from.getTime(), to.getTime())),
+		    getScriptContext());
+	}
+
+	private AttributeValueIndex getValueIndex() {
+		final ScriptContext scriptContext = getScriptContext();
+		if (scriptContext != null)
+			scriptContext.accessBranch(getDelegate().getRootNode());
+		return AttributeRegistry.getRegistry(getDelegate()).getValueIndex();
+	}
 }
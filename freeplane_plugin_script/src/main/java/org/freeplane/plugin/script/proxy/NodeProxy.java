@@ -348,6 +348,20 @@ class NodeProxy extends AbstractProxy<NodeModel> implements Proxy.Node {
         return ProxyUtils.createNodeList(Arrays.asList(getDelegate().getPathToRoot()), getScriptContext());
     }
 
+    // NodeRO: R
+    @Override
+    public int[] getIndexPath() {
+        final NodeModel node = getDelegate();
+        return TextController.getController().getNodeNumberCache(node).getIndexPath(node);
+    }
+
+    // NodeRO: R
+    @Override
+    public String getNodeNumber() {
+        final NodeModel node = getDelegate();
+        return TextController.getController().getNodeNumberCache(node).getNumber(node);
+    }
+
     // NodeRO: R
     @Override
 	public Node getNext() {